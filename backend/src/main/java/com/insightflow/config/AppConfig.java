@@ -2,13 +2,15 @@ package com.insightflow.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ReactorClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
+import reactor.netty.http.client.HttpClient;
 
 @Configuration
 public class AppConfig {
 
     @Bean("appRestTemplate") // Renamed bean to avoid conflict
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(HttpClient outboundHttpClient) {
+        return new RestTemplate(new ReactorClientHttpRequestFactory(outboundHttpClient));
     }
 }
\ No newline at end of file
@@ -0,0 +1,161 @@
+package com.insightflow.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Shared outbound HTTP layer. Every integration (Tavily, Supabase, news and
+ * search APIs) goes through one Reactor Netty connection pool so sockets and
+ * TLS sessions are kept alive and reused instead of being opened per call.
+ * Pools are kept per remote host; the busiest destinations get their own
+ * limits.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    public static final String TAVILY_BASE_URL = "https://api.tavily.com";
+
+    @Value("${http.client.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${http.client.pending-acquire-timeout-ms:30000}")
+    private long pendingAcquireTimeoutMs;
+
+    // Kept below the usual 60s server keep-alive so we never reuse a socket the
+    // server is about to close
+    @Value("${http.client.max-idle-time-ms:20000}")
+    private long maxIdleTimeMs;
+
+    @Value("${http.client.max-life-time-ms:300000}")
+    private long maxLifeTimeMs;
+
+    @Value("${http.client.connect-timeout-ms:10000}")
+    private int connectTimeoutMs;
+
+    @Value("${http.client.response-timeout-ms:30000}")
+    private long responseTimeoutMs;
+
+    @Value("${http.client.http2.enabled:true}")
+    private boolean http2Enabled;
+
+    @Value("${http.client.tavily.max-connections:16}")
+    private int tavilyMaxConnections;
+
+    @Value("${http.client.tavily.response-timeout-ms:60000}")
+    private long tavilyResponseTimeoutMs;
+
+    @Value("${http.client.supabase.max-connections:8}")
+    private int supabaseMaxConnections;
+
+    @Value("${http.client.supabase.response-timeout-ms:60000}")
+    private long supabaseResponseTimeoutMs;
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider outboundConnectionProvider(SupabaseConfig supabaseConfig) {
+        ConnectionProvider.Builder builder = ConnectionProvider.builder("insightflow-outbound")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMs))
+                .maxLifeTime(Duration.ofMillis(maxLifeTimeMs))
+                .evictInBackground(Duration.ofSeconds(30))
+                .lifo();
+
+        builder.forRemoteHost(remoteAddress(TAVILY_BASE_URL),
+                spec -> spec.maxConnections(tavilyMaxConnections));
+
+        InetSocketAddress supabase = remoteAddress(supabaseConfig.getSupabaseUrl());
+        if (supabase != null) {
+            builder.forRemoteHost(supabase, spec -> spec.maxConnections(supabaseMaxConnections));
+        }
+
+        return builder.build();
+    }
+
+    @Bean
+    public HttpClient outboundHttpClient(ConnectionProvider outboundConnectionProvider) {
+        HttpClient client = HttpClient.create(outboundConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs))
+                .keepAlive(true)
+                .compress(true);
+
+        // HTTP/2 is negotiated through ALPN on TLS connections; plain-text
+        // destinations and servers without h2 stay on HTTP/1.1
+        if (http2Enabled) {
+            client = client.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+        }
+        return client;
+    }
+
+    /**
+     * Picked up by Spring Boot's {@code WebClient.Builder}, so any builder
+     * injected elsewhere shares the same pool.
+     */
+    @Bean
+    public ClientHttpConnector clientHttpConnector(HttpClient outboundHttpClient) {
+        return new ReactorClientHttpConnector(outboundHttpClient);
+    }
+
+    /**
+     * General-purpose client for one-off calls to arbitrary hosts. Follows
+     * redirects like the HttpURLConnection checks it replaced, so a moved
+     * LinkedIn page still validates; the API clients below keep redirects off.
+     */
+    @Bean("outboundWebClient")
+    public WebClient outboundWebClient(WebClient.Builder builder, HttpClient outboundHttpClient) {
+        return builder.clone()
+                .clientConnector(new ReactorClientHttpConnector(outboundHttpClient.followRedirect(true)))
+                .build();
+    }
+
+    @Bean("tavilyWebClient")
+    public WebClient tavilyWebClient(WebClient.Builder builder, HttpClient outboundHttpClient) {
+        return builder.clone()
+                .baseUrl(TAVILY_BASE_URL)
+                .clientConnector(new ReactorClientHttpConnector(
+                        outboundHttpClient.responseTimeout(Duration.ofMillis(tavilyResponseTimeoutMs))))
+                .build();
+    }
+
+    @Bean("supabaseStorageWebClient")
+    public WebClient supabaseStorageWebClient(WebClient.Builder builder, HttpClient outboundHttpClient,
+            SupabaseConfig supabaseConfig) {
+        return builder.clone()
+                .baseUrl(supabaseConfig.getStorageApiUrl())
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + supabaseConfig.getSupabaseServiceRoleKey())
+                .clientConnector(new ReactorClientHttpConnector(
+                        outboundHttpClient.responseTimeout(Duration.ofMillis(supabaseResponseTimeoutMs))))
+                .build();
+    }
+
+    /**
+     * Pool key for a destination. Reactor Netty keys pools by the unresolved
+     * address it was asked to connect to.
+     */
+    private static InetSocketAddress remoteAddress(String baseUrl) {
+        try {
+            URI uri = URI.create(baseUrl);
+            if (uri.getHost() == null) {
+                return null;
+            }
+            int port = uri.getPort() != -1 ? uri.getPort() : ("http".equalsIgnoreCase(uri.getScheme()) ? 80 : 443);
+            return InetSocketAddress.createUnresolved(uri.getHost(), port);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -3,9 +3,11 @@ package com.insightflow.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ReactorClientHttpRequestFactory;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import reactor.netty.http.client.HttpClient;
 
 import java.time.Duration;
 
@@ -18,11 +20,21 @@ public class HttpTimeoutConfig {
     @Value("${spring.mvc.async.request.timeout:300000}")
     private int requestTimeout;
 
+    @Value("${scraping.executor.pool-size:8}")
+    private int scrapingPoolSize;
+
+    // 0 means one render thread per available processor
+    @Value("${visualization.render.pool-size:0}")
+    private int renderPoolSize;
+
     @Bean
-    public RestTemplate restTemplate(RestTemplateBuilder builder) {
+    public RestTemplate restTemplate(RestTemplateBuilder builder, HttpClient outboundHttpClient) {
+        // Backed by the shared pooled client from HttpClientConfig
+        ReactorClientHttpRequestFactory requestFactory = new ReactorClientHttpRequestFactory(outboundHttpClient);
+        requestFactory.setConnectTimeout(Duration.ofMillis(30000)); // 30 seconds connect timeout
+        requestFactory.setReadTimeout(Duration.ofMillis(requestTimeout)); // 5 minutes read timeout
         return builder
-                .connectTimeout(Duration.ofMillis(30000)) // 30 seconds connect timeout
-                .readTimeout(Duration.ofMillis(requestTimeout)) // 5 minutes read timeout
+                .requestFactory(() -> requestFactory)
                 .build();
     }
 
@@ -39,4 +51,41 @@ public class HttpTimeoutConfig {
         executor.initialize();
         return executor;
     }
-}
\ No newline at end of file
+
+    /**
+     * Dedicated I/O pool for outbound page extraction so slow sites never tie up
+     * request or general task threads.
+     */
+    @Bean("scrapingExecutor")
+    public ThreadPoolTaskExecutor scrapingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(scrapingPoolSize);
+        executor.setMaxPoolSize(scrapingPoolSize);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("InsightFlow-Scraping-");
+        executor.setKeepAliveSeconds(60);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * CPU-bound pool for rendering and encoding visualization images, sized to
+     * the processor count. Uploads run on the HTTP client's event loop instead.
+     */
+    @Bean("renderExecutor")
+    public ThreadPoolTaskExecutor renderExecutor() {
+        int poolSize = renderPoolSize > 0 ? renderPoolSize : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("InsightFlow-Render-");
+        executor.setKeepAliveSeconds(60);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
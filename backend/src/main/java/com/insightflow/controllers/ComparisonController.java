@@ -6,11 +6,11 @@ import com.insightflow.models.UserAnalysis;
 import com.insightflow.repositories.ComparisonResultRepository;
 import com.insightflow.services.AnalysisService;
 import com.insightflow.services.ComparisonService;
-import com.insightflow.services.ComparisonVisualizationService;
 import com.insightflow.services.RagService;
 import com.insightflow.services.ModularScrapingService;
 import com.insightflow.services.UserService;
-import com.insightflow.services.VisualizationService;
+import com.insightflow.services.VisualizationRenderingService;
+import com.insightflow.services.VisualizationService.ImageFormat;
 import com.insightflow.services.TavilyFallbackService;
 import com.insightflow.utils.AnalysisConversionUtil;
 
@@ -46,11 +46,9 @@ public class ComparisonController {
     @Autowired
     private ModularScrapingService scrapingService;
 
+    // Renders and uploads framework images and comparison charts in parallel
     @Autowired
-    private ComparisonVisualizationService visualizationService;
-
-    @Autowired
-    private VisualizationService imageVisualizationService;
+    private VisualizationRenderingService visualizationRenderingService;
 
     @Autowired
     private ComparisonService comparisonService;
@@ -196,9 +194,11 @@ public class ComparisonController {
             Map<String, Object> comparisonData = comparisonService.computeComparison(analyses);
 
             // Generate visualizations
-            String radarChart = visualizationService.generateRadarChart(comparisonData);
-            String barGraph = visualizationService.generateBarGraph(comparisonData);
-            String scatterPlot = visualizationService.generateScatterPlot(comparisonData);
+            // Rendered and uploaded in parallel
+            Map<String, String> charts = visualizationRenderingService.renderComparisonCharts(comparisonData);
+            String radarChart = charts.get("radar_chart");
+            String barGraph = charts.get("bar_graph");
+            String scatterPlot = charts.get("scatter_plot");
 
             Map<String, Object> result = new HashMap<>();
             result.put("analyses", analyses);
@@ -246,10 +246,18 @@ public class ComparisonController {
             @RequestParam(value = "save_new_analyses", required = false, defaultValue = "false") Boolean saveNewAnalyses,
             @RequestParam(value = "save_result", required = false, defaultValue = "false") Boolean saveResult,
             @RequestPart(value = "files", required = false) List<MultipartFile> files,
+            @RequestParam(value = "image_format", required = false, defaultValue = "png") String imageFormat,
             Authentication authentication) {
         String username = authentication.getName();
         System.out.println("Comparison requested by user: " + username);
 
+        ImageFormat format;
+        try {
+            format = ImageFormat.fromParameter(imageFormat);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+
         // Get the actual user ID from username/email
         String userId = getUserIdFromUsername(username);
         if (userId == null) {
@@ -333,11 +341,13 @@ public class ComparisonController {
                     Map<String, String> mckinsey = analysisService.generateMckinsey7s(companyName);
 
                     // Generate visualization images (stored in Supabase)
-                    String swotImage = imageVisualizationService.generateSwotImage(swot);
-                    String pestelImage = imageVisualizationService.generatePestelImage(pestel);
-                    String porterImage = imageVisualizationService.generatePorterImage(porter);
-                    String bcgImage = imageVisualizationService.generateBcgImage(bcg);
-                    String mckinseyImage = imageVisualizationService.generateMckinseyImage(mckinsey);
+                    Map<String, String> images = visualizationRenderingService.renderFrameworkImages(swot, pestel,
+                            porter, bcg, mckinsey, format);
+                    String swotImage = images.get("swot_image");
+                    String pestelImage = images.get("pestel_image");
+                    String porterImage = images.get("porter_image");
+                    String bcgImage = images.get("bcg_image");
+                    String mckinseyImage = images.get("mckinsey_image");
 
                     String linkedinAnalysis = scrapingService.getLinkedInAnalysis(companyName);
 
@@ -392,9 +402,11 @@ public class ComparisonController {
             Map<String, Object> comparisonData = comparisonService.computeComparison(analyses);
 
             // Generate visualizations
-            String radarChart = visualizationService.generateRadarChart(comparisonData);
-            String barGraph = visualizationService.generateBarGraph(comparisonData);
-            String scatterPlot = visualizationService.generateScatterPlot(comparisonData);
+            // Rendered and uploaded in parallel
+            Map<String, String> charts = visualizationRenderingService.renderComparisonCharts(comparisonData);
+            String radarChart = charts.get("radar_chart");
+            String barGraph = charts.get("bar_graph");
+            String scatterPlot = charts.get("scatter_plot");
 
             // Save new analyses to database if requested
             List<String> savedAnalysisIds = new ArrayList<>();
@@ -446,10 +458,18 @@ public class ComparisonController {
     @PostMapping("/compare-enhanced")
     public ResponseEntity<Map<String, Object>> compareEnhanced(
             @RequestBody ComparisonRequest request,
+            @RequestParam(value = "image_format", required = false, defaultValue = "png") String imageFormat,
             Authentication authentication) {
         String username = authentication.getName();
         System.out.println("Enhanced comparison requested by user: " + username);
 
+        ImageFormat format;
+        try {
+            format = ImageFormat.fromParameter(imageFormat);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+
         // Get the actual user ID from username/email
         String userId = getUserIdFromUsername(username);
         if (userId == null) {
@@ -505,11 +525,13 @@ public class ComparisonController {
                     Map<String, String> mckinsey = analysisService.generateMckinsey7s(companyName);
 
                     // Generate visualization images (stored in Supabase)
-                    String swotImage = imageVisualizationService.generateSwotImage(swot);
-                    String pestelImage = imageVisualizationService.generatePestelImage(pestel);
-                    String porterImage = imageVisualizationService.generatePorterImage(porter);
-                    String bcgImage = imageVisualizationService.generateBcgImage(bcg);
-                    String mckinseyImage = imageVisualizationService.generateMckinseyImage(mckinsey);
+                    Map<String, String> images = visualizationRenderingService.renderFrameworkImages(swot, pestel,
+                            porter, bcg, mckinsey, format);
+                    String swotImage = images.get("swot_image");
+                    String pestelImage = images.get("pestel_image");
+                    String porterImage = images.get("porter_image");
+                    String bcgImage = images.get("bcg_image");
+                    String mckinseyImage = images.get("mckinsey_image");
 
                     String linkedinAnalysis = scrapingService.getLinkedInAnalysis(companyName);
 
@@ -566,9 +588,11 @@ public class ComparisonController {
             Map<String, Object> comparisonData = comparisonService.computeComparison(analyses);
 
             // Generate visualizations
-            String radarChart = visualizationService.generateRadarChart(comparisonData);
-            String barGraph = visualizationService.generateBarGraph(comparisonData);
-            String scatterPlot = visualizationService.generateScatterPlot(comparisonData);
+            // Rendered and uploaded in parallel
+            Map<String, String> charts = visualizationRenderingService.renderComparisonCharts(comparisonData);
+            String radarChart = charts.get("radar_chart");
+            String barGraph = charts.get("bar_graph");
+            String scatterPlot = charts.get("scatter_plot");
 
             // Save new analyses to database if requested
             List<String> savedAnalysisIds = new ArrayList<>();
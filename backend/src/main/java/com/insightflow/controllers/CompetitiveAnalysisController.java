@@ -3,7 +3,8 @@ package com.insightflow.controllers;
 import com.insightflow.services.AnalysisService;
 import com.insightflow.services.RagService;
 import com.insightflow.services.ModularScrapingService;
-import com.insightflow.services.VisualizationService;
+import com.insightflow.services.VisualizationRenderingService;
+import com.insightflow.services.VisualizationService.ImageFormat;
 import com.insightflow.utils.FileUtil;
 import com.insightflow.utils.LinkedInSlugUtil;
 import com.insightflow.utils.TimeUtil;
@@ -45,7 +46,7 @@ public class CompetitiveAnalysisController {
     private ModularScrapingService scrapingService;
 
     @Autowired
-    private VisualizationService visualizationService;
+    private VisualizationRenderingService visualizationRenderingService;
 
     @Autowired
     private FileUtil fileUtil;
@@ -60,9 +61,16 @@ public class CompetitiveAnalysisController {
     public ResponseEntity<Map<String, Object>> analyze(
             @RequestPart("company_name") String companyName,
             @RequestPart(value = "file", required = false) MultipartFile file,
+            @RequestPart(value = "image_format", required = false) String imageFormat,
             Authentication authentication) {
         String username = authentication.getName();
         System.out.println("Analysis requested by user: " + username);
+        ImageFormat format;
+        try {
+            format = ImageFormat.fromParameter(imageFormat);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
         try {
             String filePath = null;
             if (file != null && !file.isEmpty()) {
@@ -79,12 +87,14 @@ public class CompetitiveAnalysisController {
             Map<String, Map<String, Double>> bcg = analysisService.generateBcgMatrix(companyName);
             Map<String, String> mckinsey = analysisService.generateMckinsey7s(companyName);
 
-            // Generate visualization images (now stored in Firebase)
-            String swotImage = visualizationService.generateSwotImage(swot);
-            String pestelImage = visualizationService.generatePestelImage(pestel);
-            String porterImage = visualizationService.generatePorterImage(porter);
-            String bcgImage = visualizationService.generateBcgImage(bcg);
-            String mckinseyImage = visualizationService.generateMckinseyImage(mckinsey);
+            // Generate visualization images in parallel (stored in Supabase)
+            Map<String, String> images = visualizationRenderingService.renderFrameworkImages(swot, pestel, porter,
+                    bcg, mckinsey, format);
+            String swotImage = images.get("swot_image");
+            String pestelImage = images.get("pestel_image");
+            String porterImage = images.get("porter_image");
+            String bcgImage = images.get("bcg_image");
+            String mckinseyImage = images.get("mckinsey_image");
 
             String linkedinSlug = linkedInSlugUtil.getLinkedInCompanySlug(companyName);
             String linkedinAnalysis = scrapingService.getLinkedInAnalysis(companyName, linkedinSlug);
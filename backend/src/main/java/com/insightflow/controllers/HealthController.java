@@ -1,6 +1,8 @@
 package com.insightflow.controllers;
 
+import com.insightflow.utils.LinkedInExtractionMetrics;
 import com.insightflow.utils.TimeUtil;
+import com.insightflow.utils.WebDriverPool;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -25,6 +27,12 @@ public class HealthController {
     @Autowired
     private TimeUtil timeUtil;
 
+    @Autowired
+    private LinkedInExtractionMetrics linkedInExtractionMetrics;
+
+    @Autowired
+    private WebDriverPool webDriverPool;
+
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> healthCheck() {
         Map<String, Object> health = new HashMap<>();
@@ -37,6 +45,19 @@ public class HealthController {
         return ResponseEntity.ok(health);
     }
 
+    /**
+     * Which extraction tier served LinkedIn analyses, and the browser pool state
+     */
+    @GetMapping("/health/linkedin")
+    public ResponseEntity<Map<String, Object>> linkedInHealthCheck() {
+        Map<String, Object> health = new HashMap<>();
+        health.put("extraction", linkedInExtractionMetrics.getSnapshot());
+        health.put("chrome_live", webDriverPool.getLiveCount());
+        health.put("chrome_idle", webDriverPool.getIdleCount());
+        health.put("timestamp", timeUtil.nowAsString());
+        return ResponseEntity.ok(health);
+    }
+
     @GetMapping("/health/ai")
     public ResponseEntity<Map<String, Object>> aiHealthCheck() {
         Map<String, Object> health = new HashMap<>();
@@ -0,0 +1,54 @@
+package com.insightflow.controllers;
+
+import com.insightflow.services.LocalImageStorageService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves images from the local content-addressed store. Requests need either
+ * a JWT or the signature that came with the image URL. Content never changes
+ * under a name, so responses carry the content hash as a strong ETag and may
+ * be cached indefinitely; Range requests are answered with partial content.
+ */
+@RestController
+@RequestMapping("/api/images")
+@CrossOrigin(origins = {
+        "http://localhost:3000",
+        "http://localhost:5173",
+        "https://insightflow-frontend-1m77.onrender.com"
+})
+public class ImageController {
+
+    @Autowired
+    private LocalImageStorageService localImageStorageService;
+
+    @GetMapping("/{name:.+}")
+    public ResponseEntity<Resource> getImage(
+            @PathVariable String name,
+            @RequestParam(value = "sig", required = false) String signature,
+            Authentication authentication) {
+        if (authentication == null && !localImageStorageService.isValidSignature(name, signature)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        Path path = localImageStorageService.resolve(name);
+        if (path == null) {
+            return ResponseEntity.notFound().build();
+        }
+        // If-None-Match and Range are handled by Spring for Resource bodies with an ETag
+        return ResponseEntity.ok()
+                .eTag(LocalImageStorageService.hashOf(name))
+                .cacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable())
+                .contentType(MediaType.parseMediaType(LocalImageStorageService.contentTypeOf(name)))
+                .body(new FileSystemResource(path));
+    }
+}
@@ -30,10 +30,15 @@ public class LinkedInSlugController {
             if (companyName == null || companyName.trim().isEmpty()) {
                 Map<String, Object> error = new HashMap<>();
                 error.put("error", "Company name is required");
-                error.put("usage", "POST /api/linkedin/generate-slug with JSON: {\"companyName\": \"company-name\"}");
+                error.put("usage", "POST /api/linkedin/generate-slug with JSON: {\"companyName\": \"company-name\", \"refresh\": \"false\"}");
                 return ResponseEntity.badRequest().body(error);
             }
 
+            // Skip the slug cache and resolve again, e.g. after a company renamed its page
+            if (Boolean.parseBoolean(request.get("refresh"))) {
+                linkedInSlugUtil.evictCachedSlug(companyName.trim());
+            }
+
             long startTime = System.currentTimeMillis();
             String linkedinSlug = linkedInSlugUtil.getLinkedInCompanySlug(companyName.trim());
             long endTime = System.currentTimeMillis();
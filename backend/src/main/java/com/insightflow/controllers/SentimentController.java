@@ -130,6 +130,7 @@ public class SentimentController {
             @PathVariable String companyName,
             @RequestParam(defaultValue = "30") int days,
             @RequestParam(required = false) String sources,
+            @RequestParam(required = false) Integer resolution,
             Authentication authentication) {
         String username = authentication.getName();
         System.out.println("Sentiment trend requested by " + username + " for " + companyName);
@@ -155,6 +156,16 @@ public class SentimentController {
 
         analysis.put("requested_by", username);
 
+        // Trimmed on a copy, the analysis itself is cached
+        if (resolution != null) {
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> timeSeries = (List<Map<String, Object>>) analysis.get("time_series");
+            Map<String, Object> response = new HashMap<>(analysis);
+            response.put("time_series", visualizationService.downsample(timeSeries, resolution));
+            response.put("resolution", resolution);
+            return ResponseEntity.ok(response);
+        }
+
         return ResponseEntity.ok(analysis);
     }
 
@@ -164,6 +175,7 @@ public class SentimentController {
             @PathVariable String companyName,
             @RequestParam(defaultValue = "30") int days,
             @RequestParam(required = false) String sources,
+            @RequestParam(required = false) Integer resolution,
             Authentication authentication) {
         String username = authentication.getName();
         System.out.println("Sentiment trend chart requested by " + username + " for " + companyName);
@@ -190,7 +202,8 @@ public class SentimentController {
             }
 
             // Generate chart (now returns Supabase URL or base64 fallback)
-            String chartResult = visualizationService.generateTrendGraph(analysis);
+            String chartResult = visualizationService.generateTrendGraph(analysis,
+                    resolution != null ? resolution : SentimentTrendVisualizationService.DEFAULT_RESOLUTION);
 
             if (chartResult == null) {
                 Map<String, Object> errorResponse = new HashMap<>();
@@ -232,6 +245,7 @@ public class SentimentController {
             @RequestParam String companies,
             @RequestParam(defaultValue = "30") int days,
             @RequestParam(required = false) String sources,
+            @RequestParam(required = false) Integer resolution,
             Authentication authentication) {
         String username = authentication.getName();
         System.out.println("Comparison chart requested by " + username + " for companies: " + companies);
@@ -283,7 +297,8 @@ public class SentimentController {
             }
 
             // Generate comparison chart (now returns Supabase URL or base64 fallback)
-            String chartResult = visualizationService.generateComparisonChart(companiesData);
+            String chartResult = visualizationService.generateComparisonChart(companiesData,
+                    resolution != null ? resolution : SentimentTrendVisualizationService.DEFAULT_RESOLUTION);
 
             if (chartResult == null) {
                 Map<String, Object> errorResponse = new HashMap<>();
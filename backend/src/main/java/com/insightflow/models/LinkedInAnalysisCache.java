@@ -0,0 +1,145 @@
+package com.insightflow.models;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * MongoDB entity caching the LinkedIn stage of an analysis by company slug:
+ * the extracted page content and the generated report. Entries are served
+ * while fresh, served and refreshed in the background once stale, and removed
+ * by MongoDB after the maximum staleness.
+ */
+@Document(collection = "linkedin_analysis_cache")
+public class LinkedInAnalysisCache {
+    @Id
+    private String id; // Normalized LinkedIn slug
+
+    private String slug;
+    private String companyName;
+    private String companyTitle;
+    private String description;
+    private List<String> posts = new ArrayList<>();
+    private String analysis;
+    private String source; // Extraction tier that produced the entry
+    private Date refreshedAt;
+
+    // MongoDB removes the document once this instant has passed
+    @Indexed(expireAfterSeconds = 0)
+    private Date expiresAt;
+
+    // Constructors
+    public LinkedInAnalysisCache() {
+    }
+
+    public LinkedInAnalysisCache(String id, String slug, String companyName, String companyTitle,
+            String description, List<String> posts, String analysis, String source, Date expiresAt) {
+        this.id = id;
+        this.slug = slug;
+        this.companyName = companyName;
+        this.companyTitle = companyTitle;
+        this.description = description;
+        this.posts = posts != null ? new ArrayList<>(posts) : new ArrayList<>();
+        this.analysis = analysis;
+        this.source = source;
+        this.refreshedAt = new Date();
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isExpired() {
+        return expiresAt == null || expiresAt.before(new Date());
+    }
+
+    /**
+     * @param freshFor How long after a refresh the entry counts as fresh
+     */
+    public boolean isFresh(Duration freshFor) {
+        return refreshedAt != null && refreshedAt.toInstant().plus(freshFor).isAfter(new Date().toInstant());
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getSlug() {
+        return slug;
+    }
+
+    public void setSlug(String slug) {
+        this.slug = slug;
+    }
+
+    public String getCompanyName() {
+        return companyName;
+    }
+
+    public void setCompanyName(String companyName) {
+        this.companyName = companyName;
+    }
+
+    public String getCompanyTitle() {
+        return companyTitle;
+    }
+
+    public void setCompanyTitle(String companyTitle) {
+        this.companyTitle = companyTitle;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public List<String> getPosts() {
+        return posts;
+    }
+
+    public void setPosts(List<String> posts) {
+        this.posts = posts;
+    }
+
+    public String getAnalysis() {
+        return analysis;
+    }
+
+    public void setAnalysis(String analysis) {
+        this.analysis = analysis;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public Date getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    public void setRefreshedAt(Date refreshedAt) {
+        this.refreshedAt = refreshedAt;
+    }
+
+    public Date getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Date expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
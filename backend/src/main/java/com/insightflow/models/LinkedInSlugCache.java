@@ -0,0 +1,115 @@
+package com.insightflow.models;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+
+/**
+ * MongoDB entity caching resolved LinkedIn company slugs by normalized company
+ * name. Companies without a LinkedIn page are cached too (found = false) so the
+ * full search is not repeated for them.
+ */
+@Document(collection = "linkedin_slug_cache")
+public class LinkedInSlugCache {
+    @Id
+    private String id; // Normalized company name
+
+    private String companyName;
+    private String slug;
+    private boolean found;
+    private double confidence;
+    private String selectionMethod;
+    private LocalDateTime createdAt;
+
+    // MongoDB removes the document once this instant has passed
+    @Indexed(expireAfterSeconds = 0)
+    private Date expiresAt;
+
+    // Constructors
+    public LinkedInSlugCache() {
+    }
+
+    public LinkedInSlugCache(String id, String companyName, String slug, boolean found, double confidence,
+            String selectionMethod, Date expiresAt) {
+        this.id = id;
+        this.companyName = companyName;
+        this.slug = slug;
+        this.found = found;
+        this.confidence = confidence;
+        this.selectionMethod = selectionMethod;
+        this.createdAt = LocalDateTime.now();
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isExpired() {
+        return expiresAt == null || expiresAt.before(new Date());
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getCompanyName() {
+        return companyName;
+    }
+
+    public void setCompanyName(String companyName) {
+        this.companyName = companyName;
+    }
+
+    public String getSlug() {
+        return slug;
+    }
+
+    public void setSlug(String slug) {
+        this.slug = slug;
+    }
+
+    public boolean isFound() {
+        return found;
+    }
+
+    public void setFound(boolean found) {
+        this.found = found;
+    }
+
+    public double getConfidence() {
+        return confidence;
+    }
+
+    public void setConfidence(double confidence) {
+        this.confidence = confidence;
+    }
+
+    public String getSelectionMethod() {
+        return selectionMethod;
+    }
+
+    public void setSelectionMethod(String selectionMethod) {
+        this.selectionMethod = selectionMethod;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Date getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Date expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,84 @@
+package com.insightflow.models;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+
+/**
+ * MongoDB entity mapping the content hash of a rendered framework image
+ * (framework type, renderer version and normalized input data) to the URL the
+ * image was stored at.
+ */
+@Document(collection = "rendered_image_cache")
+public class RenderedImageCache {
+    @Id
+    private String id; // SHA-256 content hash
+
+    private String framework;
+    private String url;
+    private LocalDateTime createdAt;
+
+    // MongoDB removes the document once this instant has passed
+    @Indexed(expireAfterSeconds = 0)
+    private Date expiresAt;
+
+    // Constructors
+    public RenderedImageCache() {
+    }
+
+    public RenderedImageCache(String id, String framework, String url, Date expiresAt) {
+        this.id = id;
+        this.framework = framework;
+        this.url = url;
+        this.createdAt = LocalDateTime.now();
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isExpired() {
+        return expiresAt == null || expiresAt.before(new Date());
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getFramework() {
+        return framework;
+    }
+
+    public void setFramework(String framework) {
+        this.framework = framework;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Date getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Date expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,95 @@
+package com.insightflow.models;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MongoDB entity caching Tavily search responses by normalized query
+ */
+@Document(collection = "tavily_search_cache")
+public class TavilySearchCache {
+    @Id
+    private String id; // Normalized query + request options
+
+    private String query;
+    private List<Map<String, Object>> results;
+    private String answer;
+    private LocalDateTime createdAt;
+
+    // MongoDB removes the document once this instant has passed
+    @Indexed(expireAfterSeconds = 0)
+    private Date expiresAt;
+
+    // Constructors
+    public TavilySearchCache() {
+    }
+
+    public TavilySearchCache(String id, String query, List<Map<String, Object>> results, String answer,
+            Date expiresAt) {
+        this.id = id;
+        this.query = query;
+        this.results = results;
+        this.answer = answer;
+        this.createdAt = LocalDateTime.now();
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isExpired() {
+        return expiresAt == null || expiresAt.before(new Date());
+    }
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public List<Map<String, Object>> getResults() {
+        return results;
+    }
+
+    public void setResults(List<Map<String, Object>> results) {
+        this.results = results;
+    }
+
+    public String getAnswer() {
+        return answer;
+    }
+
+    public void setAnswer(String answer) {
+        this.answer = answer;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Date getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Date expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,9 @@
+package com.insightflow.repositories;
+
+import com.insightflow.models.LinkedInAnalysisCache;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface LinkedInAnalysisCacheRepository extends MongoRepository<LinkedInAnalysisCache, String> {
+}
@@ -0,0 +1,9 @@
+package com.insightflow.repositories;
+
+import com.insightflow.models.LinkedInSlugCache;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface LinkedInSlugCacheRepository extends MongoRepository<LinkedInSlugCache, String> {
+}
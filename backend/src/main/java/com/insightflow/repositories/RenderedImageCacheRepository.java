@@ -0,0 +1,9 @@
+package com.insightflow.repositories;
+
+import com.insightflow.models.RenderedImageCache;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RenderedImageCacheRepository extends MongoRepository<RenderedImageCache, String> {
+}
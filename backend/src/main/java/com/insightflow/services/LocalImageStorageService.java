@@ -0,0 +1,195 @@
+package com.insightflow.services;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed image store on the local disk, used instead of inline
+ * base64 data URIs when Supabase is unavailable. Files are named by the
+ * SHA-256 of their bytes, so identical images are stored once and a name never
+ * changes content. Images are served by ImageController; the URLs handed out
+ * carry an HMAC signature so that plain {@code <img>} tags, which cannot send
+ * the JWT, can load them.
+ */
+@Service
+public class LocalImageStorageService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalImageStorageService.class);
+
+    private static final Pattern IMAGE_NAME = Pattern.compile("([0-9a-f]{64})\\.(png|svg)");
+
+    @Value("${images.local.enabled:true}")
+    private boolean enabled;
+
+    @Value("${images.local.dir:./data/images}")
+    private String directory;
+
+    // Only for local development; deployments must set images.local.public-base-url
+    private static final String DEVELOPMENT_BASE_URL = "http://localhost:8000";
+
+    // Image URLs are absolute because the frontend is served from another origin.
+    // They are saved with analyses and comparisons, so this must be the API's
+    // public address
+    @Value("${images.local.public-base-url:}")
+    private String publicBaseUrl;
+
+    @Value("${images.local.signing-key:${jwt.secret:}}")
+    private String signingKey;
+
+    @PostConstruct
+    public void checkPublicBaseUrl() {
+        if (enabled && !hasPublicBaseUrl()) {
+            logger.error("images.local.public-base-url is not set: local image URLs will point at {} and are "
+                    + "saved that way in analyses and comparisons. Set it to the public address of this API.",
+                    DEVELOPMENT_BASE_URL);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Stores the image unless the same bytes are already stored
+     *
+     * @param contentType "image/png" or "image/svg+xml"
+     * @return Signed URL of the image, or null if it could not be written
+     */
+    public String store(byte[] image, String contentType) {
+        String name = sha256(image) + "." + extensionOf(contentType);
+        Path target = pathOf(name);
+        try {
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                // Written under a temporary name so readers never see a partial file
+                Path temp = Files.createTempFile(target.getParent(), name, ".tmp");
+                try {
+                    Files.write(temp, image);
+                    moveIntoPlace(temp, target);
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+                logger.debug("Stored image {} ({} bytes)", name, image.length);
+            }
+            return urlOf(name);
+        } catch (IOException e) {
+            logger.warn("Failed to store image {} locally: {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return Path of a stored image, or null if the name is not a valid image
+     *         name or nothing is stored under it
+     */
+    public Path resolve(String name) {
+        if (name == null || !IMAGE_NAME.matcher(name).matches()) {
+            return null;
+        }
+        Path path = pathOf(name);
+        return Files.isRegularFile(path) ? path : null;
+    }
+
+    /**
+     * @return Whether the signature was issued by this store for the name
+     */
+    public boolean isValidSignature(String name, String signature) {
+        if (signature == null || signingKey == null || signingKey.isEmpty()) {
+            return false;
+        }
+        return MessageDigest.isEqual(sign(name).getBytes(StandardCharsets.US_ASCII),
+                signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @return Content hash of a valid image name, usable as a strong ETag
+     */
+    public static String hashOf(String name) {
+        Matcher matcher = IMAGE_NAME.matcher(name);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    public static String contentTypeOf(String name) {
+        return name.endsWith(".svg") ? "image/svg+xml" : "image/png";
+    }
+
+    /**
+     * @return Whether the URL was handed out by this store
+     */
+    public boolean isLocalUrl(String url) {
+        return url != null && url.startsWith(imagesUrl());
+    }
+
+    private String urlOf(String name) {
+        String url = imagesUrl() + name;
+        if (signingKey == null || signingKey.isEmpty()) {
+            return url;
+        }
+        return url + "?sig=" + sign(name);
+    }
+
+    private String imagesUrl() {
+        String baseUrl = hasPublicBaseUrl() ? publicBaseUrl : DEVELOPMENT_BASE_URL;
+        return baseUrl.replaceAll("/+$", "") + "/api/images/";
+    }
+
+    private boolean hasPublicBaseUrl() {
+        return publicBaseUrl != null && !publicBaseUrl.isBlank();
+    }
+
+    // Sharded by the first two hex digits to keep directories small
+    private Path pathOf(String name) {
+        return Paths.get(directory, name.substring(0, 2), name);
+    }
+
+    private static String extensionOf(String contentType) {
+        return "image/svg+xml".equals(contentType) ? "svg" : "png";
+    }
+
+    private static void moveIntoPlace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private String sign(String name) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(signingKey.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] digest = mac.doFinal(("image:" + name).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -1,23 +1,35 @@
 package com.insightflow.services;
 
+import com.insightflow.models.LinkedInAnalysisCache;
+import com.insightflow.repositories.LinkedInAnalysisCacheRepository;
 import com.insightflow.utils.ChromeDriverUtil;
+import com.insightflow.utils.LinkedInExtractionMetrics;
+import com.insightflow.utils.LinkedInExtractionMetrics.Tier;
+import com.insightflow.utils.LinkedInLoginUtil;
 import com.insightflow.utils.LinkedInSlugUtil;
+import com.insightflow.utils.RateLimitingUtil;
 import com.insightflow.utils.ContentExtractionUtil;
 import com.insightflow.utils.AnalysisOrchestrationUtil;
+import com.insightflow.utils.WebDriverPool;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.openqa.selenium.WebDriverException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Refactored and modularized ScrapingService that delegates to focused utility
@@ -26,28 +38,35 @@ import java.util.Random;
  * 
  * Original 2051-line monolithic service has been broken down into:
  * - ChromeDriverUtil: WebDriver management and anti-detection
+ * - WebDriverPool: Warm, bounded pool of Chrome instances
  * - RateLimitingUtil: Request rate control
  * - LinkedInSearchUtil: Company identification and search
  * - ContentExtractionUtil: HTML parsing and content extraction
  * - AnalysisOrchestrationUtil: AI analysis coordination
+ *
+ * Extraction is tiered to keep browser launches rare: the public company page
+ * over plain HTTP first, then a Tavily crawl, and a logged-in Chrome session
+ * only when neither yields enough content. Results are cached by slug in
+ * MongoDB and served stale-while-revalidate, so most requests never wait on
+ * any tier.
  */
 @Service
 public class ModularScrapingService {
 
     private static final Logger logger = LoggerFactory.getLogger(ModularScrapingService.class);
 
-    @Value("${linkedin.email}")
-    private String linkedinEmail;
-
-    @Value("${linkedin.password}")
-    private String linkedinPassword;
-
     @Autowired
     private LinkedInSlugUtil linkedInSlugUtil;
 
     @Autowired
     private ChromeDriverUtil chromeDriverUtil;
 
+    @Autowired
+    private WebDriverPool webDriverPool;
+
+    @Autowired
+    private LinkedInLoginUtil linkedInLoginUtil;
+
     @Autowired
     private ContentExtractionUtil contentExtractionUtil;
 
@@ -57,16 +76,71 @@ public class ModularScrapingService {
     @Autowired
     private TavilyFallbackService tavilyFallbackService;
 
-    // Rate limiting to avoid CAPTCHA - same as original ScrapingService
-    private final Random random = new Random();
-    private long lastRequestTime = 0;
-    private int requestCount = 0;
-    private static final long MIN_REQUEST_INTERVAL = 300000; // 5 minutes between requests
-    private static final int MAX_REQUESTS_PER_HOUR = 5; // Reduced from 10 to 5
+    // Shared per-resource limiter, spaces LinkedIn sessions to avoid CAPTCHA
+    @Autowired
+    private RateLimitingUtil rateLimitingUtil;
+
+    @Autowired
+    @Qualifier("taskExecutor")
+    private ThreadPoolTaskExecutor taskExecutor;
+
+    @Autowired
+    private LinkedInExtractionMetrics extractionMetrics;
+
+    @Value("${linkedin.tier.public-page.enabled:true}")
+    private boolean publicPageTierEnabled;
+
+    @Value("${linkedin.tier.public-page.min-description-chars:150}")
+    private int publicPageMinDescriptionChars;
+
+    @Value("${linkedin.tier.public-page.min-posts:3}")
+    private int publicPageMinPosts;
+
+    @Value("${linkedin.tier.tavily.enabled:true}")
+    private boolean tavilyTierEnabled;
+
+    @Value("${linkedin.tier.tavily.min-content-chars:1500}")
+    private int tavilyMinContentChars;
+
+    @Autowired
+    private LinkedInAnalysisCacheRepository analysisCacheRepository;
+
+    @Value("${linkedin.analysis-cache.enabled:true}")
+    private boolean analysisCacheEnabled;
+
+    // Served without a refresh for this long after extraction
+    @Value("${linkedin.analysis-cache.fresh-hours:24}")
+    private long analysisCacheFreshHours;
+
+    // After going stale, still served (while refreshing) for this long
+    @Value("${linkedin.analysis-cache.max-stale-hours:168}")
+    private long analysisCacheMaxStaleHours;
+
+
+    // Slugs with a background refresh in flight
+    private final Set<String> refreshingSlugs = ConcurrentHashMap.newKeySet();
+
+    /**
+     * An analysis and the content it was generated from. A null tier marks a
+     * fallback result, which is not cached.
+     */
+    private static class AnalysisResult {
+        final String analysis;
+        final ContentExtractionUtil.LinkedInContent content;
+        final Tier tier;
+
+        AnalysisResult(String analysis, ContentExtractionUtil.LinkedInContent content, Tier tier) {
+            this.analysis = analysis;
+            this.content = content;
+            this.tier = tier;
+        }
+    }
 
     /**
      * Main method to perform LinkedIn analysis for a company.
      * Enhanced with human-like delays, login functionality, and rate limiting.
+     * Cached analyses are served first; stale ones are refreshed in the
+     * background.
      * 
      * @param companyName  The name of the company to analyze
      * @param linkedinSlug Optional LinkedIn slug. If null, will be generated
@@ -74,90 +148,252 @@ public class ModularScrapingService {
      * @return Comprehensive LinkedIn analysis as HTML string
      */
     public String getLinkedInAnalysis(String companyName, String linkedinSlug) {
-        logger.info("====== STARTING MODULAR LINKEDIN ANALYSIS FOR: '{}' (slug: '{}') ======", companyName,
-                linkedinSlug);
-        long analysisStartTime = System.currentTimeMillis();
+        extractionMetrics.recordRequest();
+        String slug = resolveSlug(companyName, linkedinSlug);
+
+        String cachedAnalysis = serveFromCache(companyName, slug);
+        if (cachedAnalysis != null) {
+            return cachedAnalysis;
+        }
+
+        AnalysisResult result = tryLightweightTiers(companyName, slug);
+        if (result != null) {
+            cacheAnalysis(companyName, slug, result);
+            return result.analysis;
+        }
+
+        // Rate limiting to avoid CAPTCHA, without parking the request thread:
+        // when no LinkedIn slot is free right now, serve the Tavily fallback and
+        // warm the cache for the next request in the background
+        if (!rateLimitingUtil.tryAcquire(RateLimitingUtil.LINKEDIN)) {
+            logger.info("LinkedIn rate limit: next browser slot in {} ms, using Tavily fallback for '{}'",
+                    rateLimitingUtil.getTimeUntilNextRequest(RateLimitingUtil.LINKEDIN), companyName);
+            extractionMetrics.recordBrowserRateLimited();
+            refreshInBackground(companyName, slug, false);
+            return tavilyFallbackService.getLinkedInAnalysisFallback(companyName, slug);
+        }
+        result = performLinkedInAnalysis(companyName, slug);
+        cacheAnalysis(companyName, slug, result);
+        return result.analysis;
+    }
+
+    /**
+     * Runs the tiers without blocking the caller, the browser tier in the next
+     * free LinkedIn slot, and caches the result.
+     * 
+     * @param lightweightFirst false when the browser-free tiers have just
+     *                         failed for this slug
+     */
+    private CompletableFuture<AnalysisResult> analyzeAsync(String companyName, String slug,
+            boolean lightweightFirst) {
+        return CompletableFuture
+                .supplyAsync(() -> lightweightFirst ? tryLightweightTiers(companyName, slug) : null, taskExecutor)
+                .thenCompose(result -> result != null
+                        ? CompletableFuture.completedFuture(result)
+                        : rateLimitingUtil.schedule(RateLimitingUtil.LINKEDIN,
+                                () -> performLinkedInAnalysis(companyName, slug), taskExecutor))
+                .thenApply(result -> {
+                    cacheAnalysis(companyName, slug, result);
+                    return result;
+                });
+    }
 
-        WebDriver driver = null;
+    /**
+     * Uses the provided slug, or resolves one (a cached lookup for known
+     * companies) so every tier works on the same page.
+     */
+    private String resolveSlug(String companyName, String linkedinSlug) {
+        if (linkedinSlug != null && !linkedinSlug.trim().isEmpty()) {
+            return linkedinSlug.trim();
+        }
+        return linkedInSlugUtil.getLinkedInCompanySlug(companyName);
+    }
+
+    /**
+     * Returns the cached analysis for the slug if there is one. A stale entry
+     * is still served, and a background refresh is started for it.
+     * 
+     * @return Cached analysis HTML, or null on a miss
+     */
+    private String serveFromCache(String companyName, String slug) {
+        LinkedInAnalysisCache cached = lookupCachedAnalysis(slug);
+        if (cached == null) {
+            return null;
+        }
+        boolean fresh = cached.isFresh(Duration.ofHours(analysisCacheFreshHours));
+        extractionMetrics.recordCacheHit(fresh);
+        if (!fresh) {
+            logger.info("Serving stale cached LinkedIn analysis for '{}' (slug: '{}'), refreshing in background",
+                    companyName, slug);
+            // A browser-tier entry would not be replaced by a lighter tier's result,
+            // so refresh it with the browser right away
+            refreshInBackground(companyName, slug, !Tier.BROWSER.name().equals(cached.getSource()));
+        } else {
+            logger.info("✅ Serving cached LinkedIn analysis for '{}' (slug: '{}')", companyName, slug);
+        }
+        return cached.getAnalysis();
+    }
 
+    /**
+     * Recomputes the analysis for a slug off the request path. At most one
+     * refresh runs per slug; it waits for a LinkedIn slot like any other
+     * scheduled browser session.
+     */
+    private void refreshInBackground(String companyName, String slug, boolean lightweightFirst) {
+        if (!analysisCacheEnabled || slug == null || slug.isEmpty()
+                || !refreshingSlugs.add(analysisCacheKey(slug))) {
+            return;
+        }
+        extractionMetrics.recordBackgroundRefresh();
         try {
-            // Rate limiting check to avoid CAPTCHA
-            long currentTime = System.currentTimeMillis();
-            if (currentTime - lastRequestTime < MIN_REQUEST_INTERVAL) {
-                long waitTime = MIN_REQUEST_INTERVAL - (currentTime - lastRequestTime);
-                logger.info("Rate limiting: Waiting {} ms before next request", waitTime);
-                try {
-                    Thread.sleep(waitTime);
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException("Interrupted during rate limiting wait", e);
+            analyzeAsync(companyName, slug, lightweightFirst).whenComplete((result, error) -> {
+                refreshingSlugs.remove(analysisCacheKey(slug));
+                if (error != null) {
+                    logger.info("Background refresh of LinkedIn analysis for '{}' failed: {}", companyName,
+                            error.getMessage());
                 }
+            });
+        } catch (Exception e) {
+            refreshingSlugs.remove(analysisCacheKey(slug));
+            logger.warn("Could not start background refresh for '{}': {}", companyName, e.getMessage());
+        }
+    }
+
+    private String analysisCacheKey(String slug) {
+        return slug.trim().toLowerCase();
+    }
+
+    private LinkedInAnalysisCache lookupCachedAnalysis(String slug) {
+        if (!analysisCacheEnabled || slug == null || slug.isEmpty()) {
+            return null;
+        }
+        try {
+            return analysisCacheRepository.findById(analysisCacheKey(slug))
+                    .filter(entry -> !entry.isExpired())
+                    .orElse(null);
+        } catch (Exception e) {
+            logger.debug("LinkedIn analysis cache lookup failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Stores an analysis produced by one of the extraction tiers. Fallback
+     * results are not cached so the next request tries the tiers again, and an
+     * unexpired entry from a stronger tier (BROWSER over TAVILY_CRAWL over
+     * PUBLIC_PAGE) is kept rather than replaced by a weaker one.
+     */
+    private void cacheAnalysis(String companyName, String slug, AnalysisResult result) {
+        if (!analysisCacheEnabled || slug == null || slug.isEmpty() || result == null || result.tier == null) {
+            return;
+        }
+        try {
+            LinkedInAnalysisCache existing = lookupCachedAnalysis(slug);
+            Tier existingTier = existing != null ? parseTier(existing.getSource()) : null;
+            if (existingTier != null && existingTier.compareTo(result.tier) > 0) {
+                logger.info("Keeping cached {} analysis for '{}' over the new {} result", existingTier,
+                        companyName, result.tier);
+                return;
             }
-            lastRequestTime = currentTime;
-            requestCount++;
-
-            // Phase 1: WebDriver setup using dedicated utility
-            logger.info("Phase 1: Setting up Chrome WebDriver");
-            driver = chromeDriverUtil.createWebDriver();
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(30));
-
-            // Random delay before starting - increased to be more human-like
-            int initialDelay = 5000 + random.nextInt(5000); // 5-10 seconds
-            logger.info("Initial human-like delay: {} ms", initialDelay);
-            Thread.sleep(initialDelay);
-
-            // Phase 2: Login with human-like behavior
-            logger.info("Phase 2: Navigating to LinkedIn login page");
-            driver.get("https://www.linkedin.com/login");
-            logger.info("Successfully navigated to login page");
-
-            // Random delay to simulate reading
-            int readingDelay = 1000 + random.nextInt(2000);
-            logger.info("Simulating page reading delay: {} ms", readingDelay);
-            Thread.sleep(readingDelay);
-
-            logger.info("Waiting for username field to be present...");
-            wait.until(ExpectedConditions.presenceOfElementLocated(By.id("username")));
-            logger.info("✓ Username field located, proceeding with login");
-
-            // Type credentials with human-like delays
-            logger.info("Entering login credentials with human-like typing...");
-            logger.info("Typing username: {}", linkedinEmail.replaceAll(".(?=.{2})", "*")); // Mask email for security
-            typeHumanLike(driver.findElement(By.id("username")), linkedinEmail);
-
-            int betweenFieldsDelay = 500 + random.nextInt(1000);
-            logger.info("Delay between username and password fields: {} ms", betweenFieldsDelay);
-            Thread.sleep(betweenFieldsDelay);
-
-            logger.info("Typing password: [MASKED]");
-            typeHumanLike(driver.findElement(By.id("password")), linkedinPassword);
-
-            int beforeSubmitDelay = 1000 + random.nextInt(1500);
-            logger.info("Delay before submit: {} ms", beforeSubmitDelay);
-            Thread.sleep(beforeSubmitDelay);
-
-            logger.info("Clicking login submit button...");
-            driver.findElement(By.xpath("//button[@type='submit']")).click();
-
-            logger.info("Waiting for login completion (feed or checkpoint)...");
-            wait.until(ExpectedConditions.or(
-                    ExpectedConditions.urlContains("linkedin.com/feed"),
-                    ExpectedConditions.urlContains("linkedin.com/checkpoint")));
-
-            int postLoginDelay = 3000 + random.nextInt(2000);
-            logger.info("Post-login delay: {} ms", postLoginDelay);
-            Thread.sleep(postLoginDelay);
-
-            // Check for CAPTCHA or security challenges
-            String currentUrl = driver.getCurrentUrl();
-            logger.info("Current URL after login attempt: {}", currentUrl);
-
-            if (currentUrl.contains("checkpoint") || currentUrl.contains("captcha")) {
-                logger.error("❌ CAPTCHA or security checkpoint detected at URL: {}", currentUrl);
-                throw new RuntimeException("CAPTCHA or security challenge detected after login");
+            ContentExtractionUtil.LinkedInContent content = result.content;
+            Date expiresAt = Date.from(Instant.now()
+                    .plus(Duration.ofHours(analysisCacheFreshHours + analysisCacheMaxStaleHours)));
+            analysisCacheRepository.save(new LinkedInAnalysisCache(analysisCacheKey(slug), slug, companyName,
+                    content != null ? content.companyTitle : null, content != null ? content.description : null,
+                    content != null ? content.posts : null, result.analysis, result.tier.name(), expiresAt));
+        } catch (Exception e) {
+            logger.debug("LinkedIn analysis cache store failed: {}", e.getMessage());
+        }
+    }
+
+    private Tier parseTier(String source) {
+        try {
+            return source != null ? Tier.valueOf(source) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Runs the browser-free tiers in order and returns the first analysis whose
+     * source content passes that tier's quality threshold.
+     * 
+     * @return Analysis result, or null when the browser tier is needed
+     */
+    private AnalysisResult tryLightweightTiers(String companyName, String slug) {
+        if (slug == null || slug.isEmpty()) {
+            return null;
+        }
+
+        // Tier 1: public company page over plain HTTP
+        if (publicPageTierEnabled) {
+            long start = System.currentTimeMillis();
+            extractionMetrics.recordAttempt(Tier.PUBLIC_PAGE);
+            try {
+                ContentExtractionUtil.LinkedInContent content = contentExtractionUtil
+                        .extractPublicLinkedInContent(companyName, slug);
+                if (content == null) {
+                    extractionMetrics.recordFailure(Tier.PUBLIC_PAGE);
+                } else if (content.description.length() >= publicPageMinDescriptionChars
+                        && content.posts.size() >= publicPageMinPosts) {
+                    String analysis = analysisOrchestrationUtil.orchestrateLinkedInAnalysis(companyName,
+                            content.companyTitle, content.description, content.posts);
+                    extractionMetrics.recordServed(Tier.PUBLIC_PAGE, System.currentTimeMillis() - start);
+                    logger.info("✅ LinkedIn analysis for '{}' served from the public page, no browser needed",
+                            companyName);
+                    return new AnalysisResult(analysis, content, Tier.PUBLIC_PAGE);
+                } else {
+                    logger.info("Public page for '{}' is insufficient (description {} chars, {} posts)",
+                            companyName, content.description.length(), content.posts.size());
+                    extractionMetrics.recordInsufficient(Tier.PUBLIC_PAGE);
+                }
+            } catch (Exception e) {
+                logger.warn("Public page tier failed for '{}': {}", companyName, e.getMessage());
+                extractionMetrics.recordFailure(Tier.PUBLIC_PAGE);
+            }
+        }
+
+        // Tier 2: Tavily crawl of the company page
+        if (tavilyTierEnabled) {
+            long start = System.currentTimeMillis();
+            extractionMetrics.recordAttempt(Tier.TAVILY_CRAWL);
+            try {
+                String analysis = tavilyFallbackService.tryLinkedInAnalysis(companyName, slug,
+                        tavilyMinContentChars);
+                if (analysis != null) {
+                    extractionMetrics.recordServed(Tier.TAVILY_CRAWL, System.currentTimeMillis() - start);
+                    logger.info("✅ LinkedIn analysis for '{}' served from the Tavily crawl, no browser needed",
+                            companyName);
+                    return new AnalysisResult(analysis, null, Tier.TAVILY_CRAWL);
+                }
+                extractionMetrics.recordInsufficient(Tier.TAVILY_CRAWL);
+            } catch (Exception e) {
+                logger.warn("Tavily crawl tier failed for '{}': {}", companyName, e.getMessage());
+                extractionMetrics.recordFailure(Tier.TAVILY_CRAWL);
             }
+        }
 
-            logger.info("✅ Login successful, no CAPTCHA detected");
+        logger.info("Escalating LinkedIn analysis for '{}' to a browser session", companyName);
+        return null;
+    }
+
+    private AnalysisResult performLinkedInAnalysis(String companyName, String linkedinSlug) {
+        logger.info("====== STARTING MODULAR LINKEDIN ANALYSIS FOR: '{}' (slug: '{}') ======", companyName,
+                linkedinSlug);
+        long analysisStartTime = System.currentTimeMillis();
+        extractionMetrics.recordAttempt(Tier.BROWSER);
+
+        WebDriverPool.Lease lease = null;
+
+        try {
+            // Phase 1: Lease a warm WebDriver from the pool
+            logger.info("Phase 1: Leasing Chrome WebDriver from pool");
+            lease = webDriverPool.acquire();
+            WebDriver driver = lease.getDriver();
+
+            // Phase 2: Reuse the saved session; the full login only runs when it has expired
+            logger.info("Phase 2: Logging in to LinkedIn");
+            linkedInLoginUtil.ensureLoggedIn(driver);
 
             // Phase 3: LinkedIn company slug resolution
             logger.info("Phase 3: Resolving LinkedIn company slug for '{}'", companyName);
@@ -178,10 +414,15 @@ public class ModularScrapingService {
 
             long pageLoadStartTime = System.currentTimeMillis();
             driver.get(companyUrl);
+            contentExtractionUtil.waitForPageContent(driver);
             long pageLoadEndTime = System.currentTimeMillis();
 
             logger.info("✅ Company page loaded in {} ms", pageLoadEndTime - pageLoadStartTime);
-            Thread.sleep(5000); // Wait for full page load
+            Map<String, Long> pageStats = chromeDriverUtil.readPageLoadStats(driver);
+            boolean resourceBlocking = chromeDriverUtil.isResourceBlockingApplied(driver);
+            extractionMetrics.recordPageLoad(resourceBlocking, pageStats);
+            logger.info("Company page stats (resource blocking {}): {}",
+                    resourceBlocking ? "on" : "off", pageStats);
 
             // Phase 5: Content extraction using dedicated utility
             logger.info("Phase 5: Extracting LinkedIn content");
@@ -202,20 +443,27 @@ public class ModularScrapingService {
             long totalDuration = System.currentTimeMillis() - analysisStartTime;
             logger.info("====== MODULAR LINKEDIN ANALYSIS COMPLETED FOR '{}' in {}ms ======", companyName,
                     totalDuration);
+            extractionMetrics.recordServed(Tier.BROWSER, totalDuration);
 
-            return analysis;
+            return new AnalysisResult(analysis, extractedContent, Tier.BROWSER);
 
         } catch (Exception e) {
             long totalDuration = System.currentTimeMillis() - analysisStartTime;
+            extractionMetrics.recordFailure(Tier.BROWSER);
             logger.error("❌ Modular LinkedIn analysis failed for '{}' after {}ms", companyName, totalDuration);
             logger.error("Error: {}", e.getMessage(), e);
 
+            // A browser that failed mid-session may be crashed or flagged; don't reuse it
+            if (lease != null && e instanceof WebDriverException) {
+                lease.invalidate();
+            }
+
             // Fallback using TavilyFallbackService with slug support
             try {
                 logger.warn("🔄 Attempting Tavily fallback for LinkedIn analysis...");
                 String fallbackResult = tavilyFallbackService.getLinkedInAnalysisFallback(companyName, linkedinSlug);
                 logger.info("✅ Tavily fallback successful for company: {}", companyName);
-                return fallbackResult;
+                return new AnalysisResult(fallbackResult, null, null);
             } catch (Exception fallbackException) {
                 logger.error("❌ Tavily fallback also failed: {}", fallbackException.getMessage());
                 throw new RuntimeException("Failed to perform LinkedIn analysis for " + companyName +
@@ -223,32 +471,15 @@ public class ModularScrapingService {
                         ". Fallback error: " + fallbackException.getMessage(), e);
             }
         } finally {
-            // Phase 7: Cleanup using dedicated utility
-            logger.info("Phase 7: Cleaning up resources");
-            if (driver != null) {
-                driver.quit();
+            // Phase 7: Return the browser to the pool
+            logger.info("Phase 7: Returning Chrome WebDriver to pool");
+            if (lease != null) {
+                lease.close();
             }
-            chromeDriverUtil.cleanupChromeProcesses();
             logger.info("====== CLEANUP COMPLETED ======");
         }
     }
 
-    /**
-     * Types text with human-like delays to avoid detection (from original
-     * ScrapingService)
-     */
-    private void typeHumanLike(WebElement element, String text) {
-        element.clear();
-        for (char c : text.toCharArray()) {
-            element.sendKeys(String.valueOf(c));
-            try {
-                Thread.sleep(50 + random.nextInt(100)); // Random delay between keystrokes
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
-            }
-        }
-    }
 
     /**
      * Legacy method for backward compatibility - automatically generates slug
@@ -20,14 +20,25 @@ import dev.langchain4j.store.embedding.inmemory.InMemoryEmbeddingStore;
 
 import org.apache.commons.lang3.ObjectUtils.Null;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
@@ -57,6 +68,37 @@ public class RagService {
     @Value("${ollama.model:llama3.2:latest}")
     private String ollamaModel;
 
+    @Autowired
+    @Qualifier("scrapingExecutor")
+    private ThreadPoolTaskExecutor scrapingExecutor;
+
+    @Value("${scraping.extraction.deadline.ms:30000}")
+    private long extractionDeadlineMs;
+
+    @Value("${scraping.per-host.max-concurrency:2}")
+    private int perHostMaxConcurrency;
+
+    @Value("${tavily.raw-content.enabled:true}")
+    private boolean useTavilyRawContent;
+
+    // Search content shorter than this is considered insufficient and the page is scraped
+    @Value("${tavily.raw-content.min-chars:500}")
+    private int rawContentMinChars;
+
+    // Per-host permits so a batch of links on one domain is not fetched all at once;
+    // an entry lives only while extractions for its host are running or waiting
+    private final Map<String, HostSlot> hostSlots = new ConcurrentHashMap<>();
+
+    private static class HostSlot {
+        final Semaphore permits;
+        // Only changed inside hostSlots.compute, which locks the entry
+        int users;
+
+        HostSlot(int permits) {
+            this.permits = new Semaphore(permits);
+        }
+    }
+
     /**
      * Builds RAG pipeline, mirroring build_rag_pipeline (load, split, embed, store,
      * chain).
@@ -163,33 +205,37 @@ public class RagService {
         ConversationalRetrievalChain ragChain = filePath != null ? buildRagPipeline(filePath) : null;
 
         // Step 1: Search (mirroring search_step) - Use specific search terms focused on
-        // the target company with proper exception handling
+        // the target company with proper exception handling. In raw-content mode Tavily
+        // returns the page text in the same call, so most pages need no scraping.
         List<String> links = new ArrayList<>();
+        List<String> pageContents = new ArrayList<>();
         try {
-            List<Map<String, Object>> searchResults = tavilyUtil
-                    .search("\"" + companyName + "\" company overview business model strategy analysis", 5, null);
-            links = searchResults.stream().map(r -> (String) r.get("url")).filter(url -> url != null)
-                    .collect(Collectors.toList());
+            String query = "\"" + companyName + "\" company overview business model strategy analysis";
+            List<Map<String, Object>> searchResults = useTavilyRawContent
+                    ? tavilyUtil.searchWithContent(query, 5, null)
+                    : tavilyUtil.search(query, 5, null);
+            for (Map<String, Object> searchResult : searchResults) {
+                String url = (String) searchResult.get("url");
+                if (url != null) {
+                    links.add(url);
+                    Object rawContent = searchResult.get("raw_content");
+                    pageContents.add(rawContent instanceof String ? (String) rawContent : null);
+                }
+            }
         } catch (Exception e) {
             // Log the error and continue with fallback sources
             System.err.println("Tavily search failed for company " + companyName + ": " + e.getMessage());
             // Initialize empty links - fallback sources will be generated later
             links = new ArrayList<>();
+            pageContents = new ArrayList<>();
         }
 
-        // Step 2: Extract (mirroring extract_step) - Filter out failed extractions and
-        // focus on target company with robust error handling
+        // Step 2: Extract (mirroring extract_step) - Scrape only the pages whose
+        // returned content is too short, filter out failed extractions and focus on
+        // target company with robust error handling
         List<String> extractedTexts = new ArrayList<>();
         try {
-            extractedTexts = links.stream()
-                    .map(url -> {
-                        try {
-                            return scrapingUtil.extractTextFromUrl(url);
-                        } catch (Exception e) {
-                            System.err.println("Failed to extract text from URL: " + url + " - " + e.getMessage());
-                            return null;
-                        }
-                    })
+            extractedTexts = resolvePageTexts(links, pageContents).stream()
                     .filter(text -> text != null && !text.trim().isEmpty()) // Filter out null/empty extractions
                     .map(text -> filterRelevantContent(text, companyName)) // Filter for relevant content
                     .filter(text -> !text.trim().isEmpty()) // Remove empty filtered results
@@ -282,6 +328,156 @@ public class RagService {
         return result;
     }
 
+    /**
+     * Returns one text per link, in link order: the content Tavily already
+     * returned when it is long enough, otherwise text scraped from the page.
+     * Only the short or missing ones are scraped, concurrently.
+     */
+    private List<String> resolvePageTexts(List<String> links, List<String> pageContents) {
+        List<String> texts = new ArrayList<>(links.size());
+        List<Integer> toScrape = new ArrayList<>();
+        for (int i = 0; i < links.size(); i++) {
+            String content = i < pageContents.size() ? pageContents.get(i) : null;
+            if (content != null && content.trim().length() >= rawContentMinChars) {
+                texts.add(content.trim());
+            } else {
+                texts.add(null);
+                toScrape.add(i);
+            }
+        }
+
+        if (!toScrape.isEmpty()) {
+            System.out.println("Scraping " + toScrape.size() + "/" + links.size()
+                    + " links without sufficient search content");
+            List<String> scrapeLinks = toScrape.stream().map(links::get).collect(Collectors.toList());
+            Map<String, String> scraped = extractTextsConcurrently(scrapeLinks);
+            for (int index : toScrape) {
+                texts.set(index, scraped.get(links.get(index)));
+            }
+        }
+        return texts;
+    }
+
+    /**
+     * Extracts text from all links concurrently on the scraping executor, honouring
+     * per-host concurrency limits and an overall deadline. Extractions still
+     * running at the deadline are cancelled and whatever finished in time is
+     * returned.
+     *
+     * @param links URLs to extract.
+     * @return Extracted text by URL, in link order (failed extractions are
+     *         absent).
+     */
+    private Map<String, String> extractTextsConcurrently(List<String> links) {
+        Map<String, String> texts = new LinkedHashMap<>();
+        if (links == null || links.isEmpty()) {
+            return texts;
+        }
+
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(extractionDeadlineMs);
+        List<Callable<String>> tasks = links.stream()
+                .map(url -> (Callable<String>) () -> extractWithHostLimit(url, deadlineNanos))
+                .collect(Collectors.toList());
+
+        List<Future<String>> futures;
+        try {
+            // invokeAll cancels (and interrupts) every task still running at the deadline
+            futures = scrapingExecutor.getThreadPoolExecutor()
+                    .invokeAll(tasks, extractionDeadlineMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("Concurrent extraction interrupted");
+            return texts;
+        } catch (RejectedExecutionException e) {
+            System.err.println("Scraping executor saturated, extracting on the calling thread");
+            return extractTextsSequentially(links, deadlineNanos);
+        }
+
+        int timedOut = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                String text = futures.get(i).get();
+                if (text != null) {
+                    texts.put(links.get(i), text);
+                }
+            } catch (CancellationException e) {
+                timedOut++;
+                System.err.println("Extraction deadline exceeded for URL: " + links.get(i));
+            } catch (Exception e) {
+                System.err.println("Failed to extract text from URL: " + links.get(i) + " - " + e.getMessage());
+            }
+        }
+
+        System.out.println("Concurrent extraction finished: " + texts.size() + "/" + links.size()
+                + " succeeded, " + timedOut + " timed out");
+        return texts;
+    }
+
+    /**
+     * Fallback when the scraping executor rejects the batch: the links are
+     * extracted one by one on the calling thread until the deadline passes.
+     */
+    private Map<String, String> extractTextsSequentially(List<String> links, long deadlineNanos) {
+        Map<String, String> texts = new LinkedHashMap<>();
+        for (String url : links) {
+            if (System.nanoTime() >= deadlineNanos) {
+                System.err.println("Extraction deadline exceeded for URL: " + url);
+                continue;
+            }
+            try {
+                String text = extractWithHostLimit(url, deadlineNanos);
+                if (text != null) {
+                    texts.put(url, text);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                System.err.println("Sequential extraction interrupted");
+                break;
+            }
+        }
+        System.out.println("Sequential extraction finished: " + texts.size() + "/" + links.size() + " succeeded");
+        return texts;
+    }
+
+    /**
+     * Runs a single extraction once a permit for the URL's host is available.
+     * Gives up without fetching if no permit frees up before the deadline.
+     */
+    private String extractWithHostLimit(String url, long deadlineNanos) throws InterruptedException {
+        String host = hostOf(url);
+        HostSlot slot = hostSlots.compute(host, (key, existing) -> {
+            HostSlot joined = existing != null ? existing : new HostSlot(Math.max(1, perHostMaxConcurrency));
+            joined.users++;
+            return joined;
+        });
+        try {
+            long waitNanos = deadlineNanos - System.nanoTime();
+            if (waitNanos <= 0 || !slot.permits.tryAcquire(waitNanos, TimeUnit.NANOSECONDS)) {
+                System.err.println("No host slot available before deadline for URL: " + url);
+                return null;
+            }
+            try {
+                return scrapingUtil.extractTextFromUrl(url);
+            } catch (Exception e) {
+                System.err.println("Failed to extract text from URL: " + url + " - " + e.getMessage());
+                return null;
+            } finally {
+                slot.permits.release();
+            }
+        } finally {
+            hostSlots.computeIfPresent(host, (key, existing) -> --existing.users == 0 ? null : existing);
+        }
+    }
+
+    private String hostOf(String url) {
+        try {
+            String host = URI.create(url.trim()).getHost();
+            return host != null ? host.toLowerCase() : url;
+        } catch (Exception e) {
+            return url;
+        }
+    }
+
     /**
      * Converts markdown formatting to HTML
      * 
@@ -1,7 +1,10 @@
 package com.insightflow.services;
 
 import com.insightflow.utils.AiUtil;
+import com.insightflow.utils.RateLimitingUtil;
 import com.insightflow.utils.TimeUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
@@ -19,12 +22,17 @@ import java.util.regex.Pattern;
 @Service
 public class SentimentFetcherService {
 
+    private static final Logger logger = LoggerFactory.getLogger(SentimentFetcherService.class);
+
     private final RestTemplate restTemplate;
     private final AiUtil aiUtil;
 
     @Autowired
     private TimeUtil timeUtil;
 
+    @Autowired
+    private RateLimitingUtil rateLimitingUtil;
+
     // API keys
     @Value("${newsapi.key}")
     private String newsApiKey;
@@ -80,6 +88,14 @@ public class SentimentFetcherService {
 
         try {
             if ("news".equals(source)) {
+                // NewsAPI quota is daily; skip rather than wait when it is used up
+                // (the limiter is absent when the service is built outside Spring)
+                if (rateLimitingUtil != null && !rateLimitingUtil.tryAcquire(RateLimitingUtil.NEWSAPI)) {
+                    logger.warn("Skipping news for '{}': daily NewsAPI quota used up, next request in {} ms",
+                            companyName, rateLimitingUtil.getTimeUntilNextRequest(RateLimitingUtil.NEWSAPI));
+                    return result;
+                }
+
                 String url = UriComponentsBuilder.fromHttpUrl("https://newsapi.org/v2/everything")
                         .queryParam("q", companyName)
                         .queryParam("apiKey", newsApiKey)
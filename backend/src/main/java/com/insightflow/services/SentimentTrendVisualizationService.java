@@ -1,7 +1,8 @@
 package com.insightflow.services;
 
+import com.insightflow.utils.IndexedPngEncoder;
+import com.insightflow.utils.TimeSeriesDownsampler;
 import org.jfree.chart.ChartFactory;
-import org.jfree.chart.ChartUtils;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.axis.DateAxis;
 import org.jfree.chart.plot.XYPlot;
@@ -17,18 +18,29 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.awt.*;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 @Service
 public class SentimentTrendVisualizationService {
     private static final Logger logger = LoggerFactory.getLogger(SentimentTrendVisualizationService.class);
+    private static final int CHART_WIDTH = 1000;
+    private static final int CHART_HEIGHT = 600;
+
+    /**
+     * Default number of points plotted per series: one per horizontal pixel,
+     * more could not be told apart
+     */
+    public static final int DEFAULT_RESOLUTION = CHART_WIDTH;
+
     private static final DateTimeFormatter[] DATE_FORMATTERS = {
             DateTimeFormatter.ISO_LOCAL_DATE_TIME,
             DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"),
@@ -38,6 +50,9 @@ public class SentimentTrendVisualizationService {
     @Autowired
     private SupabaseStorageService supabaseStorageService;
 
+    @Autowired
+    private LocalImageStorageService localImageStorageService;
+
     /**
      * Generate real time-series line chart and upload to Supabase.
      * 
@@ -45,6 +60,14 @@ public class SentimentTrendVisualizationService {
      * @return Supabase URL string or base64 fallback if Supabase fails
      */
     public String generateTrendGraph(Map<String, Object> response) {
+        return generateTrendGraph(response, DEFAULT_RESOLUTION);
+    }
+
+    /**
+     * Same as {@link #generateTrendGraph(Map)}, plotting at most resolution
+     * points
+     */
+    public String generateTrendGraph(Map<String, Object> response, int resolution) {
         @SuppressWarnings("unchecked")
         List<Map<String, Object>> timeSeries = (List<Map<String, Object>>) response.get("time_series");
 
@@ -54,42 +77,9 @@ public class SentimentTrendVisualizationService {
         }
 
         TimeSeriesCollection dataset = new TimeSeriesCollection();
-        TimeSeries series = new TimeSeries("Sentiment Score");
-
-        int processedPoints = 0;
-        for (Map<String, Object> point : timeSeries) {
-            try {
-                String dateStr = (String) point.get("date");
-                LocalDateTime dateTime = parseDateTime(dateStr);
-
-                if (dateTime == null) {
-                    logger.warn("Failed to parse date: {}", dateStr);
-                    continue;
-                }
-
-                Object scoreObj = point.get("sentiment_score");
-                double score;
-                if (scoreObj instanceof Number) {
-                    score = ((Number) scoreObj).doubleValue();
-                } else if (scoreObj instanceof String) {
-                    score = Double.parseDouble((String) scoreObj);
-                } else {
-                    logger.warn("Invalid score type: {}", scoreObj.getClass());
-                    continue;
-                }
-                
-                // FIX: Use Hour instead of Day for better granularity
-                // Round to 3-hour intervals:
-                int roundedHour = (dateTime.getHour() / 3) * 3; // Rounds to 0, 3, 6, 9, 12, 15, 18, 21
-                series.addOrUpdate(new Hour(roundedHour, dateTime.getDayOfMonth(), 
-                                  dateTime.getMonthValue(), dateTime.getYear()), score);
-                processedPoints++;
-            } catch (Exception e) {
-                logger.warn("Failed to process data point: {}", point, e);
-            }
-        }
+        TimeSeries series = buildSeries("Sentiment Score", timeSeries, resolution);
 
-        if (processedPoints == 0) {
+        if (series.getItemCount() == 0) {
             logger.error("No valid data points processed for chart");
             return null;
         }
@@ -98,34 +88,153 @@ public class SentimentTrendVisualizationService {
         JFreeChart chart = createStyledChart(dataset, (String) response.get("company_name"));
 
         try {
+            // Encoded once, for the upload and the base64 fallback alike
+            byte[] png = renderChartPng(chart);
+
             // Try to upload to Supabase first
             if (supabaseStorageService.isAvailable()) {
-                ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                ChartUtils.writeChartAsPNG(baos, chart, 1000, 600);
 
                 String companyName = (String) response.get("company_name");
                 String fileName = generateChartFileName(companyName, "trend");
 
-                String supabaseUrl = supabaseStorageService.uploadImageFromStream(baos, fileName, "image/png");
+                String supabaseUrl = supabaseStorageService.uploadImage(png, fileName, "image/png");
                 if (supabaseUrl != null) {
                     logger.info("Successfully uploaded trend chart to Supabase: {}", supabaseUrl);
                     return supabaseUrl;
                 } else {
-                    logger.warn("Failed to upload to Supabase, falling back to base64");
+                    logger.warn("Failed to upload to Supabase, falling back to local storage");
                 }
             } else {
-                logger.warn("Supabase not available, using base64 encoding");
+                logger.warn("Supabase not available, using local storage");
             }
 
-            // Fallback to base64 if Supabase fails or is unavailable
-            return convertChartToBase64(chart);
+            // Fallback to local storage (or base64) if Supabase fails or is unavailable
+            return storeFallback(png);
 
-        } catch (IOException e) {
+        } catch (RuntimeException e) {
             logger.error("Failed to generate chart image", e);
             return null;
         }
     }
 
+    /**
+     * Picks the points of a time series that keep the shape of its line, for
+     * clients that plot it themselves
+     * 
+     * @param timeSeries "time_series" points with "date" and "sentiment_score"
+     * @param resolution Maximum number of points to return
+     * @return The selected points in time order; points without a valid date
+     *         or score are dropped
+     */
+    public List<Map<String, Object>> downsample(List<Map<String, Object>> timeSeries, int resolution) {
+        List<ParsedPoint> points = parsePoints(timeSeries, "time series");
+        int[] keep = TimeSeriesDownsampler.lttb(xValues(points), yValues(points), clampResolution(resolution));
+        List<Map<String, Object>> result = new ArrayList<>(keep.length);
+        for (int index : keep) {
+            result.add(points.get(index).source);
+        }
+        return result;
+    }
+
+    private static class ParsedPoint {
+        final LocalDateTime dateTime;
+        final double score;
+        final Map<String, Object> source;
+
+        ParsedPoint(LocalDateTime dateTime, double score, Map<String, Object> source) {
+            this.dateTime = dateTime;
+            this.score = score;
+            this.source = source;
+        }
+    }
+
+    /**
+     * Chart series of the points in 3-hour periods, downsampled so the
+     * dataset never holds more points than the chart can show
+     */
+    private TimeSeries buildSeries(String name, List<Map<String, Object>> timeSeries, int resolution) {
+        // Later points in a period replace earlier ones
+        TreeMap<Hour, Double> periods = new TreeMap<>();
+        for (ParsedPoint point : parsePoints(timeSeries, name)) {
+            LocalDateTime dateTime = point.dateTime;
+            int roundedHour = (dateTime.getHour() / 3) * 3; // Rounds to 0, 3, 6, 9, 12, 15, 18, 21
+            periods.put(new Hour(roundedHour, dateTime.getDayOfMonth(), dateTime.getMonthValue(),
+                    dateTime.getYear()), point.score);
+        }
+
+        List<Hour> hours = new ArrayList<>(periods.keySet());
+        double[] x = new double[hours.size()];
+        double[] y = new double[hours.size()];
+        for (int i = 0; i < hours.size(); i++) {
+            x[i] = hours.get(i).getFirstMillisecond();
+            y[i] = periods.get(hours.get(i));
+        }
+
+        TimeSeries series = new TimeSeries(name);
+        int[] keep = TimeSeriesDownsampler.lttb(x, y, clampResolution(resolution));
+        for (int index : keep) {
+            series.add(hours.get(index), y[index], false);
+        }
+        if (keep.length < hours.size()) {
+            logger.debug("Downsampled {} from {} to {} points", name, hours.size(), keep.length);
+        }
+        return series;
+    }
+
+    /**
+     * Valid points sorted by time
+     */
+    private List<ParsedPoint> parsePoints(List<Map<String, Object>> timeSeries, String name) {
+        List<ParsedPoint> points = new ArrayList<>(timeSeries.size());
+        for (Map<String, Object> point : timeSeries) {
+            try {
+                String dateStr = (String) point.get("date");
+                LocalDateTime dateTime = parseDateTime(dateStr);
+
+                if (dateTime == null) {
+                    logger.warn("Failed to parse date: {}", dateStr);
+                    continue;
+                }
+
+                Object scoreObj = point.get("sentiment_score");
+                double score;
+                if (scoreObj instanceof Number) {
+                    score = ((Number) scoreObj).doubleValue();
+                } else if (scoreObj instanceof String) {
+                    score = Double.parseDouble((String) scoreObj);
+                } else {
+                    logger.warn("Invalid score type: {}", scoreObj == null ? null : scoreObj.getClass());
+                    continue;
+                }
+                points.add(new ParsedPoint(dateTime, score, point));
+            } catch (Exception e) {
+                logger.warn("Failed to process data point for {}: {}", name, point, e);
+            }
+        }
+        points.sort(Comparator.comparing(point -> point.dateTime));
+        return points;
+    }
+
+    private static double[] xValues(List<ParsedPoint> points) {
+        double[] x = new double[points.size()];
+        for (int i = 0; i < x.length; i++) {
+            x[i] = points.get(i).dateTime.toEpochSecond(ZoneOffset.UTC);
+        }
+        return x;
+    }
+
+    private static double[] yValues(List<ParsedPoint> points) {
+        double[] y = new double[points.size()];
+        for (int i = 0; i < y.length; i++) {
+            y[i] = points.get(i).score;
+        }
+        return y;
+    }
+
+    private static int clampResolution(int resolution) {
+        return Math.max(TimeSeriesDownsampler.MIN_THRESHOLD, resolution);
+    }
+
     /**
      * Parse datetime from string using multiple formats
      */
@@ -187,18 +296,37 @@ public class SentimentTrendVisualizationService {
     }
 
     /**
-     * Convert chart to base64 PNG
+     * Local image store URL, or base64 if that is disabled or fails
      */
-    private String convertChartToBase64(JFreeChart chart) throws IOException {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        ChartUtils.writeChartAsPNG(baos, chart, 1000, 600); // Higher resolution
-        return Base64.getEncoder().encodeToString(baos.toByteArray());
+    private String storeFallback(byte[] png) {
+        if (localImageStorageService.isEnabled()) {
+            String url = localImageStorageService.store(png, "image/png");
+            if (url != null) {
+                return url;
+            }
+        }
+        return Base64.getEncoder().encodeToString(png);
+    }
+
+    /**
+     * Render chart as an indexed PNG
+     */
+    private byte[] renderChartPng(JFreeChart chart) {
+        return IndexedPngEncoder.encode(chart.createBufferedImage(CHART_WIDTH, CHART_HEIGHT));
     }
 
     /**
      * Generate comparison chart for multiple companies
      */
     public String generateComparisonChart(Map<String, Map<String, Object>> companiesData) {
+        return generateComparisonChart(companiesData, DEFAULT_RESOLUTION);
+    }
+
+    /**
+     * Same as {@link #generateComparisonChart(Map)}, plotting at most resolution
+     * points per company
+     */
+    public String generateComparisonChart(Map<String, Map<String, Object>> companiesData, int resolution) {
         TimeSeriesCollection dataset = new TimeSeriesCollection();
 
         Color[] colors = { Color.BLUE, Color.RED, Color.GREEN, Color.ORANGE, Color.MAGENTA };
@@ -214,36 +342,7 @@ public class SentimentTrendVisualizationService {
                 continue;
             }
 
-            TimeSeries series = new TimeSeries(company);
-            for (Map<String, Object> point : timeSeries) {
-                try {
-                    String dateStr = (String) point.get("date");
-                    LocalDateTime dateTime = parseDateTime(dateStr);
-
-                    if (dateTime == null)
-                        continue;
-
-                    Object scoreObj = point.get("sentiment_score");
-                    double score;
-                    if (scoreObj instanceof Number) {
-                        score = ((Number) scoreObj).doubleValue();
-                    } else if (scoreObj instanceof String) {
-                        score = Double.parseDouble((String) scoreObj);
-                    } else {
-                        continue;
-                    }
-                    
-                    // Use Hour for better granularity:
-                    // Round to 3-hour intervals:
-                    int roundedHour = (dateTime.getHour() / 3) * 3;
-                    series.addOrUpdate(new Hour(roundedHour, dateTime.getDayOfMonth(), dateTime.getMonthValue(), dateTime.getYear()), score);
-                    // Or use Minute for maximum precision:
-                    // series.addOrUpdate(new Minute(dateTime.getMinute(), dateTime.getHour(), dateTime.getDayOfMonth(), dateTime.getMonthValue(), dateTime.getYear()), score);
-                } catch (Exception e) {
-                    logger.warn("Failed to process data point for {}: {}", company, point, e);
-                }
-            }
-
+            TimeSeries series = buildSeries(company, timeSeries, resolution);
             if (series.getItemCount() > 0) {
                 dataset.addSeries(series);
             }
@@ -277,29 +376,30 @@ public class SentimentTrendVisualizationService {
         plot.setRenderer(renderer);
 
         try {
+            // Encoded once, for the upload and the base64 fallback alike
+            byte[] png = renderChartPng(chart);
+
             // Try to upload to Supabase first
             if (supabaseStorageService.isAvailable()) {
-                ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                ChartUtils.writeChartAsPNG(baos, chart, 1000, 600);
 
                 String companiesStr = String.join("-", companiesData.keySet());
                 String fileName = generateChartFileName(companiesStr, "comparison");
 
-                String supabaseUrl = supabaseStorageService.uploadImageFromStream(baos, fileName, "image/png");
+                String supabaseUrl = supabaseStorageService.uploadImage(png, fileName, "image/png");
                 if (supabaseUrl != null) {
                     logger.info("Successfully uploaded comparison chart to Supabase: {}", supabaseUrl);
                     return supabaseUrl;
                 } else {
-                    logger.warn("Failed to upload comparison chart to Supabase, falling back to base64");
+                    logger.warn("Failed to upload comparison chart to Supabase, falling back to local storage");
                 }
             } else {
-                logger.warn("Supabase not available, using base64 encoding for comparison chart");
+                logger.warn("Supabase not available, using local storage for comparison chart");
             }
 
-            // Fallback to base64
-            return convertChartToBase64(chart);
+            // Fallback to local storage (or base64)
+            return storeFallback(png);
 
-        } catch (IOException e) {
+        } catch (RuntimeException e) {
             logger.error("Failed to generate comparison chart", e);
             return null;
         }
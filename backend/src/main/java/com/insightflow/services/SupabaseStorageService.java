@@ -2,17 +2,16 @@ package com.insightflow.services;
 
 import com.insightflow.config.SupabaseConfig;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.BodyInserters;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 import java.io.ByteArrayOutputStream;
-import java.time.Duration;
-import java.util.UUID;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 public class SupabaseStorageService {
@@ -20,85 +19,133 @@ public class SupabaseStorageService {
     @Autowired
     private SupabaseConfig supabaseConfig;
 
+    @Autowired
+    private SupabaseUploadService supabaseUploadService;
+
+    // Upper bound for the blocking uploadImage, covering queueing and retries
+    @Value("${supabase.upload.max-wait-ms:120000}")
+    private long maxUploadWaitMs = 120000;
+
+    // Fallback when Supabase is not configured or an upload fails
+    @Autowired
+    private LocalImageStorageService localImageStorageService;
+
     /**
      * Upload image to Supabase Storage and return public URL
      * 
      * @param imageData   Image data as byte array
      * @param fileName    File name for the image
      * @param contentType Content type (e.g., "image/png")
-     * @return Public URL of the uploaded image
+     * @return Public URL of the uploaded image, or null if the upload failed
+     *         or did not finish within {@code supabase.upload.max-wait-ms}
      */
     public String uploadImage(byte[] imageData, String fileName, String contentType) {
         try {
-            // Generate unique filename to avoid conflicts
-            String uniqueFileName = generateUniqueFileName(fileName);
-            String objectPath = "visualizations/" + uniqueFileName;
-
-            // Build the upload URL
-            String uploadUrl = supabaseConfig.getStorageApiUrl() + "/object/" + supabaseConfig.getStorageBucket() + "/"
-                    + objectPath;
-
-            // Create WebClient and upload the image
-            WebClient webClient = WebClient.builder()
-                    .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + supabaseConfig.getSupabaseServiceRoleKey())
-                    .build();
-
-            // Upload the image using WebClient
-            Mono<String> responseMono = webClient.post()
-                    .uri(uploadUrl)
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .body(BodyInserters.fromResource(new ByteArrayResource(imageData)))
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .timeout(Duration.ofSeconds(60));
-
-            // Block and get the response (since we need synchronous behavior)
-            responseMono.block();
-
-            // If we get here without exception, the upload was successful
-            String publicUrl = supabaseConfig.getSupabaseUrl() + "/storage/v1/object/public/" +
-                    supabaseConfig.getStorageBucket() + "/" + objectPath;
-
-            System.out.println("Successfully uploaded image to Supabase: " + publicUrl);
-            return publicUrl;
-
-        } catch (Exception e) {
-            System.err.println("Error uploading image to Supabase Storage: " + e.getMessage());
-            e.printStackTrace();
+            return supabaseUploadService.upload(imageData, fileName, contentType)
+                    .get(maxUploadWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            System.err.println("Upload of " + fileName + " to Supabase did not finish within "
+                    + maxUploadWaitMs + " ms");
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            System.err.println("Upload of " + fileName + " to Supabase failed: " + e.getCause().getMessage());
             return null;
         }
     }
 
     /**
-     * Upload image from ByteArrayOutputStream to Supabase Storage
+     * Upload image to Supabase Storage without blocking the caller
      * 
-     * @param outputStream ByteArrayOutputStream containing image data
-     * @param fileName     File name for the image
-     * @param contentType  Content type (e.g., "image/png")
-     * @return Public URL of the uploaded image
+     * @param imageData   Image data as byte array
+     * @param fileName    File name for the image
+     * @param contentType Content type (e.g., "image/png")
+     * @return Mono with the public URL, empty if the upload failed
      */
-    public String uploadImageFromStream(ByteArrayOutputStream outputStream, String fileName, String contentType) {
-        return uploadImage(outputStream.toByteArray(), fileName, contentType);
+    public Mono<String> uploadImageAsync(byte[] imageData, String fileName, String contentType) {
+        return Mono.fromFuture(() -> supabaseUploadService.upload(imageData, fileName, contentType));
     }
 
     /**
-     * Generate a unique filename to avoid conflicts
+     * Stores a rendered PNG: uploaded to Supabase when it is configured,
+     * otherwise (or if the upload fails) written to the local image store, or
+     * returned inline as a data URI if that is disabled
      * 
-     * @param originalFileName Original filename
-     * @return Unique filename with timestamp and UUID
+     * @param png      PNG bytes
+     * @param fileName File name for the image
+     * @param label    Human-readable name for logging
+     * @return Public URL or data URI
+     */
+    public String storeImage(byte[] png, String fileName, String label) {
+        return storeImageAsync(png, fileName, label).join();
+    }
+
+    /**
+     * Non-blocking variant of {@link #storeImage}
+     */
+    public CompletableFuture<String> storeImageAsync(byte[] png, String fileName, String label) {
+        return storeImageAsync(png, fileName, label, "image/png");
+    }
+
+    /**
+     * Same as {@link #storeImageAsync(byte[], String, String)} for images that
+     * are not PNG, e.g. "image/svg+xml"
      */
-    private String generateUniqueFileName(String originalFileName) {
-        String timestamp = String.valueOf(System.currentTimeMillis());
-        String uuid = UUID.randomUUID().toString().substring(0, 8);
-
-        // Extract file extension
-        String extension = "";
-        int lastDot = originalFileName.lastIndexOf('.');
-        if (lastDot > 0) {
-            extension = originalFileName.substring(lastDot);
+    public CompletableFuture<String> storeImageAsync(byte[] image, String fileName, String label,
+            String contentType) {
+        if (!isAvailable()) {
+            return CompletableFuture.completedFuture(storeFallback(image, contentType));
         }
+        // Callers persist the result, so it waits for the Supabase URL; the local
+        // store only stands in when the upload fails
+        return supabaseUploadService.upload(image, fileName, contentType)
+                .thenApply(url -> {
+                    if (url == null) {
+                        return storeFallback(image, contentType);
+                    }
+                    System.out.println("Uploaded to Supabase: " + label);
+                    return url;
+                });
+    }
+
+    /**
+     * @return Whether the URL is a local stand-in for an image that belongs in
+     *         Supabase (its upload failed), so a later render should try the
+     *         upload again rather than reuse it
+     */
+    public boolean isProvisionalUrl(String url) {
+        return isAvailable() && localImageStorageService.isLocalUrl(url);
+    }
+
+    /**
+     * Local image store URL, or an inline data URI if that is disabled or fails
+     */
+    private String storeFallback(byte[] image, String contentType) {
+        if (localImageStorageService.isEnabled()) {
+            String url = localImageStorageService.store(image, contentType);
+            if (url != null) {
+                return url;
+            }
+        }
+        return toDataUri(image, contentType);
+    }
 
-        return timestamp + "_" + uuid + "_" + originalFileName.replace(extension, "") + extension;
+    private String toDataUri(byte[] image, String contentType) {
+        return "data:" + contentType + ";base64," + Base64.getEncoder().encodeToString(image);
+    }
+
+    /**
+     * Upload image from ByteArrayOutputStream to Supabase Storage
+     * 
+     * @param outputStream ByteArrayOutputStream containing image data
+     * @param fileName     File name for the image
+     * @param contentType  Content type (e.g., "image/png")
+     * @return Public URL of the uploaded image
+     */
+    public String uploadImageFromStream(ByteArrayOutputStream outputStream, String fileName, String contentType) {
+        return uploadImage(outputStream.toByteArray(), fileName, contentType);
     }
 
     /**
@@ -0,0 +1,243 @@
+package com.insightflow.services;
+
+import com.insightflow.config.SupabaseConfig;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Uploads objects to Supabase Storage in the background. Objects are named by
+ * the SHA-256 of their bytes, so an image that is already stored (or being
+ * uploaded) is not sent again; uploads are queued and at most
+ * {@code supabase.upload.max-in-flight} run at once over the shared storage
+ * client, and transient failures are retried with exponential backoff.
+ */
+@Service
+public class SupabaseUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SupabaseUploadService.class);
+
+    private static final String OBJECT_FOLDER = "visualizations";
+    private static final int KNOWN_OBJECTS = 4096;
+
+    @Autowired
+    private SupabaseConfig supabaseConfig;
+
+    @Autowired
+    @Qualifier("supabaseStorageWebClient")
+    private WebClient storageWebClient;
+
+    @Value("${supabase.upload.max-in-flight:4}")
+    private int maxInFlight;
+
+    @Value("${supabase.upload.retries:3}")
+    private int retries;
+
+    @Value("${supabase.upload.backoff-ms:500}")
+    private long backoffMs;
+
+    @Value("${supabase.upload.timeout-ms:60000}")
+    private long timeoutMs;
+
+    private final Sinks.Many<PendingUpload> queue = Sinks.many().unicast().onBackpressureBuffer();
+    // Uploads of the same object requested while one is running share its result
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+    // Objects known to be stored, so repeat uploads complete without a request
+    private final Map<String, String> uploaded = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > KNOWN_OBJECTS;
+        }
+    };
+    private Disposable worker;
+
+    private static class PendingUpload {
+        final String objectPath;
+        final byte[] data;
+        final String contentType;
+        final CompletableFuture<String> result = new CompletableFuture<>();
+
+        PendingUpload(String objectPath, byte[] data, String contentType) {
+            this.objectPath = objectPath;
+            this.data = data;
+            this.contentType = contentType;
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        // Every upload completes its future whatever happens, and no error may
+        // reach the worker: a terminated worker would leave all later uploads hanging
+        worker = queue.asFlux()
+                .flatMap(upload -> send(upload).doOnNext(upload.result::complete)
+                        .switchIfEmpty(Mono.fromRunnable(() -> upload.result.complete(null)))
+                        .onErrorResume(e -> {
+                            logger.warn("Upload of {} failed: {}", upload.objectPath, e.getMessage());
+                            upload.result.complete(null);
+                            return Mono.empty();
+                        }),
+                        Math.max(1, maxInFlight))
+                .subscribe(url -> {
+                }, e -> logger.error("Supabase upload worker stopped: {}", e.getMessage()));
+    }
+
+    @PreDestroy
+    void stop() {
+        queue.tryEmitComplete();
+        if (worker != null) {
+            worker.dispose();
+        }
+    }
+
+    /**
+     * Queues an upload unless the same bytes are already stored or on their way
+     *
+     * @param fileName    Original file name, only its extension is kept
+     * @param contentType Content type (e.g., "image/png")
+     * @return Future with the public URL, or null if the upload failed
+     */
+    public CompletableFuture<String> upload(byte[] data, String fileName, String contentType) {
+        String objectPath = objectPathOf(data, fileName);
+        String publicUrl;
+        synchronized (uploaded) {
+            publicUrl = uploaded.get(objectPath);
+        }
+        if (publicUrl != null) {
+            return CompletableFuture.completedFuture(publicUrl);
+        }
+
+        CompletableFuture<String> created = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(objectPath, created);
+        if (existing != null) {
+            return existing;
+        }
+
+        PendingUpload upload = new PendingUpload(objectPath, data, contentType);
+        upload.result.whenComplete((url, e) -> {
+            if (url != null) {
+                synchronized (uploaded) {
+                    uploaded.put(objectPath, url);
+                }
+            }
+            inFlight.remove(objectPath);
+            created.complete(url);
+        });
+
+        Sinks.EmitResult emitted;
+        // The unicast sink accepts one producer at a time
+        synchronized (queue) {
+            emitted = queue.tryEmitNext(upload);
+        }
+        if (emitted.isFailure()) {
+            logger.warn("Could not queue upload of {}: {}", objectPath, emitted);
+            upload.result.complete(null);
+        }
+        return created;
+    }
+
+    /**
+     * @return Number of uploads queued or running
+     */
+    public int getPendingUploads() {
+        return inFlight.size();
+    }
+
+    private Mono<String> send(PendingUpload upload) {
+        String bucket = supabaseConfig.getStorageBucket();
+        String publicUrl = supabaseConfig.getSupabaseUrl() + "/storage/v1/object/public/" + bucket + "/"
+                + upload.objectPath;
+
+        // Built lazily so an invalid content type or URI fails this upload only
+        return Mono.defer(() -> storageWebClient.post()
+                .uri("/object/" + bucket + "/" + upload.objectPath)
+                .contentType(MediaType.parseMediaType(upload.contentType))
+                .body(BodyInserters.fromResource(new ByteArrayResource(upload.data)))
+                .retrieve()
+                .bodyToMono(String.class))
+                .timeout(Duration.ofMillis(timeoutMs))
+                .thenReturn(publicUrl)
+                // The name is the content hash, so an existing object holds the same bytes
+                .onErrorResume(SupabaseUploadService::isDuplicate, e -> {
+                    logger.debug("{} is already stored", upload.objectPath);
+                    return Mono.just(publicUrl);
+                })
+                .retryWhen(Retry.backoff(retries, Duration.ofMillis(backoffMs))
+                        .filter(SupabaseUploadService::isTransient)
+                        .doBeforeRetry(signal -> logger.info("Retrying upload of {} after: {}", upload.objectPath,
+                                signal.failure().getMessage())))
+                .doOnNext(url -> logger.info("Uploaded {} to Supabase ({} bytes)", upload.objectPath,
+                        upload.data.length))
+                .onErrorResume(e -> {
+                    Throwable cause = Exceptions.isRetryExhausted(e) && e.getCause() != null ? e.getCause() : e;
+                    logger.warn("Error uploading {} to Supabase Storage: {}", upload.objectPath, cause.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private static boolean isDuplicate(Throwable e) {
+        if (!(e instanceof WebClientResponseException response)) {
+            return false;
+        }
+        // Storage reports an existing object as 409, or as 400 with a "Duplicate" error body
+        return response.getStatusCode().value() == HttpStatus.CONFLICT.value()
+                || (response.getStatusCode().value() == HttpStatus.BAD_REQUEST.value()
+                        && response.getResponseBodyAsString().contains("Duplicate"));
+    }
+
+    private static boolean isTransient(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError()
+                    || response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return e instanceof WebClientRequestException || e instanceof TimeoutException;
+    }
+
+    private static String objectPathOf(byte[] data, String fileName) {
+        String extension = "";
+        if (fileName != null) {
+            int lastDot = fileName.lastIndexOf('.');
+            if (lastDot > 0) {
+                extension = fileName.substring(lastDot).toLowerCase();
+            }
+        }
+        if (!extension.matches("\\.[a-z0-9]{1,8}")) {
+            extension = "";
+        }
+        return OBJECT_FOLDER + "/" + sha256(data) + extension;
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
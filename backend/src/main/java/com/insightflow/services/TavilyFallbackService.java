@@ -3,18 +3,21 @@ package com.insightflow.services;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.insightflow.utils.AiUtil;
+import com.insightflow.utils.HttpPageCache;
 import com.insightflow.utils.LinkedInSlugUtil;
+import com.insightflow.utils.RateLimitingUtil;
 import com.insightflow.utils.IndustryContextUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
 
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.util.*;
 import java.util.regex.Pattern;
@@ -36,13 +39,19 @@ public class TavilyFallbackService {
     @Autowired
     private IndustryContextUtil industryContextUtil;
 
-    private final HttpClient httpClient;
+    @Autowired
+    private HttpPageCache httpPageCache;
+
+    @Autowired
+    private RateLimitingUtil rateLimitingUtil;
+
+    @Autowired
+    @Qualifier("tavilyWebClient")
+    private WebClient tavilyWebClient;
+
     private final ObjectMapper objectMapper;
 
     public TavilyFallbackService() {
-        this.httpClient = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(30))
-                .build();
         this.objectMapper = new ObjectMapper();
     }
 
@@ -74,18 +83,12 @@ public class TavilyFallbackService {
                 logger.info("Generated LinkedIn slug using comprehensive discovery: '{}'", actualSlug);
             }
 
-            // Step 2: Crawl LinkedIn company page using Tavily
-            String linkedinUrl = "https://www.linkedin.com/company/" + actualSlug + "/";
-            logger.info("Crawling LinkedIn URL: {}", linkedinUrl);
-
-            String crawlResponse = crawlLinkedInPage(linkedinUrl);
-            if (crawlResponse == null || crawlResponse.isEmpty()) {
+            // Steps 2-3: Crawl the LinkedIn company page and extract its content
+            String processedContent = crawlLinkedInContent(companyName, actualSlug);
+            if (processedContent == null) {
                 logger.warn("No content retrieved from Tavily crawl, generating minimal analysis");
                 return generateMinimalAnalysis(companyName);
             }
-
-            // Step 3: Extract and process content
-            String processedContent = extractAndProcessContent(crawlResponse, companyName);
             if (processedContent.length() < 100) {
                 logger.warn("Insufficient content extracted, generating minimal analysis");
                 return generateMinimalAnalysis(companyName);
@@ -118,10 +121,56 @@ public class TavilyFallbackService {
         return getLinkedInAnalysisFallback(companyName, null);
     }
 
+    /**
+     * LinkedIn analysis from the Tavily crawl only when the crawl yields enough
+     * content to stand on its own. Unlike {@link #getLinkedInAnalysisFallback},
+     * this never degrades to a minimal analysis, so callers can escalate to a
+     * browser session instead.
+     * 
+     * @param companyName     The name of the company
+     * @param linkedinSlug    Resolved LinkedIn slug
+     * @param minContentChars Minimum length of the extracted content
+     * @return Analysis HTML, or null when the crawl content is insufficient
+     */
+    public String tryLinkedInAnalysis(String companyName, String linkedinSlug, int minContentChars) {
+        String processedContent = crawlLinkedInContent(companyName, linkedinSlug);
+        int length = processedContent != null ? processedContent.length() : 0;
+        if (length < minContentChars) {
+            logger.info("Tavily crawl content for '{}' is insufficient ({} < {} chars)", companyName, length,
+                    minContentChars);
+            return null;
+        }
+        String analysis = generateAIAnalysis(companyName, processedContent);
+        return "<strong>LinkedIn Analysis of " + companyName + "</strong><br><br>" + analysis;
+    }
+
+    /**
+     * Crawls the LinkedIn company page and returns its cleaned content, or null
+     * when the crawl returned nothing
+     */
+    private String crawlLinkedInContent(String companyName, String linkedinSlug) {
+        String linkedinUrl = "https://www.linkedin.com/company/" + linkedinSlug + "/";
+        logger.info("Crawling LinkedIn URL: {}", linkedinUrl);
+
+        String crawlResponse = crawlLinkedInPage(linkedinUrl);
+        if (crawlResponse == null || crawlResponse.isEmpty()) {
+            return null;
+        }
+        return extractAndProcessContent(crawlResponse, companyName);
+    }
+
     /**
      * Crawl LinkedIn company page using Tavily API
      */
     private String crawlLinkedInPage(String linkedinUrl) {
+        // Crawl responses come from a POST, so they are cached by max-age only
+        String cacheKey = "tavily-crawl:" + linkedinUrl;
+        String cached = httpPageCache.lookupFresh(cacheKey, "crawl");
+        if (cached != null) {
+            logger.info("Using cached Tavily crawl response for {}", linkedinUrl);
+            return cached;
+        }
+
         try {
             Map<String, Object> requestBody = new HashMap<>();
             requestBody.put("url", linkedinUrl);
@@ -136,21 +185,27 @@ public class TavilyFallbackService {
 
             String jsonPayload = objectMapper.writeValueAsString(requestBody);
 
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create("https://api.tavily.com/crawl"))
-                    .header("Content-Type", "application/json")
+            ResponseEntity<String> response = rateLimitingUtil.acquireReactive(RateLimitingUtil.TAVILY)
+                    .then(tavilyWebClient.post()
+                    .uri("/crawl")
+                    .contentType(MediaType.APPLICATION_JSON)
                     .header("Authorization", "Bearer " + tavilyApiKey)
-                    .timeout(Duration.ofSeconds(60))
-                    .POST(HttpRequest.BodyPublishers.ofString(jsonPayload))
-                    .build();
-
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            logger.info("Tavily crawl API response status: {}", response.statusCode());
-
-            if (response.statusCode() == 200) {
-                return response.body();
+                    .bodyValue(jsonPayload)
+                    .retrieve()
+                    // Error statuses are logged below rather than thrown
+                    .onStatus(status -> true, clientResponse -> Mono.empty())
+                    .toEntity(String.class))
+                    .block(Duration.ofSeconds(90));
+
+            int statusCode = response != null ? response.getStatusCode().value() : -1;
+            String body = response != null ? response.getBody() : null;
+            logger.info("Tavily crawl API response status: {}", statusCode);
+
+            if (statusCode == 200) {
+                httpPageCache.store(cacheKey, "crawl", body);
+                return body;
             } else {
-                logger.error("Tavily crawl API error: {} - {}", response.statusCode(), response.body());
+                logger.error("Tavily crawl API error: {} - {}", statusCode, body);
                 return null;
             }
 
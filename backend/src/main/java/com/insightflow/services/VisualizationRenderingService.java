@@ -0,0 +1,95 @@
+package com.insightflow.services;
+
+import com.insightflow.services.VisualizationService.ImageFormat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Produces all images for an analysis or comparison at once. Each image is
+ * rendered on the CPU-bound render pool and uploaded asynchronously, so the
+ * total time is close to that of the slowest single image rather than the sum.
+ */
+@Service
+public class VisualizationRenderingService {
+
+    @Autowired
+    private VisualizationService visualizationService;
+
+    @Autowired
+    private ComparisonVisualizationService comparisonVisualizationService;
+
+    @Value("${visualization.render.timeout-seconds:120}")
+    private long timeoutSeconds;
+
+    /**
+     * Renders and stores the five framework images in parallel
+     * 
+     * @return Image URL (or data URI) by response key: swot_image, pestel_image,
+     *         porter_image, bcg_image, mckinsey_image
+     */
+    public Map<String, String> renderFrameworkImages(Map<String, List<String>> swot,
+            Map<String, List<String>> pestel, Map<String, List<String>> porter,
+            Map<String, Map<String, Double>> bcg, Map<String, String> mckinsey) {
+        return renderFrameworkImages(swot, pestel, porter, bcg, mckinsey, ImageFormat.PNG);
+    }
+
+    /**
+     * Same as above, in the requested output format
+     */
+    public Map<String, String> renderFrameworkImages(Map<String, List<String>> swot,
+            Map<String, List<String>> pestel, Map<String, List<String>> porter,
+            Map<String, Map<String, Double>> bcg, Map<String, String> mckinsey, ImageFormat format) {
+        Map<String, CompletableFuture<String>> images = new LinkedHashMap<>();
+        images.put("swot_image", visualizationService.generateSwotImageAsync(swot, format));
+        images.put("pestel_image", visualizationService.generatePestelImageAsync(pestel, format));
+        images.put("porter_image", visualizationService.generatePorterImageAsync(porter, format));
+        images.put("bcg_image", visualizationService.generateBcgImageAsync(bcg, format));
+        images.put("mckinsey_image", visualizationService.generateMckinseyImageAsync(mckinsey, format));
+        return awaitAll(images);
+    }
+
+    /**
+     * Renders and stores the three comparison charts in parallel
+     * 
+     * @return Chart URL (or data URI) by response key: radar_chart, bar_graph,
+     *         scatter_plot
+     */
+    public Map<String, String> renderComparisonCharts(Map<String, Object> comparisonData) {
+        Map<String, CompletableFuture<String>> charts = new LinkedHashMap<>();
+        charts.put("radar_chart", comparisonVisualizationService.generateRadarChartAsync(comparisonData));
+        charts.put("bar_graph", comparisonVisualizationService.generateBarGraphAsync(comparisonData));
+        charts.put("scatter_plot", comparisonVisualizationService.generateScatterPlotAsync(comparisonData));
+        return awaitAll(charts);
+    }
+
+    private Map<String, String> awaitAll(Map<String, CompletableFuture<String>> futures) {
+        try {
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]))
+                    .get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while generating visualizations", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause
+                    : new RuntimeException("Failed to generate visualizations", cause);
+        } catch (TimeoutException e) {
+            // Only this request's own futures: renders shared with other requests keep running
+            futures.values().forEach(future -> future.cancel(true));
+            throw new RuntimeException("Generating visualizations timed out after " + timeoutSeconds + "s", e);
+        }
+
+        Map<String, String> results = new LinkedHashMap<>();
+        futures.forEach((key, future) -> results.put(key, future.join()));
+        return results;
+    }
+}
@@ -5,13 +5,23 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import io.github.bonigarcia.wdm.WebDriverManager;
 
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.Set;
+import java.util.WeakHashMap;
 
 /**
  * Utility class for Chrome WebDriver management and anti-detection measures.
@@ -25,6 +35,39 @@ public class ChromeDriverUtil {
 
     private final Random random = new Random();
 
+    /**
+     * URL patterns blocked for each resource type. Extensionless LinkedIn image
+     * and video URLs are matched by their CDN paths. ".ico" is anchored to the
+     * end of the URL or its query so it does not catch ".icons"/".iconfont"
+     * scripts and stylesheets.
+     */
+    private static final Map<String, List<String>> RESOURCE_TYPE_PATTERNS = Map.of(
+            "image", List.of("*.png*", "*.jpg*", "*.jpeg*", "*.gif*", "*.webp*", "*.svg*", "*.ico", "*.ico?*",
+                    "*media.licdn.com/dms/image/*"),
+            "media", List.of("*.mp4*", "*.webm*", "*.m3u8*", "*.mp3*", "*dms.licdn.com/playlist/*"),
+            "font", List.of("*.woff*", "*.ttf*", "*.otf*", "*.eot*"));
+
+    // Block resources the scrapers never read (images, video, fonts, trackers)
+    @Value("${chrome.blocking.enabled:true}")
+    private boolean resourceBlockingEnabled = true;
+
+    @Value("${chrome.blocking.resource-types:image,media,font}")
+    private List<String> blockedResourceTypes = List.of("image", "media", "font");
+
+    @Value("${chrome.blocking.hosts:doubleclick.net,google-analytics.com,googletagmanager.com,"
+            + "px.ads.linkedin.com,snap.licdn.com,bat.bing.com,connect.facebook.net,platform.linkedin.com}")
+    private List<String> blockedHosts = List.of("doubleclick.net", "google-analytics.com",
+            "googletagmanager.com", "px.ads.linkedin.com", "snap.licdn.com", "bat.bing.com",
+            "connect.facebook.net", "platform.linkedin.com");
+
+    // Never blocked: any block pattern mentioning one of these is dropped
+    @Value("${chrome.blocking.allow:}")
+    private List<String> allowedPatterns = Collections.emptyList();
+
+    // Drivers on which the DevTools block list was actually installed
+    private final Set<WebDriver> blockedDrivers = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+
     private final String[] userAgents = {
             "Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:119.0) Gecko/20100101 Firefox/119.0",
             "Mozilla/5.0 (Macintosh; Intel Mac OS X 10.15; rv:119.0) Gecko/20100101 Firefox/119.0",
@@ -64,10 +107,19 @@ public class ChromeDriverUtil {
      * @return Configured WebDriver instance ready for use
      */
     public WebDriver createWebDriver() {
-        logger.info("Creating Chrome WebDriver with anti-detection measures");
+        return createWebDriver(newUserDataDir());
+    }
 
-        // Clean up any orphaned processes first
-        cleanupChromeProcesses();
+    /**
+     * Creates a Chrome WebDriver that keeps its profile in the given directory.
+     * Orphaned processes are no longer killed here: other browsers may be live
+     * in the {@link WebDriverPool}, which cleans up orphans once at startup.
+     * 
+     * @param userDataDir Chrome profile directory for this instance
+     * @return Configured WebDriver instance ready for use
+     */
+    public WebDriver createWebDriver(String userDataDir) {
+        logger.info("Creating Chrome WebDriver with anti-detection measures");
 
         // Check if running in container environment (Render/Docker)
         String chromeBinary = System.getenv("CHROME_BIN");
@@ -83,14 +135,15 @@ public class ChromeDriverUtil {
             WebDriverManager.chromedriver().setup();
         }
 
-        ChromeOptions options = createChromeOptions(isContainerEnvironment, chromeBinary);
+        ChromeOptions options = createChromeOptions(isContainerEnvironment, chromeBinary, userDataDir);
 
         try {
-            WebDriver driver = new ChromeDriver(options);
+            ChromeDriver driver = new ChromeDriver(options);
             logger.info("✅ Chrome WebDriver instance created successfully");
 
             // Configure timeouts and add anti-detection measures
             configureWebDriver(driver);
+            applyResourceBlocking(driver);
 
             return driver;
         } catch (Exception e) {
@@ -101,7 +154,7 @@ public class ChromeDriverUtil {
 
             // Try fallback configuration in container environment
             if (isContainerEnvironment) {
-                return createFallbackWebDriver(chromeBinary);
+                return createFallbackWebDriver(chromeBinary, userDataDir);
             }
 
             throw new RuntimeException("Failed to create Chrome WebDriver", e);
@@ -111,7 +164,8 @@ public class ChromeDriverUtil {
     /**
      * Creates Chrome options with anti-detection configuration
      */
-    private ChromeOptions createChromeOptions(boolean isContainerEnvironment, String chromeBinary) {
+    private ChromeOptions createChromeOptions(boolean isContainerEnvironment, String chromeBinary,
+            String tempUserDataDir) {
         ChromeOptions options = new ChromeOptions();
 
         if (isContainerEnvironment) {
@@ -119,10 +173,7 @@ public class ChromeDriverUtil {
             options.setBinary(chromeBinary);
         }
 
-        // Create unique temporary user data directory for each session
-        String tempUserDataDir = System.getProperty("java.io.tmpdir") + "chrome_user_data_" +
-                System.currentTimeMillis() + "_" + random.nextInt(10000);
-        logger.info("Created temporary Chrome user data directory: {}", tempUserDataDir);
+        logger.info("Using Chrome user data directory: {}", tempUserDataDir);
 
         // Enhanced anti-detection measures
         String selectedUserAgent = userAgents[random.nextInt(userAgents.length)];
@@ -175,9 +226,133 @@ public class ChromeDriverUtil {
             logger.info("Using local development Chrome arguments");
         }
 
+        if (resourceBlockingEnabled && blockedResourceTypes.contains("image")) {
+            // Also stops extensionless images the URL patterns cannot match
+            options.setExperimentalOption("prefs",
+                    Map.of("profile.managed_default_content_settings.images", 2));
+        }
+
         return options;
     }
 
+    /**
+     * Builds the list of URL patterns to block from the configured resource
+     * types and hosts, minus anything on the allow list
+     * 
+     * @return Chrome DevTools URL patterns ('*' wildcards)
+     */
+    public List<String> buildBlockedUrlPatterns() {
+        List<String> patterns = new ArrayList<>();
+        for (String type : blockedResourceTypes) {
+            List<String> typePatterns = RESOURCE_TYPE_PATTERNS.get(type.trim().toLowerCase());
+            if (typePatterns != null) {
+                patterns.addAll(typePatterns);
+            } else if (!type.isBlank()) {
+                logger.warn("Unknown resource type '{}' in chrome.blocking.resource-types", type);
+            }
+        }
+        for (String host : blockedHosts) {
+            if (!host.isBlank()) {
+                patterns.add("*" + host.trim() + "/*");
+            }
+        }
+        patterns.removeIf(pattern -> allowedPatterns.stream()
+                .anyMatch(allowed -> !allowed.isBlank() && pattern.contains(allowed.trim())));
+        return patterns;
+    }
+
+    /**
+     * Blocks images, media, fonts and tracking hosts through the DevTools
+     * protocol so pages load only what the extractors read. Failures are
+     * logged and leave the browser unrestricted.
+     * 
+     * @param driver Chromium-based driver to restrict
+     * @return true if the block list was installed on this driver
+     */
+    public boolean applyResourceBlocking(ChromiumDriver driver) {
+        if (!resourceBlockingEnabled) {
+            return false;
+        }
+        try {
+            List<String> patterns = buildBlockedUrlPatterns();
+            driver.executeCdpCommand("Network.enable", new HashMap<>());
+            driver.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", patterns));
+            blockedDrivers.add(driver);
+            logger.info("Resource blocking enabled with {} URL patterns", patterns.size());
+            return true;
+        } catch (Exception e) {
+            logger.warn("Could not enable resource blocking: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Tells whether {@link #applyResourceBlocking} succeeded on the given
+     * driver, so page-load stats can be attributed to the right bucket
+     * 
+     * @param driver WebDriver created by this utility
+     * @return true if resources are being blocked in this browser
+     */
+    public boolean isResourceBlockingApplied(WebDriver driver) {
+        return driver != null && blockedDrivers.contains(driver);
+    }
+
+    /**
+     * Reads navigation timing, transferred bytes and JS heap size of the
+     * current page from the browser's Performance API
+     * 
+     * @param driver WebDriver that has just loaded a page
+     * @return Map with loadMs, resources, transferBytes and jsHeapBytes, or an
+     *         empty map when the page cannot report them
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Long> readPageLoadStats(WebDriver driver) {
+        try {
+            Object stats = ((JavascriptExecutor) driver).executeScript(
+                    "const nav = performance.getEntriesByType('navigation')[0];"
+                            + "const res = performance.getEntriesByType('resource');"
+                            + "return { loadMs: nav ? Math.round(nav.loadEventEnd || nav.duration) : 0,"
+                            + " resources: res.length,"
+                            + " transferBytes: res.reduce((sum, r) => sum + (r.transferSize || 0),"
+                            + " nav ? nav.transferSize || 0 : 0),"
+                            + " jsHeapBytes: performance.memory ? performance.memory.usedJSHeapSize : 0 };");
+            if (!(stats instanceof Map)) {
+                return Collections.emptyMap();
+            }
+            Map<String, Long> result = new HashMap<>();
+            ((Map<String, Object>) stats).forEach((key, value) -> {
+                if (value instanceof Number) {
+                    result.put(key, ((Number) value).longValue());
+                }
+            });
+            return result;
+        } catch (Exception e) {
+            logger.debug("Could not read page load stats: {}", e.getMessage());
+            return Collections.emptyMap();
+        }
+    }
+
+    /**
+     * Creates a unique temporary user data directory path for a new browser
+     * 
+     * @return Absolute path of the (not yet created) profile directory
+     */
+    public String newUserDataDir() {
+        return Paths.get(System.getProperty("java.io.tmpdir"), "chrome_user_data_" +
+                System.currentTimeMillis() + "_" + random.nextInt(10000)).toString();
+    }
+
+    /**
+     * Restores the default page load and implicit wait timeouts, e.g. after a
+     * caller tightened them on a pooled driver
+     * 
+     * @param driver WebDriver instance to configure
+     */
+    public void applyDefaultTimeouts(WebDriver driver) {
+        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(60));
+        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(15));
+    }
+
     /**
      * Configures WebDriver with timeouts and anti-detection JavaScript
      */
@@ -185,8 +360,7 @@ public class ChromeDriverUtil {
         logger.info("Configuring WebDriver timeouts and anti-detection measures");
 
         // Set timeouts
-        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(60));
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(15));
+        applyDefaultTimeouts(driver);
 
         // Enhanced JavaScript to hide automation markers
         logger.info("Executing enhanced JavaScript to hide automation markers");
@@ -211,7 +385,7 @@ public class ChromeDriverUtil {
     /**
      * Attempts to create a fallback WebDriver with minimal configuration
      */
-    private WebDriver createFallbackWebDriver(String chromeBinary) {
+    private WebDriver createFallbackWebDriver(String chromeBinary, String userDataDir) {
         logger.warn("Attempting fallback with minimal Chrome arguments");
         try {
             ChromeOptions fallbackOptions = new ChromeOptions();
@@ -221,13 +395,14 @@ public class ChromeDriverUtil {
             fallbackOptions.addArguments("--headless");
             fallbackOptions.addArguments("--no-sandbox");
             fallbackOptions.addArguments("--disable-dev-shm-usage");
+            fallbackOptions.addArguments("--user-data-dir=" + userDataDir);
 
-            WebDriver driver = new ChromeDriver(fallbackOptions);
+            ChromeDriver driver = new ChromeDriver(fallbackOptions);
             logger.info("✅ Minimal fallback Chrome WebDriver instance created successfully");
 
             // Basic configuration
-            driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(60));
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(15));
+            applyDefaultTimeouts(driver);
+            applyResourceBlocking(driver);
 
             return driver;
         } catch (Exception fallbackException) {
@@ -1,22 +1,33 @@
 package com.insightflow.utils;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jsoup.Connection;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -30,6 +41,37 @@ public class ContentExtractionUtil {
 
     private static final Logger logger = LoggerFactory.getLogger(ContentExtractionUtil.class);
 
+    @Autowired
+    private HttpPageCache httpPageCache;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Random random = new Random();
+
+    // Scrolling stops at this many posts, or earlier when a scroll loads nothing new
+    @Value("${linkedin.scroll.target-posts:30}")
+    private int scrollTargetPosts = 30;
+
+    @Value("${linkedin.scroll.max-steps:10}")
+    private int scrollMaxSteps = 10;
+
+    // A page counts as loaded once its DOM has been quiet this long
+    @Value("${linkedin.wait.quiet-ms:1200}")
+    private long waitQuietMs = 1200;
+
+    @Value("${linkedin.wait.min-ms:600}")
+    private long waitMinMs = 600;
+
+    @Value("${linkedin.wait.max-ms:8000}")
+    private long waitMaxMs = 8000;
+
+    // Shared Jsoup session so public page fetches reuse keep-alive connections
+    private final Connection publicPageSession = Jsoup.newSession()
+            .userAgent(
+                    "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/124.0.0.0 Safari/537.36")
+            .header("Accept-Language", "en-US,en;q=0.9")
+            .timeout(15000)
+            .followRedirects(true);
+
     /**
      * Data class to hold extracted LinkedIn content
      */
@@ -58,12 +100,11 @@ public class ContentExtractionUtil {
     public LinkedInContent extractLinkedInContent(WebDriver driver, String companyName, String companyId) {
         logger.info("Starting comprehensive content extraction for company: {}", companyName);
 
-        // Extract company title
-        String companyTitle = extractCompanyTitle(driver);
+        // Title, description and main content of the company page in one round trip
+        PageSnapshot overview = snapshotPage(driver);
+        String companyTitle = overview.title;
         logger.info("Extracted company title: {}", companyTitle);
-
-        // Extract company description
-        String description = extractCompanyDescription(driver);
+        String description = overview.description;
         logger.info("Extracted description, length: {}", description.length());
 
         // Extract posts with filtering
@@ -71,7 +112,7 @@ public class ContentExtractionUtil {
         logger.info("Extracted {} valid posts", posts.size());
 
         // Build comprehensive fullText
-        String fullText = buildFullText(companyName, companyTitle, description, posts, driver);
+        String fullText = buildFullText(companyName, companyTitle, description, posts, overview.mainText);
 
         // Save debug information
         saveDebugContent(companyId, fullText);
@@ -80,85 +121,257 @@ public class ContentExtractionUtil {
     }
 
     /**
-     * Extracts company title from LinkedIn page with multiple fallback strategies
+     * Extracts company content from the public (logged-out) LinkedIn company
+     * page over plain HTTP, without a browser. Returns null when LinkedIn serves
+     * a login wall instead of the page or the fetch fails.
+     * 
+     * @param companyName The company name for filtering and validation
+     * @param companyId   LinkedIn company ID
+     * @return LinkedInContent with whatever the public page exposes, or null
      */
-    private String extractCompanyTitle(WebDriver driver) {
+    public LinkedInContent extractPublicLinkedInContent(String companyName, String companyId) {
+        String url = "https://www.linkedin.com/company/" + companyId + "/";
+        logger.info("Starting public page extraction for company: {} ({})", companyName, url);
+
         try {
-            // Strategy 1: Primary selector
-            List<WebElement> titleElements = driver.findElements(By.cssSelector("h1.org-top-card-summary__title"));
-            if (!titleElements.isEmpty()) {
-                String title = titleElements.get(0).getText().trim();
-                logger.debug("Found company title with primary selector: {}", title);
-                return title;
+            // The page cache keeps the parsed fields, so revisits within the freshness
+            // window cost neither a download nor a parse
+            String json = httpPageCache.fetch(url, "public-content", publicPageSession.newRequest(url),
+                    (body, contentType, charset) -> {
+                        Document doc = Jsoup.parse(body, charset, url);
+                        if (isLoginWall(doc)) {
+                            // No value, so the wall is not cached as this company's content
+                            return null;
+                        }
+                        return objectMapper.writeValueAsString(parsePublicCompanyPage(doc));
+                    });
+            if (json == null) {
+                logger.info("Public LinkedIn page for {} is behind the login wall", companyId);
+                return null;
             }
 
-            // Strategy 2: Generic h1 selector
-            titleElements = driver.findElements(By.cssSelector("h1"));
-            if (!titleElements.isEmpty()) {
-                String title = titleElements.get(0).getText().trim();
-                logger.debug("Found company title with h1 selector: {}", title);
-                return title;
-            }
+            Map<String, Object> page = objectMapper.readValue(json, new TypeReference<Map<String, Object>>() {
+            });
+            String companyTitle = String.valueOf(page.getOrDefault("title", ""));
+            String description = String.valueOf(page.getOrDefault("description", ""));
+            @SuppressWarnings("unchecked")
+            List<String> rawPosts = (List<String>) page.getOrDefault("posts", List.of());
+
+            String targetName = companyTitle.isEmpty() ? companyName : companyTitle;
+            Pattern irrelevantPattern = createIrrelevantPostPattern(companyName);
+            List<String> posts = rawPosts.stream()
+                    .map(this::cleanPostText)
+                    .filter(text -> isValidPost(text, targetName, irrelevantPattern))
+                    .distinct()
+                    .collect(Collectors.toList());
 
-            // Strategy 3: XPath fallback
-            titleElements = driver
-                    .findElements(By.xpath("//h1[contains(@class, 'title') or contains(@class, 'summary')]"));
-            if (!titleElements.isEmpty()) {
-                String title = titleElements.get(0).getText().trim();
-                logger.debug("Found company title with xpath selector: {}", title);
-                return title;
-            }
-
-            logger.warn("Could not find company title with any selector");
-            return "";
+            logger.info("Public page extraction for {}: title '{}', description {} chars, {} posts",
+                    companyName, companyTitle, description.length(), posts.size());
+            String fullText = buildFullText(companyName, companyTitle, description, posts, "");
+            return new LinkedInContent(companyTitle, description, posts, fullText);
 
         } catch (Exception e) {
-            logger.error("Error extracting company title: {}", e.getMessage());
-            return "";
+            logger.warn("Public LinkedIn page extraction failed for {}: {}", companyName, e.getMessage());
+            return null;
         }
     }
 
     /**
-     * Extracts company description from LinkedIn page
+     * LinkedIn answers logged-out visitors it distrusts with a sign-in page
+     * rather than an error status.
      */
-    private String extractCompanyDescription(WebDriver driver) {
-        try {
-            // Strategy 1: Primary description selector
-            List<WebElement> descElements = driver.findElements(
-                    By.cssSelector("p.break-words.white-space-pre-wrap.t-black--light.text-body-medium"));
-
-            if (!descElements.isEmpty()) {
-                String desc = descElements.get(0).getText().trim();
-                logger.debug("Found description with primary selector, length: {}", desc.length());
-                return desc;
+    public static boolean isLoginWall(Document doc) {
+        String title = doc.title().toLowerCase();
+        return title.contains("sign up") || title.contains("log in") || title.contains("sign in")
+                || (doc.selectFirst("form.login__form, form#join-form, a[href*=authwall]") != null
+                        && doc.selectFirst("h1.top-card-layout__title") == null);
+    }
+
+    /**
+     * Reads title, description (with the about-section facts) and recent post
+     * texts from the public company page markup.
+     */
+    private Map<String, Object> parsePublicCompanyPage(Document doc) {
+        Map<String, Object> page = new HashMap<>();
+
+        Element titleElement = doc.selectFirst("h1.top-card-layout__title, h1");
+        String title = titleElement != null ? titleElement.text().trim() : "";
+        if (title.isEmpty()) {
+            title = doc.select("meta[property=og:title]").attr("content").replaceAll("\\s*\\|\\s*LinkedIn$", "").trim();
+        }
+        page.put("title", title);
+
+        StringBuilder description = new StringBuilder();
+        Element about = doc.selectFirst("p[data-test-id=about-us__description], section.about-us p");
+        if (about != null) {
+            description.append(about.text().trim());
+        } else {
+            description.append(doc.select("meta[name=description]").attr("content").trim());
+        }
+        // Industry, size, headquarters, founded, specialties...
+        for (Element fact : doc.select("div[data-test-id^=about-us__]:not([data-test-id=about-us__description])")) {
+            Element label = fact.selectFirst("dt");
+            Element value = fact.selectFirst("dd");
+            if (label != null && value != null && !value.text().isBlank()) {
+                description.append("\n").append(label.text().trim()).append(": ").append(value.text().trim());
             }
+        }
+        page.put("description", description.toString().trim());
+
+        List<String> posts = new ArrayList<>(new LinkedHashSet<>(doc.select(
+                "p[data-test-id=main-feed-activity-card__commentary], "
+                        + "div.attributed-text-segment-list__container p.attributed-text-segment-list__content")
+                .eachText()));
+        page.put("posts", posts);
+        return page;
+    }
 
-            // Strategy 2: Alternative selectors
-            String[] alternativeSelectors = {
-                    "div.org-top-card-summary-info-list__info-item p",
-                    "div.org-about-us-organization-description p",
-                    "section.artdeco-card p",
-                    "div[data-test-id='about-us-description'] p"
-            };
+    /**
+     * Everything the analysis needs from a company page, read in one go
+     */
+    private static class PageSnapshot {
+        String title = "";
+        String description = "";
+        // Candidate post texts per selector group, in priority order
+        List<List<String>> postGroups = new ArrayList<>();
+        String mainText = "";
+    }
+
+    private static final List<String> TITLE_SELECTORS = List.of(
+            "h1.org-top-card-summary__title",
+            "h1");
+
+    private static final List<String> DESCRIPTION_SELECTORS = List.of(
+            "p.break-words.white-space-pre-wrap.t-black--light.text-body-medium",
+            "div.org-top-card-summary-info-list__info-item p",
+            "div.org-about-us-organization-description p",
+            "section.artdeco-card p",
+            "div[data-test-id='about-us-description'] p");
+
+    private static final String POST_CONTAINER_SELECTOR = "div.feed-shared-update-v2";
+
+    private static final List<String> POST_SELECTORS = List.of(
+            "div.feed-shared-update-v2 span[dir='ltr']",
+            "div.update-components-text span, div.feed-shared-text span");
+
+    /**
+     * Clicks the "see more" toggles of truncated posts and returns how many it
+     * clicked. The expanded text is rendered asynchronously, so it is read by a
+     * separate script once the page has settled.
+     */
+    private static final String EXPAND_SCRIPT = """
+            const text = el => (el.innerText || el.textContent || '').trim();
+            const seeMore = new Set();
+            document.querySelectorAll("button[aria-label*='see more' i], button .feed-shared-see-more-text")
+                .forEach(el => seeMore.add(el.closest('button')));
+            document.querySelectorAll('button').forEach(b => {
+                if (/^(…\\s*)?see more$/i.test(text(b))) seeMore.add(b);
+            });
+            let clicked = 0;
+            seeMore.forEach(b => { try { b.click(); clicked++; } catch (e) {} });
+            return clicked;
+            """;
 
-            for (String selector : alternativeSelectors) {
-                descElements = driver.findElements(By.cssSelector(selector));
-                if (!descElements.isEmpty()) {
-                    String desc = descElements.get(0).getText().trim();
-                    if (!desc.isEmpty()) {
-                        logger.debug("Found description with selector '{}', length: {}", selector, desc.length());
-                        return desc;
+    /**
+     * Returns title, description, post texts and main content as one JSON
+     * string, replacing a findElements/getText round trip per element.
+     * Arguments: title, description and post selector lists.
+     */
+    private static final String SNAPSHOT_SCRIPT = """
+            const [titleSelectors, descriptionSelectors, postSelectors] = arguments;
+            const text = el => (el.innerText || el.textContent || '').trim();
+            const first = selectors => {
+                for (const selector of selectors) {
+                    for (const el of document.querySelectorAll(selector)) {
+                        const t = text(el);
+                        if (t) return t;
                     }
                 }
+                return '';
+            };
+            const main = document.querySelector('main') || document.body;
+            return JSON.stringify({
+                title: first(titleSelectors),
+                description: first(descriptionSelectors),
+                postGroups: postSelectors.map(selector =>
+                    Array.from(document.querySelectorAll(selector), text).filter(t => t)),
+                mainText: main ? text(main).slice(0, 2000) : ''
+            });
+            """;
+
+    /**
+     * Expands truncated posts and waits for the full text to render before the
+     * page is read.
+     */
+    private void expandTruncatedPosts(WebDriver driver) {
+        try {
+            Object clicked = ((JavascriptExecutor) driver).executeScript(EXPAND_SCRIPT);
+            if (clicked instanceof Number && ((Number) clicked).intValue() > 0) {
+                logger.debug("Expanded {} truncated posts, waiting for them to render", clicked);
+                settle(driver, false);
             }
+        } catch (Exception e) {
+            logger.debug("Could not expand truncated posts: {}", e.getMessage());
+        }
+    }
 
-            logger.warn("Could not find company description with any selector");
-            return "";
+    /**
+     * Reads the current page with a single script execution. Falls back to
+     * parsing the page source with the same selectors if the script fails.
+     */
+    private PageSnapshot snapshotPage(WebDriver driver) {
+        expandTruncatedPosts(driver);
+        long start = System.currentTimeMillis();
+        try {
+            Object json = ((JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT,
+                    TITLE_SELECTORS, DESCRIPTION_SELECTORS, POST_SELECTORS);
+            if (json instanceof String) {
+                JsonNode node = objectMapper.readTree((String) json);
+                PageSnapshot snapshot = new PageSnapshot();
+                snapshot.title = node.path("title").asText("");
+                snapshot.description = node.path("description").asText("");
+                for (JsonNode group : node.path("postGroups")) {
+                    List<String> texts = new ArrayList<>();
+                    group.forEach(text -> texts.add(text.asText()));
+                    snapshot.postGroups.add(texts);
+                }
+                snapshot.mainText = node.path("mainText").asText("");
+                logger.debug("Page snapshot via script in {} ms", System.currentTimeMillis() - start);
+                return snapshot;
+            }
+            logger.warn("Page snapshot script returned no data, parsing page source instead");
+        } catch (Exception e) {
+            logger.warn("Page snapshot script failed, parsing page source instead: {}", e.getMessage());
+        }
 
+        PageSnapshot snapshot = new PageSnapshot();
+        try {
+            Document soup = Jsoup.parse(driver.getPageSource());
+            snapshot.title = firstText(soup, TITLE_SELECTORS);
+            snapshot.description = firstText(soup, DESCRIPTION_SELECTORS);
+            for (String selector : POST_SELECTORS) {
+                snapshot.postGroups.add(soup.select(selector).eachText());
+            }
+            Element main = soup.selectFirst("main");
+            String mainText = main != null ? main.text() : soup.text();
+            snapshot.mainText = mainText.length() > 2000 ? mainText.substring(0, 2000) : mainText;
         } catch (Exception e) {
-            logger.error("Error extracting company description: {}", e.getMessage());
-            return "";
+            logger.error("Error parsing page source: {}", e.getMessage());
+        }
+        logger.debug("Page snapshot via page source in {} ms", System.currentTimeMillis() - start);
+        return snapshot;
+    }
+
+    private String firstText(Document soup, List<String> selectors) {
+        for (String selector : selectors) {
+            for (Element element : soup.select(selector)) {
+                String text = element.text().trim();
+                if (!text.isEmpty()) {
+                    return text;
+                }
+            }
         }
+        return "";
     }
 
     /**
@@ -175,53 +388,27 @@ public class ContentExtractionUtil {
             logger.debug("Step 1: Navigating to Posts tab");
             navigateToPostsTab(driver);
 
-            // Click "See more" buttons to expand truncated posts
-            logger.debug("Step 2: Clicking 'See more' buttons");
-            clickSeeMoreButtons(driver);
-
             // Perform infinite scrolling to load more posts
-            logger.debug("Step 3: Performing infinite scrolling");
+            logger.debug("Step 2: Performing infinite scrolling");
             performInfiniteScrolling(driver);
 
-            logger.debug("Step 4: Extracting posts using selectors");
-
-            // Strategy 1: Primary post selector (after loading more content)
-            List<String> posts = driver.findElements(By.cssSelector("div.feed-shared-update-v2 span[dir='ltr']"))
-                    .stream()
-                    .map(element -> cleanPostText(element.getText().trim()))
-                    .filter(text -> isValidPost(text, targetName, irrelevantPattern))
-                    .collect(Collectors.toList());
-
-            if (!posts.isEmpty()) {
-                logger.info("✅ Extracted {} posts with primary selector (after content loading)", posts.size());
-                return posts.stream().distinct().collect(Collectors.toList());
-            }
-
-            // Strategy 2: Jsoup fallback
-            logger.debug("Primary selector failed, trying Jsoup fallback");
-            String html = driver.getPageSource();
-            Document soup = Jsoup.parse(html);
-
-            posts = soup.select("div.feed-shared-update-v2 span[dir='ltr']")
-                    .stream()
-                    .map(element -> cleanPostText(element.text().trim()))
-                    .filter(text -> isValidPost(text, targetName, irrelevantPattern))
-                    .collect(Collectors.toList());
-
-            if (!posts.isEmpty()) {
-                logger.info("✅ Extracted {} posts with Jsoup primary fallback", posts.size());
-                return posts.stream().distinct().collect(Collectors.toList());
+            // Expand and read every post in one round trip, then filter here
+            logger.debug("Step 3: Extracting posts in a single page snapshot");
+            PageSnapshot snapshot = snapshotPage(driver);
+
+            // Use the first selector group that yields valid posts
+            for (int i = 0; i < snapshot.postGroups.size(); i++) {
+                List<String> posts = snapshot.postGroups.get(i).stream()
+                        .map(this::cleanPostText)
+                        .filter(text -> isValidPost(text, targetName, irrelevantPattern))
+                        .distinct()
+                        .collect(Collectors.toList());
+                if (!posts.isEmpty() || i == snapshot.postGroups.size() - 1) {
+                    logger.info("✅ Extracted {} posts with selector group {}", posts.size(), i + 1);
+                    return posts;
+                }
             }
-
-            // Strategy 3: Alternative Jsoup selectors
-            posts = soup.select("div.update-components-text span, div.feed-shared-text span")
-                    .stream()
-                    .map(element -> cleanPostText(element.text().trim()))
-                    .filter(text -> isValidPost(text, targetName, irrelevantPattern))
-                    .collect(Collectors.toList());
-
-            logger.info("✅ Used Jsoup alternative selectors, found {} posts", posts.size());
-            return posts.stream().distinct().collect(Collectors.toList());
+            return List.of();
 
         } catch (Exception e) {
             logger.error("❌ Error extracting company posts: {}", e.getMessage());
@@ -298,7 +485,7 @@ public class ContentExtractionUtil {
      * Builds comprehensive full text from all extracted components
      */
     private String buildFullText(String companyName, String companyTitle, String description,
-            List<String> posts, WebDriver driver) {
+            List<String> posts, String fallbackContent) {
         StringBuilder fullText = new StringBuilder();
 
         // Add company information
@@ -318,8 +505,7 @@ public class ContentExtractionUtil {
 
         // Fallback for low content - extract more general content
         if (fullText.length() < 100) {
-            String fallbackContent = extractFallbackContent(driver);
-            if (!fallbackContent.isEmpty()) {
+            if (fallbackContent != null && !fallbackContent.isEmpty()) {
                 fullText.append("MainContent: ").append(fallbackContent).append("\n");
                 logger.info("Used fallback content extraction, length: {}", fallbackContent.length());
             }
@@ -340,33 +526,6 @@ public class ContentExtractionUtil {
         return finalText;
     }
 
-    /**
-     * Extracts fallback content when primary extraction yields insufficient data
-     */
-    private String extractFallbackContent(WebDriver driver) {
-        try {
-            String html = driver.getPageSource();
-            Document soup = Jsoup.parse(html);
-
-            // Try to get main content area
-            Element mainElement = soup.selectFirst("main");
-            if (mainElement != null) {
-                String mainContent = mainElement.text();
-                if (mainContent.length() > 100) {
-                    return mainContent.length() > 2000 ? mainContent.substring(0, 2000) : mainContent;
-                }
-            }
-
-            // Fallback to body text
-            String bodyText = soup.text();
-            return bodyText.length() > 2000 ? bodyText.substring(0, 2000) : bodyText;
-
-        } catch (Exception e) {
-            logger.error("Error extracting fallback content: {}", e.getMessage());
-            return "";
-        }
-    }
-
     /**
      * Saves debug content to file for troubleshooting
      */
@@ -392,7 +551,7 @@ public class ContentExtractionUtil {
             try {
                 wait.until(ExpectedConditions.elementToBeClickable(By.linkText("Posts")));
                 driver.findElement(By.linkText("Posts")).click();
-                Thread.sleep(3000);
+                waitForPageContent(driver);
                 logger.debug("Clicked 'Posts' tab via linkText");
                 return;
             } catch (Exception e) {
@@ -404,7 +563,7 @@ public class ContentExtractionUtil {
                 wait.until(ExpectedConditions
                         .elementToBeClickable(By.cssSelector("a.org-page-navigation__item-anchor[href*='posts']")));
                 driver.findElement(By.cssSelector("a.org-page-navigation__item-anchor[href*='posts']")).click();
-                Thread.sleep(3000);
+                waitForPageContent(driver);
                 logger.debug("Clicked 'Posts' tab via CSS selector");
                 return;
             } catch (Exception e2) {
@@ -416,7 +575,7 @@ public class ContentExtractionUtil {
             if (!currentUrl.endsWith("/posts/")) {
                 String postsUrl = currentUrl.replaceAll("/$", "") + "/posts/";
                 driver.get(postsUrl);
-                Thread.sleep(3000);
+                waitForPageContent(driver);
                 logger.debug("Fallback: Navigated to posts subpage");
             }
 
@@ -426,82 +585,130 @@ public class ContentExtractionUtil {
     }
 
     /**
-     * Clicks "See more" buttons to expand truncated posts (from original
-     * ScrapingService)
+     * Waits until the current page has finished loading and its DOM has stopped
+     * changing, instead of sleeping for a fixed time. Returns as soon as the
+     * page is quiet, and after at most {@code linkedin.wait.max-ms}.
+     */
+    public void waitForPageContent(WebDriver driver) {
+        settle(driver, false);
+    }
+
+    /**
+     * Scrolls to load more posts until the target number of posts is on the
+     * page or a scroll brings in nothing new. Each step waits only until the
+     * DOM goes quiet after the scroll rather than a fixed pause.
      */
-    private void clickSeeMoreButtons(WebDriver driver) {
+    private void performInfiniteScrolling(WebDriver driver) {
         try {
-            // Primary selector for "See more" buttons
-            List<WebElement> seeMoreButtons = driver.findElements(
-                    By.cssSelector("button[aria-label*='see more'], button span.feed-shared-see-more-text"));
-
-            for (WebElement button : seeMoreButtons) {
-                try {
-                    ((JavascriptExecutor) driver).executeScript("arguments[0].click();", button);
-                    Thread.sleep(1000);
-                    logger.debug("Clicked 'See more' button");
-                } catch (Exception e) {
-                    logger.debug("Failed to click see more button: {}", e.getMessage());
+            long start = System.currentTimeMillis();
+            logger.debug("Starting infinite scrolling to load more posts (target: {})", scrollTargetPosts);
+
+            int steps = 0;
+            String reason = "step limit reached";
+            while (steps < scrollMaxSteps) {
+                JsonNode step = settle(driver, true);
+                steps++;
+                if (step == null) {
+                    reason = "scroll step failed";
+                    break;
                 }
-            }
 
-            // Fallback selector for "See more" buttons
-            if (seeMoreButtons.isEmpty()) {
-                seeMoreButtons = driver.findElements(
-                        By.xpath("//button[contains(text(), 'more') or contains(text(), 'See more')]"));
-                for (WebElement button : seeMoreButtons) {
-                    try {
-                        ((JavascriptExecutor) driver).executeScript("arguments[0].click();", button);
-                        Thread.sleep(1000);
-                        logger.debug("Clicked 'See more' button via xpath");
-                    } catch (Exception e) {
-                        logger.debug("Failed to click see more button via xpath: {}", e.getMessage());
-                    }
+                int posts = step.path("posts").asInt();
+                logger.debug("Scroll step {}: {} posts, height {}, {} ms", steps, posts,
+                        step.path("height").asLong(), step.path("elapsed").asLong());
+                if (posts >= scrollTargetPosts) {
+                    reason = "post target reached";
+                    break;
+                }
+                if (!step.path("grew").asBoolean()) {
+                    reason = "no new content";
+                    break;
                 }
             }
 
-            logger.debug("Processed {} 'See more' buttons", seeMoreButtons.size());
+            logger.debug("Infinite scrolling stopped after {} steps in {} ms: {}", steps,
+                    System.currentTimeMillis() - start, reason);
 
         } catch (Exception e) {
-            logger.warn("Error clicking 'See more' buttons: {}", e.getMessage());
+            logger.warn("Error during infinite scrolling: {}", e.getMessage());
         }
     }
 
     /**
-     * Performs infinite scrolling to load more posts (from original
-     * ScrapingService)
+     * Resolves once the DOM has had no mutations for {@code quietMs} (and at
+     * least {@code minMs} has passed, to stay polite), or after {@code maxMs}.
+     * Optionally scrolls to the bottom first. Reports the post count, page
+     * height and whether either grew.
      */
-    private void performInfiniteScrolling(WebDriver driver) {
-        try {
-            JavascriptExecutor js = (JavascriptExecutor) driver;
-            long lastHeight = (Long) js.executeScript("return document.body.scrollHeight");
-            int attempts = 0;
-            int maxAttempts = 10; // Reduced from original to be more reasonable
-
-            logger.debug("Starting infinite scrolling to load more posts");
-
-            while (attempts < maxAttempts) {
-                // Scroll to bottom
-                js.executeScript("window.scrollTo(0, document.body.scrollHeight);");
-                Thread.sleep(3000); // Wait for content to load
-
-                // Check if new content loaded
-                long newHeight = (Long) js.executeScript("return document.body.scrollHeight");
-                logger.debug("Scroll attempt {}: lastHeight={}, newHeight={}", attempts + 1, lastHeight, newHeight);
-
-                if (newHeight == lastHeight) {
-                    logger.debug("No new content loaded, stopping scroll");
-                    break;
+    private static final String SETTLE_SCRIPT = """
+            const [postSelector, scroll, minMs, quietMs, maxMs] = arguments;
+            const done = arguments[arguments.length - 1];
+            const count = () => document.querySelectorAll(postSelector).length;
+            const start = Date.now();
+            const startPosts = count();
+            const startHeight = document.body ? document.body.scrollHeight : 0;
+            let lastMutation = start;
+            const observer = new MutationObserver(() => { lastMutation = Date.now(); });
+            observer.observe(document, { childList: true, subtree: true });
+            if (scroll) {
+                window.scrollTo(0, document.body.scrollHeight);
+            }
+            const timer = setInterval(() => {
+                const now = Date.now();
+                const loaded = document.readyState === 'complete';
+                if (now - start < minMs || (now - start < maxMs && (!loaded || now - lastMutation < quietMs))) {
+                    return;
                 }
-
-                lastHeight = newHeight;
-                attempts++;
+                clearInterval(timer);
+                observer.disconnect();
+                const posts = count();
+                const height = document.body ? document.body.scrollHeight : 0;
+                done(JSON.stringify({ posts, height, grew: posts > startPosts || height > startHeight,
+                    elapsed: now - start }));
+            }, 100);
+            """;
+
+    private JsonNode settle(WebDriver driver, boolean scroll) {
+        // Random politeness floor so steps are not machine-regular
+        long minMs = waitMinMs + (waitMinMs > 0 ? random.nextInt((int) waitMinMs) : 0);
+        long start = System.currentTimeMillis();
+        try {
+            Object json = ((JavascriptExecutor) driver).executeAsyncScript(SETTLE_SCRIPT,
+                    POST_CONTAINER_SELECTOR, scroll, minMs, waitQuietMs, waitMaxMs);
+            if (json instanceof String) {
+                return objectMapper.readTree((String) json);
             }
+            logger.debug("Settle script returned no result, waiting for the load event instead");
+        } catch (Exception e) {
+            logger.debug("Waiting for the page to settle failed, waiting for the load event instead: {}",
+                    e.getMessage());
+        }
+        waitForDocumentReady(driver, minMs - (System.currentTimeMillis() - start));
+        return null;
+    }
 
-            logger.debug("Infinite scrolling completed after {} attempts", attempts);
-
+    /**
+     * Fallback when the settle script cannot run: waits (at most
+     * {@code linkedin.wait.max-ms}) for the document to finish loading, and at
+     * least the politeness floor.
+     */
+    private void waitForDocumentReady(WebDriver driver, long minRemainingMs) {
+        long start = System.currentTimeMillis();
+        try {
+            new WebDriverWait(driver, Duration.ofMillis(waitMaxMs))
+                    .pollingEvery(Duration.ofMillis(100))
+                    .ignoring(JavascriptException.class)
+                    .until(d -> "complete".equals(((JavascriptExecutor) d).executeScript("return document.readyState")));
         } catch (Exception e) {
-            logger.warn("Error during infinite scrolling: {}", e.getMessage());
+            logger.debug("Page did not report readyState complete: {}", e.getMessage());
+        }
+        long remaining = minRemainingMs - (System.currentTimeMillis() - start);
+        if (remaining > 0) {
+            try {
+                Thread.sleep(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
         }
     }
 
@@ -0,0 +1,58 @@
+package com.insightflow.utils;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.RenderingHints;
+
+/**
+ * The drawing operations the framework diagrams use, so the same layout code
+ * can paint onto a raster image ({@link RasterDiagramCanvas}) or emit vector
+ * output ({@link SvgDiagramCanvas}). Method names and coordinates follow
+ * {@link java.awt.Graphics2D}.
+ */
+public interface DiagramCanvas {
+
+    void setRenderingHint(RenderingHints.Key key, Object value);
+
+    void setColor(Color color);
+
+    void setFont(Font font);
+
+    Font getFont();
+
+    void setStroke(BasicStroke stroke);
+
+    /**
+     * @return Metrics of the current font, for measuring text during layout
+     */
+    FontMetrics getFontMetrics();
+
+    /**
+     * @return Shared measuring and wrapping for the current font
+     */
+    default TextLayoutEngine getTextLayout() {
+        return TextLayoutEngine.forFont(getFont());
+    }
+
+    void fillRect(int x, int y, int width, int height);
+
+    void drawRect(int x, int y, int width, int height);
+
+    void drawLine(int x1, int y1, int x2, int y2);
+
+    void fillOval(int x, int y, int width, int height);
+
+    void drawOval(int x, int y, int width, int height);
+
+    /**
+     * Draws text with its baseline at y
+     */
+    void drawString(String text, int x, int y);
+
+    /**
+     * Rotates subsequent drawing by theta radians around (x, y)
+     */
+    void rotate(double theta, double x, double y);
+}
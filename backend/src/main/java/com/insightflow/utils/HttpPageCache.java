@@ -0,0 +1,479 @@
+package com.insightflow.utils;
+
+import jakarta.annotation.PostConstruct;
+import org.jsoup.Connection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Shared disk-backed cache for scraped web pages.
+ *
+ * Each entry stores the response validators (ETag / Last-Modified), the raw
+ * body when it was read to the end, and any number of derived values such as
+ * extracted text or a follower count. Fresh entries are served without touching
+ * the network; stale entries are revalidated with a conditional GET and a 304
+ * reuses the stored derived value, so unchanged pages are neither downloaded
+ * nor parsed again. The cache directory is bounded by size and the least
+ * recently fetched entries are evicted first.
+ */
+@Component
+public class HttpPageCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(HttpPageCache.class);
+
+    private static final String META_SUFFIX = ".meta";
+    private static final String BODY_SUFFIX = ".body";
+    private static final String DERIVED_SUFFIX = ".txt";
+
+    /**
+     * Turns a response body into the value callers actually need (extracted
+     * text, a parsed number, ...). The stream supports mark/reset.
+     */
+    @FunctionalInterface
+    public interface BodyExtractor {
+        String extract(BufferedInputStream body, String contentType, String charset) throws IOException;
+    }
+
+    @Value("${http.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${http.cache.dir:${java.io.tmpdir}/insightflow-http-cache}")
+    private String cacheDirPath;
+
+    @Value("${http.cache.max-age-minutes:360}")
+    private long maxAgeMinutes;
+
+    @Value("${http.cache.max-size-mb:256}")
+    private long maxSizeMb;
+
+    private Path cacheDir;
+    private final AtomicLong approximateSizeBytes = new AtomicLong();
+    private final Object evictionLock = new Object();
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            logger.info("HTTP page cache disabled");
+            return;
+        }
+        try {
+            cacheDir = Paths.get(cacheDirPath).toAbsolutePath();
+            Files.createDirectories(cacheDir);
+            approximateSizeBytes.set(directorySize());
+            logger.info("HTTP page cache initialized at {} ({} KB, max-age {} min, max-size {} MB)",
+                    cacheDir, approximateSizeBytes.get() / 1024, maxAgeMinutes, maxSizeMb);
+        } catch (IOException e) {
+            logger.warn("Could not create HTTP page cache dir {}, caching disabled: {}", cacheDirPath,
+                    e.getMessage());
+            enabled = false;
+        }
+    }
+
+    /**
+     * Fetches a URL through the cache and returns the derived value produced by
+     * the extractor.
+     *
+     * @param url        The URL being fetched (cache key).
+     * @param variant    Name of the derived value, e.g. "text" or "followers".
+     * @param connection Prepared, not yet executed Jsoup connection for the URL.
+     * @param extractor  Turns the body into the derived value.
+     * @return The derived value, or null if the extractor produced none.
+     */
+    public String fetch(String url, String variant, Connection connection, BodyExtractor extractor)
+            throws IOException {
+        connection.ignoreHttpErrors(true);
+        if (!enabled) {
+            Connection.Response response = connection.execute();
+            try (BufferedInputStream body = response.bodyStream()) {
+                return extractor.extract(body, response.contentType(), response.charset());
+            }
+        }
+
+        String key = keyFor(url);
+        Properties meta = readMeta(key);
+        String cachedValue = meta != null ? readDerived(key, variant) : null;
+        boolean hasBody = meta != null && Files.exists(bodyPath(key));
+
+        if (cachedValue != null && isFresh(meta)) {
+            logger.debug("HTTP cache hit (fresh) for {} [{}]", url, variant);
+            return cachedValue;
+        }
+
+        // Only revalidate when a 304 would leave us with something to serve
+        if (meta != null && (cachedValue != null || hasBody)) {
+            String etag = meta.getProperty("etag");
+            String lastModified = meta.getProperty("lastModified");
+            if (etag != null) {
+                connection.header("If-None-Match", etag);
+            }
+            if (lastModified != null) {
+                connection.header("If-Modified-Since", lastModified);
+            }
+        }
+
+        Connection.Response response = connection.execute();
+        int status = response.statusCode();
+
+        if (status == 304 && meta != null) {
+            logger.debug("HTTP cache revalidated (304) for {} [{}]", url, variant);
+            meta.setProperty("fetchedAt", String.valueOf(System.currentTimeMillis()));
+            writeMeta(key, meta);
+            if (cachedValue != null) {
+                return cachedValue;
+            }
+            try (BufferedInputStream body = new BufferedInputStream(Files.newInputStream(bodyPath(key)))) {
+                String value = extractor.extract(body, meta.getProperty("contentType"),
+                        meta.getProperty("charset"));
+                writeDerived(key, variant, value);
+                return value;
+            }
+        }
+
+        if (status < 200 || status >= 300) {
+            // Error pages are extracted as before but never cached
+            try (BufferedInputStream body = response.bodyStream()) {
+                return extractor.extract(body, response.contentType(), response.charset());
+            }
+        }
+
+        // Tee the body to disk while the extractor reads it; the copy is kept only if
+        // the extractor consumed the stream to the end
+        Path tempBody = Files.createTempFile(cacheDir, key, ".part");
+        String value;
+        boolean complete;
+        try (TeeInputStream tee = new TeeInputStream(response.bodyStream(), Files.newOutputStream(tempBody));
+                BufferedInputStream body = new BufferedInputStream(tee)) {
+            value = extractor.extract(body, response.contentType(), response.charset());
+            complete = tee.reachedEnd();
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempBody);
+            throw e;
+        }
+
+        // A new body invalidates every value derived from the previous one
+        deleteEntry(key);
+        if (complete) {
+            moveIntoPlace(tempBody, bodyPath(key));
+        } else {
+            Files.deleteIfExists(tempBody);
+        }
+
+        Properties newMeta = new Properties();
+        newMeta.setProperty("url", url);
+        newMeta.setProperty("fetchedAt", String.valueOf(System.currentTimeMillis()));
+        setIfPresent(newMeta, "etag", response.header("ETag"));
+        setIfPresent(newMeta, "lastModified", response.header("Last-Modified"));
+        setIfPresent(newMeta, "contentType", response.contentType());
+        setIfPresent(newMeta, "charset", response.charset());
+        writeMeta(key, newMeta);
+        writeDerived(key, variant, value);
+
+        logger.debug("HTTP cache stored {} [{}] (body kept: {})", url, variant, complete);
+        evictIfNeeded();
+        return value;
+    }
+
+    /**
+     * Returns a cached value for a non-HTTP-cacheable call (e.g. a POST to an
+     * API) if it is younger than the configured max-age.
+     */
+    public String lookupFresh(String key, String variant) {
+        if (!enabled) {
+            return null;
+        }
+        String hashedKey = keyFor(key);
+        Properties meta = readMeta(hashedKey);
+        if (meta == null || !isFresh(meta)) {
+            return null;
+        }
+        return readDerived(hashedKey, variant);
+    }
+
+    /**
+     * Stores a value for a non-HTTP-cacheable call, see {@link #lookupFresh}.
+     */
+    public void store(String key, String variant, String value) {
+        if (!enabled || value == null) {
+            return;
+        }
+        try {
+            String hashedKey = keyFor(key);
+            Properties meta = new Properties();
+            meta.setProperty("url", key);
+            meta.setProperty("fetchedAt", String.valueOf(System.currentTimeMillis()));
+            writeMeta(hashedKey, meta);
+            writeDerived(hashedKey, variant, value);
+            evictIfNeeded();
+        } catch (IOException e) {
+            logger.warn("Failed to store cache entry for {}: {}", key, e.getMessage());
+        }
+    }
+
+    private boolean isFresh(Properties meta) {
+        try {
+            long fetchedAt = Long.parseLong(meta.getProperty("fetchedAt", "0"));
+            return System.currentTimeMillis() - fetchedAt < TimeUnit.MINUTES.toMillis(maxAgeMinutes);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private Properties readMeta(String key) {
+        Path path = cacheDir.resolve(key + META_SUFFIX);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            Properties meta = new Properties();
+            meta.load(reader);
+            return meta;
+        } catch (IOException e) {
+            logger.debug("Unreadable cache metadata {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeMeta(String key, Properties meta) throws IOException {
+        Path temp = Files.createTempFile(cacheDir, key, ".part");
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            meta.store(writer, null);
+        }
+        moveIntoPlace(temp, cacheDir.resolve(key + META_SUFFIX));
+    }
+
+    private String readDerived(String key, String variant) {
+        Path path = derivedPath(key, variant);
+        try {
+            return Files.exists(path) ? Files.readString(path, StandardCharsets.UTF_8) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void writeDerived(String key, String variant, String value) throws IOException {
+        Path path = derivedPath(key, variant);
+        if (value == null) {
+            deleteFile(path);
+            return;
+        }
+        Path temp = Files.createTempFile(cacheDir, key, ".part");
+        Files.writeString(temp, value, StandardCharsets.UTF_8);
+        moveIntoPlace(temp, path);
+    }
+
+    private void moveIntoPlace(Path temp, Path target) throws IOException {
+        long size = Files.size(temp);
+        // Overwrites (e.g. the metadata rewritten on every revalidation) only add the difference
+        long replaced = Files.exists(target) ? Files.size(target) : 0L;
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        approximateSizeBytes.addAndGet(size - replaced);
+    }
+
+    private void deleteEntry(String key) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(cacheDir, key + ".*")) {
+            for (Path file : files) {
+                if (!file.getFileName().toString().endsWith(".part")) {
+                    deleteFile(file);
+                }
+            }
+        }
+    }
+
+    private void deleteFile(Path file) throws IOException {
+        long size = Files.exists(file) ? Files.size(file) : 0L;
+        if (Files.deleteIfExists(file)) {
+            approximateSizeBytes.addAndGet(-size);
+        }
+    }
+
+    /**
+     * Evicts the least recently fetched entries once the directory grows past
+     * the configured size, down to 90% of the limit.
+     */
+    private void evictIfNeeded() {
+        long maxBytes = maxSizeMb * 1024 * 1024;
+        if (approximateSizeBytes.get() <= maxBytes) {
+            return;
+        }
+        synchronized (evictionLock) {
+            try {
+                long size = directorySize();
+                if (size <= maxBytes) {
+                    approximateSizeBytes.set(size);
+                    return;
+                }
+
+                List<Path> metaFiles = new ArrayList<>();
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(cacheDir, "*" + META_SUFFIX)) {
+                    files.forEach(metaFiles::add);
+                }
+                metaFiles.sort(Comparator.comparingLong(this::lastModifiedMillis));
+
+                long target = (long) (maxBytes * 0.9);
+                int evicted = 0;
+                for (Path metaFile : metaFiles) {
+                    if (size <= target) {
+                        break;
+                    }
+                    String fileName = metaFile.getFileName().toString();
+                    String key = fileName.substring(0, fileName.length() - META_SUFFIX.length());
+                    long entrySize = entrySize(key);
+                    deleteEntry(key);
+                    size -= entrySize;
+                    evicted++;
+                }
+                approximateSizeBytes.set(size);
+                logger.info("HTTP page cache evicted {} entries, size now {} KB", evicted, size / 1024);
+            } catch (IOException e) {
+                logger.warn("HTTP page cache eviction failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private long entrySize(String key) throws IOException {
+        long size = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(cacheDir, key + ".*")) {
+            for (Path file : files) {
+                size += Files.size(file);
+            }
+        }
+        return size;
+    }
+
+    private long directorySize() throws IOException {
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            return files.mapToLong(file -> {
+                try {
+                    return Files.size(file);
+                } catch (IOException e) {
+                    return 0L;
+                }
+            }).sum();
+        }
+    }
+
+    private long lastModifiedMillis(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private Path bodyPath(String key) {
+        return cacheDir.resolve(key + BODY_SUFFIX);
+    }
+
+    private Path derivedPath(String key, String variant) {
+        return cacheDir.resolve(key + "." + variant.replaceAll("[^A-Za-z0-9-]", "_") + DERIVED_SUFFIX);
+    }
+
+    private static void setIfPresent(Properties meta, String name, String value) {
+        if (value != null && !value.isEmpty()) {
+            meta.setProperty(name, value);
+        }
+    }
+
+    private static String keyFor(String url) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(url.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Copies every byte read from the wrapped stream to a side output and
+     * remembers whether the end of the stream was reached.
+     */
+    private static class TeeInputStream extends FilterInputStream {
+        private final OutputStream copy;
+        private boolean endReached;
+
+        TeeInputStream(InputStream in, OutputStream copy) {
+            super(in);
+            this.copy = copy;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b < 0) {
+                endReached = true;
+            } else {
+                copy.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n < 0) {
+                endReached = true;
+            } else {
+                copy.write(buffer, offset, n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // Skipped bytes would be missing from the copy, so read them instead
+            byte[] buffer = new byte[8192];
+            long skipped = 0;
+            while (skipped < n) {
+                int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+                if (read < 0) {
+                    break;
+                }
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        boolean reachedEnd() {
+            return endReached;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                copy.close();
+            }
+        }
+    }
+}
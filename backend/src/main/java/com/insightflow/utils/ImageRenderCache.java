@@ -0,0 +1,204 @@
+package com.insightflow.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.insightflow.models.RenderedImageCache;
+import com.insightflow.repositories.RenderedImageCacheRepository;
+import com.insightflow.services.SupabaseStorageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Content-addressed cache for rendered framework images.
+ *
+ * The key is a SHA-256 hash of the framework type, the renderer version and
+ * the input data serialized with sorted map keys, so identical inputs map to
+ * the same image regardless of map ordering. A hit skips rendering, PNG
+ * encoding and upload entirely. Image URLs are kept in a small in-memory LRU
+ * and persisted in MongoDB; inline data URIs (no image store available) are
+ * not cached at all, as holding their full payload would make the LRU the
+ * biggest consumer of heap, and neither are local URLs standing in for a
+ * failed Supabase upload. Concurrent requests for the same key share one
+ * render.
+ */
+@Component
+public class ImageRenderCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageRenderCache.class);
+
+    @Autowired
+    private RenderedImageCacheRepository renderedImageCacheRepository;
+
+    @Autowired
+    private SupabaseStorageService supabaseStorageService;
+
+    @Value("${visualization.render-cache.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${visualization.render-cache.ttl-days:30}")
+    private long ttlDays = 30;
+
+    @Value("${visualization.render-cache.memory-entries:256}")
+    private int memoryEntries = 256;
+
+    private final ObjectMapper canonicalMapper = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    private final Map<String, String> memory = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                    return size() > memoryEntries;
+                }
+            });
+
+    private final Map<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the cached image for this input, or renders it once and caches
+     * the result.
+     * 
+     * @param framework       Framework type, e.g. "swot"
+     * @param rendererVersion Version of the drawing code; bump it whenever the
+     *                        output for the same data changes
+     * @param data            Input data the image is rendered from
+     * @param renderer        Renders, encodes and stores the image, returning
+     *                        its URL or data URI
+     * @return Image URL or data URI
+     */
+    public String getOrRender(String framework, String rendererVersion, Object data, Supplier<String> renderer) {
+        try {
+            return getOrRenderAsync(framework, rendererVersion, data,
+                    () -> CompletableFuture.completedFuture(renderer.get())).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #getOrRender}; the renderer returns a
+     * future, e.g. rendering on a worker pool followed by an async upload.
+     */
+    public CompletableFuture<String> getOrRenderAsync(String framework, String rendererVersion, Object data,
+            Supplier<CompletableFuture<String>> renderer) {
+        if (!enabled) {
+            return renderer.get();
+        }
+        String key = renderKey(framework, rendererVersion, data);
+        if (key == null) {
+            return renderer.get();
+        }
+
+        String cached = memory.get(key);
+        if (cached == null) {
+            cached = lookupStored(key);
+            if (cached != null) {
+                memory.put(key, cached);
+            }
+        }
+        if (cached != null) {
+            logger.debug("Render cache hit for {} image {}", framework, key);
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<String> render = new CompletableFuture<>();
+        CompletableFuture<String> existing = inFlight.putIfAbsent(key, render);
+        if (existing != null) {
+            return perCaller(existing);
+        }
+
+        CompletableFuture<String> rendered;
+        try {
+            rendered = renderer.get();
+        } catch (RuntimeException e) {
+            rendered = CompletableFuture.failedFuture(e);
+        }
+        rendered.whenComplete((result, error) -> {
+            if (error == null) {
+                remember(key, framework, result);
+            }
+            inFlight.remove(key);
+            if (error != null) {
+                render.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error);
+            } else {
+                render.complete(result);
+            }
+        });
+        return perCaller(render);
+    }
+
+    /**
+     * A shared render is handed out as a dependent future, so a caller that
+     * gives up and cancels it does not cancel the render for everyone else
+     */
+    private static CompletableFuture<String> perCaller(CompletableFuture<String> shared) {
+        return shared.thenApply(Function.identity());
+    }
+
+    /**
+     * @return Hex SHA-256 of framework, renderer version and canonical data, or
+     *         null when the data cannot be serialized
+     */
+    public String renderKey(String framework, String rendererVersion, Object data) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((framework + "\n" + rendererVersion + "\n").getBytes(StandardCharsets.UTF_8));
+            digest.update(canonicalMapper.writeValueAsBytes(data));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (Exception e) {
+            logger.debug("Could not compute render cache key for {}: {}", framework, e.getMessage());
+            return null;
+        }
+    }
+
+    private String lookupStored(String key) {
+        try {
+            return renderedImageCacheRepository.findById(key)
+                    .filter(entry -> !entry.isExpired())
+                    .map(RenderedImageCache::getUrl)
+                    .orElse(null);
+        } catch (Exception e) {
+            logger.debug("Render cache lookup failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void remember(String key, String framework, String result) {
+        if (result == null || result.startsWith("data:")) {
+            return;
+        }
+        if (supabaseStorageService.isProvisionalUrl(result)) {
+            // The upload failed; the next identical render tries it again and
+            // caches the Supabase URL once it succeeds
+            logger.debug("Not caching provisional local URL for {} image {}", framework, key);
+            return;
+        }
+        memory.put(key, result);
+        try {
+            Date expiresAt = Date.from(Instant.now().plus(Duration.ofDays(ttlDays)));
+            renderedImageCacheRepository.save(new RenderedImageCache(key, framework, result, expiresAt));
+        } catch (Exception e) {
+            logger.debug("Render cache store failed: {}", e.getMessage());
+        }
+    }
+}
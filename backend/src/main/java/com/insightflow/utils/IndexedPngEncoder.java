@@ -0,0 +1,402 @@
+package com.insightflow.utils;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * PNG encoder for the flat-colour diagrams and charts. Instead of 24/32-bit
+ * truecolour it writes a palette image (1, 2, 4 or 8 bits per pixel) without
+ * row filters, which is what compresses best for large uniform areas. The pixel
+ * scratch array, output buffer and Deflater are reused per thread.
+ *
+ * Images with at most 256 colours are encoded losslessly. Beyond that the 256
+ * most frequent colours form the palette and the rest (in these images mostly
+ * antialiasing shades) are mapped to their nearest palette entry.
+ */
+public class IndexedPngEncoder {
+
+    public static final int MAX_COLORS = 256;
+
+    // On the framework diagrams level 9 saves about 10% more but takes ~3x as long
+    public static final int DEFAULT_COMPRESSION_LEVEL = 6;
+
+    private static final byte[] SIGNATURE = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+    private static final int COLOR_TYPE_INDEXED = 3;
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    public static byte[] encode(BufferedImage image) {
+        return encode(image, DEFAULT_COMPRESSION_LEVEL);
+    }
+
+    /**
+     * @param compressionLevel Deflate level, 0 (store) to 9 (smallest)
+     * @return The PNG file bytes
+     */
+    public static byte[] encode(BufferedImage image, int compressionLevel) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        Scratch scratch = SCRATCH.get();
+        int[] pixels = readPixels(image, scratch);
+        int alphaMask = image.getColorModel().hasAlpha() ? 0 : 0xFF000000;
+        int pixelCount = width * height;
+
+        // Pass 1: colour histogram, counting runs to skip most hash lookups
+        ColorTable table = scratch.colors;
+        table.clear();
+        int current = pixels[0] | alphaMask;
+        int run = 0;
+        for (int i = 0; i < pixelCount; i++) {
+            int argb = pixels[i] | alphaMask;
+            if (argb == current) {
+                run++;
+            } else {
+                table.add(current, run);
+                current = argb;
+                run = 1;
+            }
+        }
+        table.add(current, run);
+
+        int[] palette = buildPalette(table);
+
+        // Pass 2 maps through the same table: colour -> palette index
+        table.clear();
+        for (int i = 0; i < palette.length; i++) {
+            table.put(palette[i], i);
+        }
+
+        int bitDepth = palette.length <= 2 ? 1 : palette.length <= 4 ? 2 : palette.length <= 16 ? 4 : 8;
+        int rowLength = 1 + (width * bitDepth + 7) / 8;
+        byte[] row = scratch.row(rowLength);
+
+        Output out = scratch.out;
+        out.reset();
+        out.write(SIGNATURE, 0, SIGNATURE.length);
+        writeHeader(out, width, height, bitDepth);
+        writePalette(out, palette);
+
+        Deflater deflater = scratch.deflater;
+        deflater.reset();
+        deflater.setLevel(compressionLevel);
+        int idatStart = out.beginChunk("IDAT");
+
+        int lastArgb = palette[0];
+        int lastIndex = 0;
+        for (int y = 0; y < height; y++) {
+            Arrays.fill(row, 0, rowLength, (byte) 0); // filter type 0 (none)
+            int offset = y * width;
+            for (int x = 0; x < width; x++) {
+                int argb = pixels[offset + x] | alphaMask;
+                if (argb != lastArgb) {
+                    int index = table.get(argb);
+                    if (index < 0) {
+                        index = nearest(palette, argb);
+                        table.put(argb, index);
+                    }
+                    lastArgb = argb;
+                    lastIndex = index;
+                }
+                if (bitDepth == 8) {
+                    row[1 + x] = (byte) lastIndex;
+                } else {
+                    int bit = x * bitDepth;
+                    row[1 + (bit >> 3)] |= (byte) (lastIndex << (8 - bitDepth - (bit & 7)));
+                }
+            }
+            deflater.setInput(row, 0, rowLength);
+            while (!deflater.needsInput()) {
+                out.deflate(deflater);
+            }
+        }
+        deflater.finish();
+        while (!deflater.finished()) {
+            out.deflate(deflater);
+        }
+        out.endChunk(idatStart);
+
+        out.endChunk(out.beginChunk("IEND"));
+        return out.toByteArray();
+    }
+
+    private static int[] readPixels(BufferedImage image, Scratch scratch) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        WritableRaster raster = image.getRaster();
+        int type = image.getType();
+        // Rendered images are read in place instead of copied through getRGB
+        if ((type == BufferedImage.TYPE_INT_RGB || type == BufferedImage.TYPE_INT_ARGB)
+                && raster.getDataBuffer() instanceof DataBufferInt buffer
+                && raster.getSampleModel() instanceof SinglePixelPackedSampleModel sampleModel
+                && sampleModel.getScanlineStride() == width && buffer.getOffset() == 0
+                && raster.getSampleModelTranslateX() == 0 && raster.getSampleModelTranslateY() == 0) {
+            return buffer.getData();
+        }
+        int[] pixels = scratch.pixels(width * height);
+        image.getRGB(0, 0, width, height, pixels, 0, width);
+        return pixels;
+    }
+
+    /**
+     * @return Palette colours; the most frequent ones if there are too many
+     */
+    private static int[] buildPalette(ColorTable histogram) {
+        int distinct = histogram.size();
+        long[] entries = new long[distinct];
+        int n = 0;
+        for (int slot = 0; slot < histogram.capacity(); slot++) {
+            if (histogram.used[slot]) {
+                entries[n++] = ((long) histogram.values[slot] << 32) | (histogram.keys[slot] & 0xFFFFFFFFL);
+            }
+        }
+        int[] palette = new int[Math.min(distinct, MAX_COLORS)];
+        if (distinct > MAX_COLORS) {
+            Arrays.sort(entries); // ascending by count
+            for (int i = 0; i < palette.length; i++) {
+                palette[i] = (int) entries[distinct - 1 - i];
+            }
+        } else {
+            for (int i = 0; i < distinct; i++) {
+                palette[i] = (int) entries[i];
+            }
+        }
+        return palette;
+    }
+
+    private static int nearest(int[] palette, int argb) {
+        int best = 0;
+        long bestDistance = Long.MAX_VALUE;
+        for (int i = 0; i < palette.length; i++) {
+            int candidate = palette[i];
+            long da = ((argb >>> 24) - (candidate >>> 24));
+            long dr = ((argb >> 16) & 0xFF) - ((candidate >> 16) & 0xFF);
+            long dg = ((argb >> 8) & 0xFF) - ((candidate >> 8) & 0xFF);
+            long db = (argb & 0xFF) - (candidate & 0xFF);
+            // Weighted towards green, roughly following perceived luminance
+            long distance = 3 * da * da + 3 * dr * dr + 4 * dg * dg + 2 * db * db;
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static void writeHeader(Output out, int width, int height, int bitDepth) {
+        int start = out.beginChunk("IHDR");
+        out.writeInt(width);
+        out.writeInt(height);
+        out.writeByte(bitDepth);
+        out.writeByte(COLOR_TYPE_INDEXED);
+        out.writeByte(0); // deflate
+        out.writeByte(0); // adaptive filtering method (rows use filter type none)
+        out.writeByte(0); // not interlaced
+        out.endChunk(start);
+    }
+
+    private static void writePalette(Output out, int[] palette) {
+        int start = out.beginChunk("PLTE");
+        int lastTranslucent = -1;
+        for (int i = 0; i < palette.length; i++) {
+            out.writeByte(palette[i] >> 16);
+            out.writeByte(palette[i] >> 8);
+            out.writeByte(palette[i]);
+            if (palette[i] >>> 24 != 0xFF) {
+                lastTranslucent = i;
+            }
+        }
+        out.endChunk(start);
+
+        // Alpha per palette entry, only up to the last one that is not opaque
+        if (lastTranslucent >= 0) {
+            start = out.beginChunk("tRNS");
+            for (int i = 0; i <= lastTranslucent; i++) {
+                out.writeByte(palette[i] >>> 24);
+            }
+            out.endChunk(start);
+        }
+    }
+
+    /**
+     * Open-addressing int -> int map; ARGB keys need the full int range, so
+     * occupancy is tracked separately
+     */
+    private static class ColorTable {
+        int[] keys = new int[1024];
+        int[] values = new int[1024];
+        boolean[] used = new boolean[1024];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        int capacity() {
+            return keys.length;
+        }
+
+        void clear() {
+            Arrays.fill(used, false);
+            size = 0;
+        }
+
+        void add(int key, int delta) {
+            int slot = find(key);
+            if (used[slot]) {
+                values[slot] += delta;
+            } else {
+                insert(slot, key, delta);
+            }
+        }
+
+        void put(int key, int value) {
+            int slot = find(key);
+            if (used[slot]) {
+                values[slot] = value;
+            } else {
+                insert(slot, key, value);
+            }
+        }
+
+        int get(int key) {
+            int slot = find(key);
+            return used[slot] ? values[slot] : -1;
+        }
+
+        private int find(int key) {
+            int mask = keys.length - 1;
+            int hash = key * 0x9E3779B9;
+            int slot = (hash ^ (hash >>> 16)) & mask;
+            while (used[slot] && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void insert(int slot, int key, int value) {
+            keys[slot] = key;
+            values[slot] = value;
+            used[slot] = true;
+            if (++size * 2 > keys.length) {
+                grow();
+            }
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            boolean[] oldUsed = used;
+            keys = new int[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            used = new boolean[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) {
+                    insert(find(oldKeys[i]), oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Growable output buffer that chunks are written into directly
+     */
+    private static class Output {
+        private final CRC32 crc = new CRC32();
+        private byte[] buffer = new byte[64 * 1024];
+        private int size;
+
+        void reset() {
+            size = 0;
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[size++] = (byte) value;
+        }
+
+        void writeInt(int value) {
+            ensureCapacity(4);
+            buffer[size++] = (byte) (value >>> 24);
+            buffer[size++] = (byte) (value >>> 16);
+            buffer[size++] = (byte) (value >>> 8);
+            buffer[size++] = (byte) value;
+        }
+
+        void write(byte[] bytes, int offset, int length) {
+            ensureCapacity(length);
+            System.arraycopy(bytes, offset, buffer, size, length);
+            size += length;
+        }
+
+        void deflate(Deflater deflater) {
+            ensureCapacity(8 * 1024);
+            size += deflater.deflate(buffer, size, buffer.length - size);
+        }
+
+        /**
+         * Writes a placeholder length and the chunk type
+         *
+         * @return Position of the length field, for {@link #endChunk}
+         */
+        int beginChunk(String type) {
+            int start = size;
+            writeInt(0);
+            byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+            write(typeBytes, 0, typeBytes.length);
+            return start;
+        }
+
+        /**
+         * Fills in the chunk length and appends the CRC over type and data
+         */
+        void endChunk(int start) {
+            int length = size - start - 8;
+            buffer[start] = (byte) (length >>> 24);
+            buffer[start + 1] = (byte) (length >>> 16);
+            buffer[start + 2] = (byte) (length >>> 8);
+            buffer[start + 3] = (byte) length;
+            crc.reset();
+            crc.update(buffer, start + 4, length + 4);
+            writeInt((int) crc.getValue());
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+    }
+
+    private static class Scratch {
+        final ColorTable colors = new ColorTable();
+        final Output out = new Output();
+        final Deflater deflater = new Deflater();
+        private int[] pixels = new int[0];
+        private byte[] row = new byte[0];
+
+        int[] pixels(int length) {
+            if (pixels.length < length) {
+                pixels = new int[length];
+            }
+            return pixels;
+        }
+
+        byte[] row(int length) {
+            if (row.length < length) {
+                row = new byte[length];
+            }
+            return row;
+        }
+    }
+}
@@ -1,17 +1,10 @@
 package com.insightflow.utils;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.time.Duration;
 import java.util.*;
 
 /**
@@ -24,11 +17,8 @@ public class IndustryContextUtil {
 
     private static final Logger logger = LoggerFactory.getLogger(IndustryContextUtil.class);
 
-    @Value("${tavily.api.key}")
-    private String tavilyApiKey;
-
-    private final HttpClient httpClient;
-    private final ObjectMapper objectMapper;
+    @Autowired
+    private TavilyUtil tavilyUtil;
 
     // Industry definitions with competitors
     private static final Map<String, IndustryDefinition> INDUSTRY_DEFINITIONS = new HashMap<>();
@@ -76,13 +66,6 @@ public class IndustryContextUtil {
                 Arrays.asList("PayPal", "Square", "Stripe", "Coinbase", "Robinhood", "Klarna")));
     }
 
-    public IndustryContextUtil() {
-        this.httpClient = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(30))
-                .build();
-        this.objectMapper = new ObjectMapper();
-    }
-
     /**
      * Data class to hold industry definitions
      */
@@ -210,53 +193,16 @@ public class IndustryContextUtil {
     }
 
     /**
-     * Get competitors using Tavily search API
+     * Get competitors using Tavily search API (answers are cached per query by
+     * TavilyUtil)
      */
     private String getCompetitorsFromTavily(String companyName) {
-        if (tavilyApiKey == null || tavilyApiKey.trim().isEmpty()) {
-            logger.debug("Tavily API key not configured, skipping API call");
-            return null;
+        String answer = tavilyUtil.searchAnswer("who are " + companyName + "'s competitors", 5);
+        if (answer != null && !answer.trim().isEmpty()) {
+            logger.info("✅ Got competitors from Tavily for '{}': {}", companyName,
+                    answer.length() > 100 ? answer.substring(0, 100) + "..." : answer);
+            return answer;
         }
-
-        try {
-            String query = "who are " + companyName + "'s competitors";
-
-            // Build Tavily search request
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("api_key", tavilyApiKey);
-            requestBody.put("query", query);
-            requestBody.put("include_answer", "basic");
-            requestBody.put("max_results", 5);
-
-            String requestJson = objectMapper.writeValueAsString(requestBody);
-
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create("https://api.tavily.com/search"))
-                    .header("Content-Type", "application/json")
-                    .POST(HttpRequest.BodyPublishers.ofString(requestJson))
-                    .timeout(Duration.ofSeconds(30))
-                    .build();
-
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() == 200) {
-                JsonNode responseJson = objectMapper.readTree(response.body());
-                JsonNode answerNode = responseJson.get("answer");
-
-                if (answerNode != null && !answerNode.isNull()) {
-                    String answer = answerNode.asText();
-                    logger.info("✅ Got competitors from Tavily for '{}': {}", companyName,
-                            answer.length() > 100 ? answer.substring(0, 100) + "..." : answer);
-                    return answer;
-                }
-            } else {
-                logger.debug("Tavily search API returned status code: {} for company: {}",
-                        response.statusCode(), companyName);
-            }
-        } catch (Exception e) {
-            logger.debug("Error calling Tavily search API for company '{}': {}", companyName, e.getMessage());
-        }
-
         return null;
     }
 
@@ -0,0 +1,177 @@
+package com.insightflow.utils;
+
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters for the tiered LinkedIn extraction: how often each tier was tried,
+ * how often it served the request, and how often it had to escalate. The
+ * browser tier's attempt count is the number of Chrome sessions started for
+ * LinkedIn analysis.
+ */
+@Component
+public class LinkedInExtractionMetrics {
+
+    /**
+     * Extraction tiers, cheapest (and least complete) first; the analysis
+     * cache relies on this order to rank cached results
+     */
+    public enum Tier {
+        PUBLIC_PAGE, TAVILY_CRAWL, BROWSER
+    }
+
+    private static class TierCounters {
+        final AtomicLong attempts = new AtomicLong();
+        final AtomicLong served = new AtomicLong();
+        final AtomicLong insufficient = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        final AtomicLong servedMillis = new AtomicLong();
+    }
+
+    private static class PageLoadCounters {
+        final AtomicLong pages = new AtomicLong();
+        final AtomicLong loadMillis = new AtomicLong();
+        final AtomicLong resources = new AtomicLong();
+        final AtomicLong transferBytes = new AtomicLong();
+        final AtomicLong jsHeapBytes = new AtomicLong();
+    }
+
+    private final Map<Tier, TierCounters> counters = new EnumMap<>(Tier.class);
+    // Browser page loads with and without resource blocking, for comparison
+    private final PageLoadCounters blockedLoads = new PageLoadCounters();
+    private final PageLoadCounters unblockedLoads = new PageLoadCounters();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong browserRateLimited = new AtomicLong();
+    private final AtomicLong cacheFreshHits = new AtomicLong();
+    private final AtomicLong cacheStaleHits = new AtomicLong();
+    private final AtomicLong backgroundRefreshes = new AtomicLong();
+
+    public LinkedInExtractionMetrics() {
+        for (Tier tier : Tier.values()) {
+            counters.put(tier, new TierCounters());
+        }
+    }
+
+    public void recordRequest() {
+        requests.incrementAndGet();
+    }
+
+    public void recordAttempt(Tier tier) {
+        counters.get(tier).attempts.incrementAndGet();
+    }
+
+    public void recordServed(Tier tier, long durationMs) {
+        TierCounters tierCounters = counters.get(tier);
+        tierCounters.served.incrementAndGet();
+        tierCounters.servedMillis.addAndGet(durationMs);
+    }
+
+    /**
+     * The tier returned content, but not enough to pass its quality threshold.
+     */
+    public void recordInsufficient(Tier tier) {
+        counters.get(tier).insufficient.incrementAndGet();
+    }
+
+    public void recordFailure(Tier tier) {
+        counters.get(tier).failed.incrementAndGet();
+    }
+
+    /**
+     * The browser tier was needed but no LinkedIn slot was free.
+     */
+    public void recordBrowserRateLimited() {
+        browserRateLimited.incrementAndGet();
+    }
+
+    /**
+     * A cached analysis was served; stale hits also trigger a refresh.
+     */
+    public void recordCacheHit(boolean fresh) {
+        (fresh ? cacheFreshHits : cacheStaleHits).incrementAndGet();
+    }
+
+    public void recordBackgroundRefresh() {
+        backgroundRefreshes.incrementAndGet();
+    }
+
+    /**
+     * Records one browser page load, as read by
+     * {@link ChromeDriverUtil#readPageLoadStats}
+     */
+    public void recordPageLoad(boolean resourceBlocking, Map<String, Long> stats) {
+        if (stats.isEmpty()) {
+            return;
+        }
+        PageLoadCounters loads = resourceBlocking ? blockedLoads : unblockedLoads;
+        loads.pages.incrementAndGet();
+        loads.loadMillis.addAndGet(stats.getOrDefault("loadMs", 0L));
+        loads.resources.addAndGet(stats.getOrDefault("resources", 0L));
+        loads.transferBytes.addAndGet(stats.getOrDefault("transferBytes", 0L));
+        loads.jsHeapBytes.addAndGet(stats.getOrDefault("jsHeapBytes", 0L));
+    }
+
+    /**
+     * @return Number of times the given tier served a request
+     */
+    public long getServed(Tier tier) {
+        return counters.get(tier).served.get();
+    }
+
+    /**
+     * @return Number of times the given tier was tried
+     */
+    public long getAttempts(Tier tier) {
+        return counters.get(tier).attempts.get();
+    }
+
+    /**
+     * @return Point-in-time view of all counters, suitable for a JSON response
+     */
+    public Map<String, Object> getSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        long totalRequests = requests.get();
+        snapshot.put("requests", totalRequests);
+        snapshot.put("browser_sessions", getAttempts(Tier.BROWSER));
+        snapshot.put("browser_rate_limited", browserRateLimited.get());
+        snapshot.put("served_without_browser", getServed(Tier.PUBLIC_PAGE) + getServed(Tier.TAVILY_CRAWL));
+        snapshot.put("cache_fresh_hits", cacheFreshHits.get());
+        snapshot.put("cache_stale_hits", cacheStaleHits.get());
+        snapshot.put("background_refreshes", backgroundRefreshes.get());
+
+        Map<String, Object> tiers = new LinkedHashMap<>();
+        for (Tier tier : Tier.values()) {
+            TierCounters tierCounters = counters.get(tier);
+            long served = tierCounters.served.get();
+            Map<String, Object> tierSnapshot = new LinkedHashMap<>();
+            tierSnapshot.put("attempts", tierCounters.attempts.get());
+            tierSnapshot.put("served", served);
+            tierSnapshot.put("insufficient", tierCounters.insufficient.get());
+            tierSnapshot.put("failed", tierCounters.failed.get());
+            tierSnapshot.put("avg_served_ms", served > 0 ? tierCounters.servedMillis.get() / served : 0);
+            tiers.put(tier.name().toLowerCase(), tierSnapshot);
+        }
+        snapshot.put("tiers", tiers);
+
+        Map<String, Object> pageLoads = new LinkedHashMap<>();
+        pageLoads.put("resource_blocking", pageLoadSnapshot(blockedLoads));
+        pageLoads.put("no_blocking", pageLoadSnapshot(unblockedLoads));
+        snapshot.put("page_loads", pageLoads);
+        return snapshot;
+    }
+
+    private Map<String, Object> pageLoadSnapshot(PageLoadCounters loads) {
+        long pages = loads.pages.get();
+        Map<String, Object> pageSnapshot = new LinkedHashMap<>();
+        pageSnapshot.put("pages", pages);
+        pageSnapshot.put("avg_load_ms", pages > 0 ? loads.loadMillis.get() / pages : 0);
+        pageSnapshot.put("avg_resources", pages > 0 ? loads.resources.get() / pages : 0);
+        pageSnapshot.put("avg_transfer_bytes", pages > 0 ? loads.transferBytes.get() / pages : 0);
+        pageSnapshot.put("avg_js_heap_bytes", pages > 0 ? loads.jsHeapBytes.get() / pages : 0);
+        return pageSnapshot;
+    }
+}
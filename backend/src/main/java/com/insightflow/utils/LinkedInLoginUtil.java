@@ -0,0 +1,135 @@
+package com.insightflow.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * Gets a browser logged in to LinkedIn: the saved session from
+ * {@link LinkedInSessionStore} is reused when LinkedIn still accepts it, and
+ * only otherwise is the human-like form login performed (and its session
+ * saved for the next browser).
+ */
+@Component
+public class LinkedInLoginUtil {
+
+    private static final Logger logger = LoggerFactory.getLogger(LinkedInLoginUtil.class);
+
+    @Value("${linkedin.email}")
+    private String linkedinEmail;
+
+    @Value("${linkedin.password}")
+    private String linkedinPassword;
+
+    @Autowired
+    private LinkedInSessionStore linkedInSessionStore;
+
+    @Autowired
+    private ContentExtractionUtil contentExtractionUtil;
+
+    private final Random random = new Random();
+
+    /**
+     * LinkedIn answered the login with a CAPTCHA or security checkpoint
+     */
+    public static class CheckpointException extends RuntimeException {
+        private final String url;
+
+        public CheckpointException(String url) {
+            super("CAPTCHA or security challenge detected after login. URL: " + url);
+            this.url = url;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+    }
+
+    /**
+     * Restores the saved session or logs in with the configured account
+     *
+     * @param driver Browser to log in; left on the LinkedIn feed
+     * @throws CheckpointException if LinkedIn asks for a CAPTCHA or
+     *                             verification instead of logging in
+     */
+    public void ensureLoggedIn(WebDriver driver) throws InterruptedException {
+        if (linkedInSessionStore.restore(driver)) {
+            logger.info("Reusing saved LinkedIn session, login skipped");
+            return;
+        }
+
+        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(30));
+        logger.info("Navigating to LinkedIn login page");
+        driver.get("https://www.linkedin.com/login");
+
+        logger.info("Waiting for username field to be present...");
+        wait.until(ExpectedConditions.presenceOfElementLocated(By.id("username")));
+
+        // Short random pause to simulate reading once the form is actually there
+        int readingDelay = 500 + random.nextInt(1000);
+        logger.info("Simulating page reading delay: {} ms", readingDelay);
+        Thread.sleep(readingDelay);
+
+        // Type credentials with human-like delays
+        logger.info("Typing username: {}", linkedinEmail.replaceAll(".(?=.{2})", "*")); // Mask email for security
+        typeHumanLike(driver.findElement(By.id("username")), linkedinEmail);
+
+        int betweenFieldsDelay = 500 + random.nextInt(1000);
+        logger.info("Delay between username and password fields: {} ms", betweenFieldsDelay);
+        Thread.sleep(betweenFieldsDelay);
+
+        logger.info("Typing password: [MASKED]");
+        typeHumanLike(driver.findElement(By.id("password")), linkedinPassword);
+
+        int beforeSubmitDelay = 1000 + random.nextInt(1500);
+        logger.info("Delay before submit: {} ms", beforeSubmitDelay);
+        Thread.sleep(beforeSubmitDelay);
+
+        logger.info("Clicking login submit button...");
+        driver.findElement(By.xpath("//button[@type='submit']")).click();
+
+        logger.info("Waiting for login completion (feed or checkpoint)...");
+        wait.until(ExpectedConditions.or(
+                ExpectedConditions.urlContains("linkedin.com/feed"),
+                ExpectedConditions.urlContains("linkedin.com/checkpoint")));
+
+        // Let the landing page finish loading before inspecting it
+        contentExtractionUtil.waitForPageContent(driver);
+
+        String currentUrl = driver.getCurrentUrl();
+        logger.info("Current URL after login attempt: {}", currentUrl);
+        if (currentUrl.contains("checkpoint") || currentUrl.contains("captcha")) {
+            logger.error("❌ CAPTCHA or security checkpoint detected at URL: {}", currentUrl);
+            throw new CheckpointException(currentUrl);
+        }
+
+        logger.info("✅ Login successful, no CAPTCHA detected");
+        linkedInSessionStore.save(driver);
+    }
+
+    /**
+     * Types text with human-like delays to avoid detection
+     */
+    private void typeHumanLike(WebElement element, String text) {
+        element.clear();
+        for (char c : text.toCharArray()) {
+            element.sendKeys(String.valueOf(c));
+            try {
+                Thread.sleep(50 + random.nextInt(100)); // Random delay between keystrokes
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+}
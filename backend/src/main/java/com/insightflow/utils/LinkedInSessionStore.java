@@ -0,0 +1,422 @@
+package com.insightflow.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.PBEKeySpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encrypted on-disk store for the authenticated LinkedIn browser session.
+ *
+ * After a successful login the cookies and localStorage of linkedin.com are
+ * saved (AES-GCM, key derived from {@code linkedin.session.secret}). New
+ * drivers get them injected and the session is checked with a single
+ * navigation, so the full human-like login only runs when the session has
+ * actually expired.
+ */
+@Component
+public class LinkedInSessionStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(LinkedInSessionStore.class);
+
+    private static final String LINKEDIN_ORIGIN = "https://www.linkedin.com";
+    private static final String AUTH_COOKIE = "li_at";
+
+    private static final byte[] FILE_MAGIC = "IFLS1".getBytes(StandardCharsets.US_ASCII);
+    private static final int SALT_BYTES = 16;
+    private static final int IV_BYTES = 12;
+    private static final int KEY_ITERATIONS = 65536;
+
+    // Fields accepted by CDP Network.setCookies
+    private static final List<String> CDP_COOKIE_FIELDS = List.of(
+            "name", "value", "domain", "path", "secure", "httpOnly", "sameSite", "expires");
+
+    @Value("${linkedin.session.enabled:true}")
+    private boolean enabled;
+
+    @Value("${linkedin.session.file:${user.home}/.insightflow/linkedin-session.enc}")
+    private String sessionFile;
+
+    @Value("${linkedin.session.secret:${jwt.secret:}}")
+    private String secret;
+
+    @Value("${linkedin.session.max-age-hours:168}")
+    private long maxAgeHours;
+
+    @Value("${linkedin.email:}")
+    private String linkedinEmail;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    /**
+     * Serialized form of a saved session
+     */
+    public static class StoredSession {
+        public String account;
+        public long savedAt;
+        public List<Map<String, Object>> cookies = new ArrayList<>();
+        public Map<String, String> localStorage = new HashMap<>();
+    }
+
+    /**
+     * Injects the saved session into the driver and checks that LinkedIn still
+     * accepts it.
+     *
+     * @param driver Fresh driver, not yet logged in
+     * @return true if the driver is now logged in and login can be skipped
+     */
+    public boolean restore(WebDriver driver) {
+        StoredSession session = load();
+        if (session == null) {
+            return false;
+        }
+        if (!hasLiveAuthCookie(session)) {
+            logger.info("Saved LinkedIn session has no valid auth cookie, login required");
+            invalidate();
+            return false;
+        }
+
+        long start = System.currentTimeMillis();
+        try {
+            injectCookies(driver, session.cookies);
+
+            if (!session.localStorage.isEmpty()) {
+                // localStorage is per origin, so the driver has to be on linkedin.com first
+                driver.get(LINKEDIN_ORIGIN + "/robots.txt");
+                ((JavascriptExecutor) driver).executeScript(
+                        "for (const [k, v] of Object.entries(arguments[0])) { localStorage.setItem(k, v); }",
+                        session.localStorage);
+            }
+
+            driver.get(LINKEDIN_ORIGIN + "/feed/");
+            String currentUrl = driver.getCurrentUrl();
+            if (isLoggedInUrl(currentUrl)) {
+                logger.info("✅ Restored saved LinkedIn session in {} ms",
+                        System.currentTimeMillis() - start);
+                // LinkedIn rotates some cookies, keep the saved copy current
+                save(driver);
+                return true;
+            }
+
+            logger.info("Saved LinkedIn session was rejected (landed on {}), login required", currentUrl);
+        } catch (Exception e) {
+            logger.warn("Could not restore saved LinkedIn session: {}", e.getMessage());
+        }
+
+        invalidate();
+        clearCookies(driver);
+        return false;
+    }
+
+    /**
+     * Captures the cookies and localStorage of a logged-in driver.
+     *
+     * @param driver Driver with an authenticated LinkedIn session
+     */
+    public void save(WebDriver driver) {
+        if (!isUsable()) {
+            return;
+        }
+        try {
+            StoredSession session = new StoredSession();
+            session.account = accountId();
+            session.savedAt = System.currentTimeMillis();
+            session.cookies = readCookies(driver);
+            session.localStorage = readLocalStorage(driver);
+
+            if (!hasLiveAuthCookie(session)) {
+                logger.warn("Driver has no LinkedIn auth cookie, not saving session");
+                return;
+            }
+
+            write(objectMapper.writeValueAsBytes(session));
+            logger.info("Saved LinkedIn session ({} cookies, {} localStorage entries)",
+                    session.cookies.size(), session.localStorage.size());
+        } catch (Exception e) {
+            logger.warn("Failed to save LinkedIn session: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Drops the saved session, e.g. after LinkedIn rejected it or raised a
+     * checkpoint.
+     */
+    public synchronized void invalidate() {
+        try {
+            if (Files.deleteIfExists(Paths.get(sessionFile))) {
+                logger.info("Removed saved LinkedIn session");
+            }
+        } catch (Exception e) {
+            logger.warn("Failed to remove saved LinkedIn session: {}", e.getMessage());
+        }
+    }
+
+    private boolean isUsable() {
+        if (!enabled) {
+            return false;
+        }
+        if (secret == null || secret.isBlank()) {
+            logger.debug("No linkedin.session.secret configured, session persistence disabled");
+            return false;
+        }
+        return true;
+    }
+
+    private StoredSession load() {
+        if (!isUsable()) {
+            return null;
+        }
+        try {
+            byte[] plain = read();
+            if (plain == null) {
+                return null;
+            }
+            StoredSession session = objectMapper.readValue(plain, StoredSession.class);
+
+            if (!accountId().equals(session.account)) {
+                logger.info("Saved LinkedIn session belongs to a different account, ignoring it");
+                invalidate();
+                return null;
+            }
+            if (System.currentTimeMillis() - session.savedAt > TimeUnit.HOURS.toMillis(maxAgeHours)) {
+                logger.info("Saved LinkedIn session is older than {} hours, ignoring it", maxAgeHours);
+                invalidate();
+                return null;
+            }
+            return session;
+        } catch (Exception e) {
+            // Wrong key or corrupted file
+            logger.warn("Could not read saved LinkedIn session: {}", e.getMessage());
+            invalidate();
+            return null;
+        }
+    }
+
+    private void injectCookies(WebDriver driver, List<Map<String, Object>> cookies) {
+        if (driver instanceof HasCdp) {
+            List<Map<String, Object>> params = new ArrayList<>();
+            for (Map<String, Object> cookie : cookies) {
+                Map<String, Object> param = new LinkedHashMap<>();
+                for (String field : CDP_COOKIE_FIELDS) {
+                    Object value = cookie.get(field);
+                    if (value != null) {
+                        param.put(field, value);
+                    }
+                }
+                // Session cookies are reported with a negative expiry
+                if (param.get("expires") instanceof Number && ((Number) param.get("expires")).doubleValue() < 0) {
+                    param.remove("expires");
+                }
+                params.add(param);
+            }
+            ((HasCdp) driver).executeCdpCommand("Network.setCookies", Map.of("cookies", params));
+            return;
+        }
+
+        // Plain WebDriver can only set cookies for the page it is on
+        driver.get(LINKEDIN_ORIGIN + "/robots.txt");
+        for (Map<String, Object> cookie : cookies) {
+            Cookie.Builder builder = new Cookie.Builder((String) cookie.get("name"), (String) cookie.get("value"))
+                    .domain((String) cookie.get("domain"))
+                    .path((String) cookie.getOrDefault("path", "/"))
+                    .isSecure(Boolean.TRUE.equals(cookie.get("secure")))
+                    .isHttpOnly(Boolean.TRUE.equals(cookie.get("httpOnly")));
+            if (cookie.get("expires") instanceof Number && ((Number) cookie.get("expires")).doubleValue() > 0) {
+                builder.expiresOn(new Date((long) (((Number) cookie.get("expires")).doubleValue() * 1000)));
+            }
+            try {
+                driver.manage().addCookie(builder.build());
+            } catch (Exception e) {
+                logger.debug("Skipping cookie {}: {}", cookie.get("name"), e.getMessage());
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> readCookies(WebDriver driver) {
+        List<Map<String, Object>> cookies = new ArrayList<>();
+        if (driver instanceof HasCdp) {
+            Map<String, Object> result = ((HasCdp) driver).executeCdpCommand("Network.getAllCookies", Map.of());
+            for (Map<String, Object> cookie : (List<Map<String, Object>>) result.get("cookies")) {
+                if (String.valueOf(cookie.get("domain")).contains("linkedin.com")) {
+                    cookies.add(new HashMap<>(cookie));
+                }
+            }
+            return cookies;
+        }
+
+        for (Cookie cookie : driver.manage().getCookies()) {
+            Map<String, Object> map = new HashMap<>();
+            map.put("name", cookie.getName());
+            map.put("value", cookie.getValue());
+            map.put("domain", cookie.getDomain());
+            map.put("path", cookie.getPath());
+            map.put("secure", cookie.isSecure());
+            map.put("httpOnly", cookie.isHttpOnly());
+            map.put("expires", cookie.getExpiry() != null ? cookie.getExpiry().getTime() / 1000.0 : -1);
+            cookies.add(map);
+        }
+        return cookies;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, String> readLocalStorage(WebDriver driver) {
+        Map<String, String> storage = new HashMap<>();
+        try {
+            String currentUrl = driver.getCurrentUrl();
+            if (currentUrl == null || !currentUrl.startsWith(LINKEDIN_ORIGIN)) {
+                return storage;
+            }
+            Object result = ((JavascriptExecutor) driver)
+                    .executeScript("return Object.assign({}, window.localStorage);");
+            if (result instanceof Map) {
+                ((Map<String, Object>) result).forEach((k, v) -> storage.put(k, String.valueOf(v)));
+            }
+        } catch (Exception e) {
+            logger.debug("Could not read LinkedIn localStorage: {}", e.getMessage());
+        }
+        return storage;
+    }
+
+    private void clearCookies(WebDriver driver) {
+        try {
+            if (driver instanceof HasCdp) {
+                ((HasCdp) driver).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            } else {
+                driver.manage().deleteAllCookies();
+            }
+        } catch (Exception e) {
+            logger.debug("Could not clear cookies after rejected session: {}", e.getMessage());
+        }
+    }
+
+    private boolean hasLiveAuthCookie(StoredSession session) {
+        double nowSeconds = System.currentTimeMillis() / 1000.0;
+        return session.cookies.stream()
+                .filter(c -> AUTH_COOKIE.equals(c.get("name")))
+                .anyMatch(c -> {
+                    Object expires = c.get("expires");
+                    return !(expires instanceof Number)
+                            || ((Number) expires).doubleValue() < 0
+                            || ((Number) expires).doubleValue() > nowSeconds;
+                });
+    }
+
+    private boolean isLoggedInUrl(String url) {
+        if (url == null) {
+            return false;
+        }
+        String lower = url.toLowerCase();
+        return lower.contains("linkedin.com/feed")
+                && !lower.contains("login")
+                && !lower.contains("authwall")
+                && !lower.contains("checkpoint");
+    }
+
+    /**
+     * Hash of the configured login, so a changed account never reuses another
+     * account's session
+     */
+    private String accountId() throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        return HexFormat.of().formatHex(digest.digest(
+                (linkedinEmail == null ? "" : linkedinEmail.trim().toLowerCase()).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private synchronized void write(byte[] plain) throws Exception {
+        byte[] salt = new byte[SALT_BYTES];
+        byte[] iv = new byte[IV_BYTES];
+        secureRandom.nextBytes(salt);
+        secureRandom.nextBytes(iv);
+
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, deriveKey(salt), new GCMParameterSpec(128, iv));
+        cipher.updateAAD(FILE_MAGIC);
+        byte[] encrypted = cipher.doFinal(plain);
+
+        ByteBuffer out = ByteBuffer.allocate(FILE_MAGIC.length + SALT_BYTES + IV_BYTES + encrypted.length);
+        out.put(FILE_MAGIC).put(salt).put(iv).put(encrypted);
+
+        Path target = Paths.get(sessionFile);
+        if (target.getParent() != null) {
+            Files.createDirectories(target.getParent());
+        }
+        Path temp = Files.createTempFile(target.getParent() != null ? target.getParent() : Paths.get("."),
+                "linkedin-session", ".tmp");
+        try {
+            // createTempFile is owner-only on POSIX file systems
+            Files.write(temp, out.array());
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private synchronized byte[] read() throws Exception {
+        Path path = Paths.get(sessionFile);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        byte[] data = Files.readAllBytes(path);
+        int headerLength = FILE_MAGIC.length + SALT_BYTES + IV_BYTES;
+        if (data.length <= headerLength) {
+            throw new IllegalStateException("session file is truncated");
+        }
+        for (int i = 0; i < FILE_MAGIC.length; i++) {
+            if (data[i] != FILE_MAGIC[i]) {
+                throw new IllegalStateException("unknown session file format");
+            }
+        }
+
+        ByteBuffer in = ByteBuffer.wrap(data);
+        in.position(FILE_MAGIC.length);
+        byte[] salt = new byte[SALT_BYTES];
+        byte[] iv = new byte[IV_BYTES];
+        in.get(salt).get(iv);
+        byte[] encrypted = new byte[in.remaining()];
+        in.get(encrypted);
+
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, deriveKey(salt), new GCMParameterSpec(128, iv));
+        cipher.updateAAD(FILE_MAGIC);
+        return cipher.doFinal(encrypted);
+    }
+
+    private SecretKeySpec deriveKey(byte[] salt) throws Exception {
+        PBEKeySpec spec = new PBEKeySpec(secret.toCharArray(), salt, KEY_ITERATIONS, 256);
+        try {
+            byte[] key = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA256").generateSecret(spec).getEncoded();
+            return new SecretKeySpec(key, "AES");
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
@@ -1,23 +1,40 @@
 package com.insightflow.utils;
 
+import com.insightflow.models.LinkedInSlugCache;
+import com.insightflow.repositories.LinkedInSlugCacheRepository;
+import jakarta.annotation.PostConstruct;
+import org.jsoup.Connection;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import org.springframework.web.reactive.function.client.WebClient;
 
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntFunction;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * Utility service for generating and validating LinkedIn company slugs.
@@ -29,6 +46,10 @@ import java.util.regex.Pattern;
  * - Dynamic search using TavilyUtil
  * - Enhanced validation with Chrome and Jsoup
  * - Fallback slug generation when all else fails
+ *
+ * Resolved slugs are cached in MongoDB by normalized company name, including
+ * companies for which no LinkedIn page was found, so repeat lookups for the
+ * same company are a single indexed read.
  */
 @Component
 public class LinkedInSlugUtil {
@@ -38,14 +59,63 @@ public class LinkedInSlugUtil {
     @Autowired
     private TavilyUtil tavilyUtil;
 
-    private final Random random = new Random();
-    private final String[] userAgents = {
-            "Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:119.0) Gecko/20100101 Firefox/119.0",
-            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10.15; rv:119.0) Gecko/20100101 Firefox/119.0",
-            "Mozilla/5.0 (X11; Linux x86_64; rv:119.0) Gecko/20100101 Firefox/119.0",
-            "Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:118.0) Gecko/20100101 Firefox/118.0",
-            "Mozilla/5.0 (Macintosh; Intel Mac OS X 10.14; rv:118.0) Gecko/20100101 Firefox/118.0"
-    };
+    @Autowired
+    private HttpPageCache httpPageCache;
+
+    @Autowired
+    private WebDriverPool webDriverPool;
+
+    @Autowired
+    private ContentExtractionUtil contentExtractionUtil;
+
+    @Autowired
+    @Qualifier("outboundWebClient")
+    private WebClient outboundWebClient;
+
+    @Autowired
+    private LinkedInSlugCacheRepository slugCacheRepository;
+
+    @Value("${linkedin.slug-cache.enabled:true}")
+    private boolean slugCacheEnabled;
+
+    @Value("${linkedin.slug-cache.ttl-days:30}")
+    private long slugCacheTtlDays;
+
+    // Companies without a page are retried sooner in case one gets created
+    @Value("${linkedin.slug-cache.negative-ttl-hours:24}")
+    private long slugCacheNegativeTtlHours;
+
+    @Autowired
+    @Qualifier("scrapingExecutor")
+    private ThreadPoolTaskExecutor scrapingExecutor;
+
+    // All candidate pages live on www.linkedin.com, so this is the per-host limit
+    @Value("${linkedin.validation.max-concurrency:3}")
+    private int validationMaxConcurrency;
+
+    @Value("${linkedin.validation.deadline-ms:45000}")
+    private long validationDeadlineMs;
+
+    @Value("${linkedin.validation.cache-ttl-minutes:360}")
+    private long validationCacheTtlMinutes;
+
+    @Value("${linkedin.validation.clear-win.relevance:100}")
+    private double clearWinRelevance;
+
+    @Value("${linkedin.validation.clear-win.followers:10000}")
+    private int clearWinFollowers;
+
+    private Semaphore linkedInHostPermits;
+
+    // Follower counts by slug, shared by Chrome and Jsoup validation
+    private final Map<String, CachedFollowerCount> followerCountCache = new ConcurrentHashMap<>();
+
+    // Shared Jsoup session so LinkedIn page fetches reuse keep-alive connections
+    private final Connection linkedInSession = Jsoup.newSession()
+            .userAgent(
+                    "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36")
+            .timeout(10000)
+            .followRedirects(true);
 
     /**
      * Helper class to store LinkedIn company candidate information
@@ -91,6 +161,13 @@ public class LinkedInSlugUtil {
             return hardcodedSlug;
         }
 
+        LinkedInSlugCache cached = lookupCachedSlug(normalizedName);
+        if (cached != null) {
+            logger.info("✓ Using cached slug: {} -> {} ({}, confidence {}{})", companyName, cached.getSlug(),
+                    cached.getSelectionMethod(), cached.getConfidence(), cached.isFound() ? "" : ", no page found");
+            return cached.getSlug();
+        }
+
         // Strategy 2: Dynamic search using TavilyUtil with multiple fallback strategies
         try {
             logger.info("Attempting dynamic LinkedIn search for: {}", companyName);
@@ -112,6 +189,7 @@ public class LinkedInSlugUtil {
                         companyName);
                 String fallbackSlug = generateEnhancedFallbackSlug(companyName);
                 logger.info("Generated fallback slug: {} -> {}", companyName, fallbackSlug);
+                cacheSlug(normalizedName, companyName, fallbackSlug, false, 0.0, "name-fallback");
                 return fallbackSlug;
             }
 
@@ -126,15 +204,20 @@ public class LinkedInSlugUtil {
                 if (directSlug != null) {
                     logger.info("✓ Found valid LinkedIn slug via direct URL validation: {} -> {}", companyName,
                             directSlug);
+                    cacheSlug(normalizedName, companyName, directSlug, true, 0.0, "head-validation");
                     return directSlug;
                 }
 
                 logger.warn("Direct URL validation also failed, using fallback slug generation...");
-                return generateFallbackSlug(companyName, searchResults);
+                String fallbackSlug = generateFallbackSlug(companyName, searchResults);
+                cacheSlug(normalizedName, companyName, fallbackSlug, false, 0.0, "search-fallback");
+                return fallbackSlug;
             }
 
             // Enhanced candidate selection with multiple strategies
-            return selectBestLinkedInCandidate(companyName, candidates);
+            CompanyCandidate best = selectBestCandidate(companyName, candidates);
+            cacheSlug(normalizedName, companyName, best.slug, true, best.relevanceScore, best.selectionMethod);
+            return best.slug;
 
         } catch (Exception e) {
             logger.error("Failed to dynamically find LinkedIn slug for {}: {}", companyName, e.getMessage(), e);
@@ -143,6 +226,53 @@ public class LinkedInSlugUtil {
         }
     }
 
+    /**
+     * Removes the cached slug for a company so the next lookup resolves it again.
+     */
+    public void evictCachedSlug(String companyName) {
+        if (companyName == null || companyName.trim().isEmpty()) {
+            return;
+        }
+        try {
+            slugCacheRepository.deleteById(slugCacheKey(companyName.toLowerCase().trim()));
+        } catch (Exception e) {
+            logger.debug("LinkedIn slug cache evict failed: {}", e.getMessage());
+        }
+    }
+
+    private String slugCacheKey(String normalizedName) {
+        return normalizedName.replaceAll("\\s+", " ");
+    }
+
+    private LinkedInSlugCache lookupCachedSlug(String normalizedName) {
+        if (!slugCacheEnabled) {
+            return null;
+        }
+        try {
+            return slugCacheRepository.findById(slugCacheKey(normalizedName))
+                    .filter(entry -> !entry.isExpired())
+                    .orElse(null);
+        } catch (Exception e) {
+            logger.debug("LinkedIn slug cache lookup failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void cacheSlug(String normalizedName, String companyName, String slug, boolean found,
+            double confidence, String selectionMethod) {
+        if (!slugCacheEnabled || slug == null || slug.isEmpty()) {
+            return;
+        }
+        try {
+            Duration ttl = found ? Duration.ofDays(slugCacheTtlDays) : Duration.ofHours(slugCacheNegativeTtlHours);
+            Date expiresAt = Date.from(Instant.now().plus(ttl));
+            slugCacheRepository.save(new LinkedInSlugCache(slugCacheKey(normalizedName), companyName, slug, found,
+                    confidence, selectionMethod, expiresAt));
+        } catch (Exception e) {
+            logger.debug("LinkedIn slug cache store failed: {}", e.getMessage());
+        }
+    }
+
     /**
      * Gets hardcoded slug mappings for common companies
      */
@@ -287,6 +417,10 @@ public class LinkedInSlugUtil {
      * Enhanced candidate selection with comprehensive fallback strategies
      */
     public String selectBestLinkedInCandidate(String companyName, List<CompanyCandidate> candidates) {
+        return selectBestCandidate(companyName, candidates).slug;
+    }
+
+    private CompanyCandidate selectBestCandidate(String companyName, List<CompanyCandidate> candidates) {
         logger.info("=== SELECTING BEST LINKEDIN CANDIDATE FOR: {} ===", companyName);
         logger.info("Total candidates to evaluate: {}", candidates.size());
 
@@ -297,13 +431,14 @@ public class LinkedInSlugUtil {
 
             // Quick relevance check for single candidate
             double relevance = calculateRelevanceScore(companyName, single);
+            single.relevanceScore = relevance;
+            single.selectionMethod = "single-candidate";
             if (relevance > 30.0) { // Lower threshold for single candidate
                 logger.info("✓ Single candidate accepted with relevance: {}", relevance);
-                return single.slug;
             } else {
                 logger.warn("⚠ Single candidate has low relevance ({}), but proceeding anyway", relevance);
-                return single.slug;
             }
+            return single;
         }
 
         // Multiple candidates - comprehensive selection
@@ -324,7 +459,7 @@ public class LinkedInSlugUtil {
             chromeValidated.selectionMethod = "chrome-validation";
             logger.info("✓ Chrome validation successful: {} (followers: {})",
                     chromeValidated.slug, chromeValidated.followerCount);
-            return chromeValidated.slug;
+            return chromeValidated;
         }
 
         // Strategy 2: Try Jsoup validation (lightweight alternative)
@@ -334,7 +469,7 @@ public class LinkedInSlugUtil {
             jsoupValidated.selectionMethod = "jsoup-validation";
             logger.info("✓ Jsoup validation successful: {} (followers: {})",
                     jsoupValidated.slug, jsoupValidated.followerCount);
-            return jsoupValidated.slug;
+            return jsoupValidated;
         }
 
         // Strategy 3: Enhanced heuristic selection
@@ -344,7 +479,7 @@ public class LinkedInSlugUtil {
         logger.info("✓ Heuristic selection completed: {} (relevance: {:.2f})",
                 heuristicBest.slug, heuristicBest.relevanceScore);
 
-        return heuristicBest.slug;
+        return heuristicBest;
     }
 
     /**
@@ -459,97 +594,87 @@ public class LinkedInSlugUtil {
     }
 
     /**
-     * Attempts Chrome-based validation (with better error handling)
+     * Reads a candidate's follower count. A probe belongs to one validation
+     * worker and may hold a resource, such as a leased browser, until closed.
      */
-    private CompanyCandidate tryChromeValidation(String companyName, List<CompanyCandidate> candidates) {
-        WebDriver driver = null;
-        String tempUserDataDir = null;
+    private interface FollowerProbe extends AutoCloseable {
+        int followerCount(CompanyCandidate candidate) throws Exception;
 
-        try {
-            // Setup lightweight Chrome instance for validation
-            WebDriverManager.chromedriver().setup();
-            ChromeOptions options = new ChromeOptions();
-
-            tempUserDataDir = System.getProperty("java.io.tmpdir") + "chrome_validate_" +
-                    System.currentTimeMillis() + "_" + random.nextInt(10000);
-
-            options.addArguments("--headless=new");
-            options.addArguments("--disable-gpu");
-            options.addArguments("--no-sandbox");
-            options.addArguments("--disable-dev-shm-usage");
-            options.addArguments("--disable-blink-features=AutomationControlled");
-            options.addArguments("--user-data-dir=" + tempUserDataDir);
-            options.addArguments("--disable-notifications");
-            options.addArguments("--timeout=10000");
-            options.addArguments("user-agent=" + userAgents[random.nextInt(userAgents.length)]);
-
-            driver = new ChromeDriver(options);
-            driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(10));
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(5));
-
-            // Check each candidate
-            for (CompanyCandidate candidate : candidates) {
-                try {
-                    logger.info("Validating candidate: {} for company: {}", candidate.slug, companyName);
-
-                    // Navigate to the LinkedIn company page (public view)
-                    String publicUrl = "https://www.linkedin.com/company/" + candidate.slug;
-                    driver.get(publicUrl);
-                    Thread.sleep(2000); // Wait for page load
+        @Override
+        default void close() {
+        }
+    }
 
-                    // Calculate relevance score based on title/content match
-                    candidate.relevanceScore = calculateRelevanceScore(companyName, candidate);
+    /**
+     * Follower count previously read for a slug.
+     */
+    private static class CachedFollowerCount {
+        final int followers;
+        final long expiresAt;
 
-                    // Try to extract follower count from public page
-                    candidate.followerCount = extractFollowerCount(driver);
+        CachedFollowerCount(int followers, long expiresAt) {
+            this.followers = followers;
+            this.expiresAt = expiresAt;
+        }
+    }
 
-                    logger.info("Candidate {} - Followers: {}, Relevance: {}",
-                            candidate.slug, candidate.followerCount, candidate.relevanceScore);
+    @PostConstruct
+    public void init() {
+        linkedInHostPermits = new Semaphore(Math.max(1, validationMaxConcurrency), true);
+    }
 
-                } catch (Exception e) {
-                    logger.warn("Failed to validate candidate {}: {}", candidate.slug, e.getMessage());
-                    candidate.followerCount = -1; // Mark as failed
-                }
+    /**
+     * Attempts Chrome-based validation (with better error handling)
+     */
+    private CompanyCandidate tryChromeValidation(String companyName, List<CompanyCandidate> candidates) {
+        try {
+            int probed = probeFollowerCounts(companyName, candidates, "Chrome", this::chromeProbe);
+            if (probed == 0) {
+                logger.warn("Chrome validation could not check any candidate for {}", companyName);
+                return null; // Return null to indicate Chrome validation failed
             }
 
             // Select best candidate based on follower count and relevance
-            return candidates.stream()
-                    .filter(c -> c.followerCount > 0) // Only valid candidates
-                    .max((c1, c2) -> {
-                        // Primary sort: follower count (higher is better)
-                        int followerComparison = Integer.compare(c1.followerCount, c2.followerCount);
-                        if (followerComparison != 0) {
-                            return followerComparison;
-                        }
-                        // Secondary sort: relevance score (higher is better)
-                        return Double.compare(c1.relevanceScore, c2.relevanceScore);
-                    })
-                    .orElse(candidates.get(0)); // Fallback to first if none have follower counts
+            return bestByFollowers(candidates).orElse(candidates.get(0)); // Fallback to first if none have follower counts
 
         } catch (Exception e) {
             logger.error("Error during Chrome candidate validation: {}", e.getMessage());
             return null; // Return null to indicate Chrome validation failed
-        } finally {
-            if (driver != null) {
-                try {
-                    driver.quit();
-                } catch (Exception e) {
-                    logger.warn("Error closing validation driver: {}", e.getMessage());
-                }
+        }
+    }
+
+    /**
+     * Leases a browser for one Chrome validation worker. The first worker waits
+     * for a browser; additional workers only use browsers that are free right
+     * now, so validation never starves callers that need a browser.
+     */
+    private FollowerProbe chromeProbe(int worker) {
+        WebDriverPool.Lease lease = worker == 0 ? webDriverPool.acquire() : webDriverPool.tryAcquire();
+        if (lease == null) {
+            return null;
+        }
+        // Tight timeouts for validation; the pool restores its defaults when the
+        // lease is closed
+        WebDriver driver = lease.getDriver();
+        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(10));
+        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(5));
+
+        return new FollowerProbe() {
+            @Override
+            public int followerCount(CompanyCandidate candidate) throws Exception {
+                // Navigate to the LinkedIn company page (public view)
+                driver.get("https://www.linkedin.com/company/" + candidate.slug);
+                contentExtractionUtil.waitForPageContent(driver);
+
+                // Try to extract follower count from public page
+                return extractFollowerCount(driver);
             }
 
-            // Clean up temp directory
-            if (tempUserDataDir != null) {
-                try {
-                    Files.walk(Paths.get(tempUserDataDir))
-                            .sorted(Comparator.reverseOrder())
-                            .map(java.nio.file.Path::toFile)
-                            .forEach(java.io.File::delete);
-                } catch (Exception e) {
-                    logger.warn("Failed to clean up temp directory: {}", e.getMessage());
-                }
+            @Override
+            public void close() {
+                lease.close();
             }
-        }
+        };
     }
 
     /**
@@ -561,52 +686,29 @@ public class LinkedInSlugUtil {
         try {
             logger.info("Starting Jsoup validation for {} with {} candidates", companyName, candidates.size());
 
-            // Try to extract follower counts using Jsoup
-            for (CompanyCandidate candidate : candidates) {
-                try {
-                    String linkedinUrl = "https://www.linkedin.com/company/" + candidate.slug;
-                    logger.debug("Attempting Jsoup follower extraction for: {}", linkedinUrl);
-
-                    // Use Jsoup to fetch and parse the LinkedIn page
-                    Document doc = Jsoup.connect(linkedinUrl)
-                            .userAgent(
-                                    "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36")
-                            .timeout(10000)
-                            .followRedirects(true)
-                            .get();
-
-                    // Try multiple strategies to extract follower count
-                    int followerCount = extractFollowerCountFromHtml(doc);
-
-                    if (followerCount > 0) {
-                        candidate.followerCount = followerCount;
-                        logger.info("Jsoup extracted {} followers for candidate: {} ({})",
-                                followerCount, candidate.title, candidate.slug);
-                    } else {
-                        logger.warn("No followers found via Jsoup for candidate: {} ({})",
-                                candidate.title, candidate.slug);
-                        candidate.followerCount = -1;
-                    }
-
-                } catch (Exception e) {
-                    logger.warn("Failed to validate candidate {} via Jsoup: {}", candidate.slug, e.getMessage());
-                    candidate.followerCount = -1; // Mark as failed
-                }
-            }
+            probeFollowerCounts(companyName, candidates, "Jsoup", worker -> candidate -> {
+                String linkedinUrl = "https://www.linkedin.com/company/" + candidate.slug;
+                logger.debug("Attempting Jsoup follower extraction for: {}", linkedinUrl);
+
+                // Fetch through the shared page cache so unchanged pages are not re-downloaded
+                // or re-parsed; only the extracted follower count is kept per page
+                String cachedFollowers = httpPageCache.fetch(linkedinUrl, "followers",
+                        linkedInSession.newRequest(linkedinUrl),
+                        (body, contentType, charset) -> {
+                            // Try multiple strategies to extract follower count
+                            Document doc = Jsoup.parse(body, charset, linkedinUrl);
+                            if (ContentExtractionUtil.isLoginWall(doc)) {
+                                return null;
+                            }
+                            int followers = extractFollowerCountFromHtml(doc);
+                            // No value for a miss, so it is not cached and the next check reads the page again
+                            return followers > 0 ? String.valueOf(followers) : null;
+                        });
+                return cachedFollowers != null ? Integer.parseInt(cachedFollowers) : -1;
+            });
 
             // Select best candidate based on follower count and relevance
-            return candidates.stream()
-                    .filter(c -> c.followerCount > 0) // Only valid candidates
-                    .max((c1, c2) -> {
-                        // Primary sort: follower count (higher is better)
-                        int followerComparison = Integer.compare(c1.followerCount, c2.followerCount);
-                        if (followerComparison != 0) {
-                            return followerComparison;
-                        }
-                        // Secondary sort: relevance score (higher is better)
-                        return Double.compare(c1.relevanceScore, c2.relevanceScore);
-                    })
-                    .orElse(null); // Return null if no candidates have valid follower counts
+            return bestByFollowers(candidates).orElse(null); // Return null if no candidates have valid follower counts
 
         } catch (Exception e) {
             logger.warn("Jsoup validation failed for {}: {}", companyName, e.getMessage());
@@ -614,6 +716,141 @@ public class LinkedInSlugUtil {
         }
     }
 
+    /**
+     * Fills in follower counts for the candidates concurrently on the scraping
+     * executor. Candidates are checked in order of relevance by up to
+     * {@code linkedin.validation.max-concurrency} workers, which share one
+     * LinkedIn host limit. Checking stops early once a candidate clearly wins,
+     * and counts read within the cache TTL are reused without a page visit.
+     * Candidates left unchecked keep a follower count of -1.
+     *
+     * @param probes Creates the probe for a worker index, or returns null when
+     *               that worker cannot run
+     * @return Number of candidates whose follower count was read or checked
+     */
+    private int probeFollowerCounts(String companyName, List<CompanyCandidate> candidates, String method,
+            IntFunction<FollowerProbe> probes) throws InterruptedException {
+        AtomicReference<CompanyCandidate> clearWinner = new AtomicReference<>();
+        AtomicInteger probed = new AtomicInteger();
+        Queue<CompanyCandidate> pending = new ConcurrentLinkedQueue<>();
+
+        // Counts read recently need no page visit
+        List<CompanyCandidate> byRelevance = candidates.stream()
+                .sorted((c1, c2) -> Double.compare(c2.relevanceScore, c1.relevanceScore))
+                .collect(Collectors.toList());
+        for (CompanyCandidate candidate : byRelevance) {
+            CachedFollowerCount cached = followerCountCache.get(candidate.slug);
+            if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+                candidate.followerCount = cached.followers;
+                probed.incrementAndGet();
+                logger.info("Candidate {} - Followers: {} (cached)", candidate.slug, candidate.followerCount);
+                if (isClearWinner(candidate) && clearWinner.compareAndSet(null, candidate)) {
+                    logger.info("✓ {} is a clear winner from cache ({} followers, relevance {})",
+                            candidate.slug, candidate.followerCount, candidate.relevanceScore);
+                }
+            } else {
+                pending.add(candidate);
+            }
+        }
+        if (clearWinner.get() != null || pending.isEmpty()) {
+            return probed.get();
+        }
+
+        long deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(validationDeadlineMs);
+        int workers = Math.min(Math.max(1, validationMaxConcurrency), pending.size());
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            int worker = i;
+            tasks.add(() -> {
+                // A worker that cannot get a probe leaves its share to the others
+                FollowerProbe probe = pending.isEmpty() ? null : probes.apply(worker);
+                if (probe == null) {
+                    return null;
+                }
+                try {
+                    CompanyCandidate candidate;
+                    while (clearWinner.get() == null && (candidate = pending.poll()) != null) {
+                        long waitNanos = deadlineNanos - System.nanoTime();
+                        if (waitNanos <= 0 || !linkedInHostPermits.tryAcquire(waitNanos, TimeUnit.NANOSECONDS)) {
+                            logger.warn("No LinkedIn slot available before the {} validation deadline", method);
+                            return null;
+                        }
+                        try {
+                            logger.info("Validating candidate: {} for company: {}", candidate.slug, companyName);
+                            candidate.followerCount = probe.followerCount(candidate);
+                        } catch (InterruptedException e) {
+                            throw e;
+                        } catch (Exception e) {
+                            logger.warn("Failed to validate candidate {} via {}: {}", candidate.slug, method,
+                                    e.getMessage());
+                            candidate.followerCount = -1; // Mark as failed
+                        } finally {
+                            linkedInHostPermits.release();
+                        }
+                        probed.incrementAndGet();
+                        logger.info("Candidate {} - Followers: {}, Relevance: {}",
+                                candidate.slug, candidate.followerCount, candidate.relevanceScore);
+
+                        if (candidate.followerCount > 0) {
+                            followerCountCache.put(candidate.slug, new CachedFollowerCount(candidate.followerCount,
+                                    System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(validationCacheTtlMinutes)));
+                        }
+                        if (isClearWinner(candidate) && clearWinner.compareAndSet(null, candidate)) {
+                            logger.info("✓ {} is a clear winner ({} followers, relevance {}); skipping {} remaining candidates",
+                                    candidate.slug, candidate.followerCount, candidate.relevanceScore, pending.size());
+                        }
+                    }
+                    return null;
+                } finally {
+                    probe.close();
+                }
+            });
+        }
+
+        long remainingNanos = Math.max(0, deadlineNanos - System.nanoTime());
+        // invokeAll cancels (and interrupts) every worker still running at the deadline
+        List<Future<Void>> futures = scrapingExecutor.getThreadPoolExecutor()
+                .invokeAll(tasks, remainingNanos, TimeUnit.NANOSECONDS);
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (CancellationException e) {
+                logger.warn("{} validation for {} hit the {} ms deadline", method, companyName, validationDeadlineMs);
+            } catch (ExecutionException e) {
+                logger.warn("{} validation worker failed: {}", method, e.getCause().getMessage());
+            }
+        }
+        return probed.get();
+    }
+
+    /**
+     * A candidate clearly wins when its name matches closely and it has a large
+     * following, so visiting the remaining candidates cannot change the choice
+     * in practice.
+     */
+    private boolean isClearWinner(CompanyCandidate candidate) {
+        return candidate.followerCount >= clearWinFollowers
+                && candidate.relevanceScore >= clearWinRelevance
+                && !isLikelyDistributor(candidate);
+    }
+
+    /**
+     * Picks the candidate with the most followers, breaking ties on relevance.
+     */
+    private Optional<CompanyCandidate> bestByFollowers(List<CompanyCandidate> candidates) {
+        return candidates.stream()
+                .filter(c -> c.followerCount > 0) // Only valid candidates
+                .max((c1, c2) -> {
+                    // Primary sort: follower count (higher is better)
+                    int followerComparison = Integer.compare(c1.followerCount, c2.followerCount);
+                    if (followerComparison != 0) {
+                        return followerComparison;
+                    }
+                    // Secondary sort: relevance score (higher is better)
+                    return Double.compare(c1.relevanceScore, c2.relevanceScore);
+                });
+    }
+
     /**
      * Extracts follower count from LinkedIn company page HTML using multiple
      * strategies
@@ -736,20 +973,17 @@ public class LinkedInSlugUtil {
         logger.debug("Validating LinkedIn company URL: {}", url);
 
         try {
-            java.net.URI uri = java.net.URI.create(url);
-            java.net.HttpURLConnection connection = (java.net.HttpURLConnection) uri.toURL().openConnection();
-            connection.setRequestMethod("HEAD");
-            connection.setConnectTimeout(5000); // 5 second timeout
-            connection.setReadTimeout(5000);
-
-            // Set user agent to avoid blocking
-            connection.setRequestProperty("User-Agent",
-                    "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36");
-
-            int responseCode = connection.getResponseCode();
+            Integer responseCode = outboundWebClient.head()
+                    .uri(url)
+                    // Set user agent to avoid blocking
+                    .header(HttpHeaders.USER_AGENT,
+                            "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36")
+                    .exchangeToMono(response -> response.releaseBody()
+                            .thenReturn(response.statusCode().value()))
+                    .block(Duration.ofSeconds(5)); // 5 second timeout
             logger.debug("HEAD request to {} returned status code: {}", url, responseCode);
 
-            return responseCode == 200;
+            return responseCode != null && responseCode == 200;
 
         } catch (Exception e) {
             logger.debug("Failed to validate LinkedIn URL {}: {}", url, e.getMessage());
@@ -0,0 +1,86 @@
+package com.insightflow.utils;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+
+/**
+ * {@link DiagramCanvas} that paints onto a Java2D graphics context, e.g. of a
+ * BufferedImage that is then PNG-encoded.
+ */
+public class RasterDiagramCanvas implements DiagramCanvas {
+
+    private final Graphics2D g2d;
+
+    public RasterDiagramCanvas(Graphics2D g2d) {
+        this.g2d = g2d;
+    }
+
+    @Override
+    public void setRenderingHint(RenderingHints.Key key, Object value) {
+        g2d.setRenderingHint(key, value);
+    }
+
+    @Override
+    public void setColor(Color color) {
+        g2d.setColor(color);
+    }
+
+    @Override
+    public void setFont(Font font) {
+        g2d.setFont(font);
+    }
+
+    @Override
+    public void setStroke(BasicStroke stroke) {
+        g2d.setStroke(stroke);
+    }
+
+    @Override
+    public Font getFont() {
+        return g2d.getFont();
+    }
+
+    @Override
+    public FontMetrics getFontMetrics() {
+        return g2d.getFontMetrics();
+    }
+
+    @Override
+    public void fillRect(int x, int y, int width, int height) {
+        g2d.fillRect(x, y, width, height);
+    }
+
+    @Override
+    public void drawRect(int x, int y, int width, int height) {
+        g2d.drawRect(x, y, width, height);
+    }
+
+    @Override
+    public void drawLine(int x1, int y1, int x2, int y2) {
+        g2d.drawLine(x1, y1, x2, y2);
+    }
+
+    @Override
+    public void fillOval(int x, int y, int width, int height) {
+        g2d.fillOval(x, y, width, height);
+    }
+
+    @Override
+    public void drawOval(int x, int y, int width, int height) {
+        g2d.drawOval(x, y, width, height);
+    }
+
+    @Override
+    public void drawString(String text, int x, int y) {
+        g2d.drawString(text, x, y);
+    }
+
+    @Override
+    public void rotate(double theta, double x, double y) {
+        g2d.rotate(theta, x, y);
+    }
+}
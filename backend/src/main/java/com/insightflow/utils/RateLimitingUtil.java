@@ -1,197 +1,402 @@
 package com.insightflow.utils;
 
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
 /**
- * Utility class for managing rate limiting to avoid CAPTCHA and LinkedIn blocking.
- * Implements intelligent request spacing and usage tracking.
+ * Utility class for managing rate limiting to avoid CAPTCHA, LinkedIn blocking
+ * and API quota errors.
+ *
+ * Each external resource has its own token bucket (implemented as GCRA, so the
+ * state is a single timestamp updated lock-free). Callers never sleep here:
+ * they either take a slot immediately, get a {@link Reservation} telling them
+ * when their slot starts, or hand over a task that is scheduled for that time.
  */
 @Component
 public class RateLimitingUtil {
 
     private static final Logger logger = LoggerFactory.getLogger(RateLimitingUtil.class);
 
-    // Rate limiting configuration - increased intervals to avoid CAPTCHA
-    private static final long MIN_REQUEST_INTERVAL = 600000; // 10 minutes between requests
-    private static final int MAX_REQUESTS_PER_HOUR = 5; // Reduced from 10 to 5
-    private static final long HOURLY_RESET_INTERVAL = 3600000; // 1 hour
-
-    // Track usage to avoid rate limiting
-    private volatile long lastRequestTime = 0;
-    private volatile int requestCount = 0;
-
-    /**
-     * Enforces rate limiting before allowing a request to proceed.
-     * Blocks the current thread if necessary to maintain proper spacing.
-     * 
-     * @throws RuntimeException if hourly limit is exceeded or thread is interrupted
-     */
-    public synchronized void enforceRateLimit() {
-        long currentTime = System.currentTimeMillis();
-        
-        logger.info("Rate limiting check - Current requests: {}/{}, Last request: {} ms ago",
-                requestCount, MAX_REQUESTS_PER_HOUR, currentTime - lastRequestTime);
-
-        // Check if we need to wait due to minimum interval
-        if (currentTime - lastRequestTime < MIN_REQUEST_INTERVAL) {
-            long waitTime = MIN_REQUEST_INTERVAL - (currentTime - lastRequestTime);
-            logger.warn("Rate limiting: waiting {} ms ({} minutes) before next request", 
-                    waitTime, waitTime / 60000.0);
-            
-            try {
-                Thread.sleep(waitTime);
-                currentTime = System.currentTimeMillis(); // Update current time after waiting
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                logger.error("Request interrupted due to rate limiting", e);
-                throw new RuntimeException("Request interrupted due to rate limiting", e);
-            }
-        }
+    public static final String LINKEDIN = "linkedin";
+    public static final String TAVILY = "tavily";
+    public static final String NEWSAPI = "newsapi";
 
-        // Reset hourly counter if enough time has passed
-        if (currentTime - lastRequestTime > HOURLY_RESET_INTERVAL) {
-            logger.info("Resetting hourly rate limit counter (was: {})", requestCount);
-            requestCount = 0;
-        }
+    // LinkedIn: one browser session every 5 minutes to avoid CAPTCHA
+    @Value("${rate-limit.linkedin.permits:12}")
+    private int linkedinPermits;
 
-        // Check hourly limit
-        if (requestCount >= MAX_REQUESTS_PER_HOUR) {
-            logger.error("Hourly request limit ({}) exceeded for LinkedIn analysis", MAX_REQUESTS_PER_HOUR);
-            throw new RuntimeException("Hourly request limit exceeded. Please wait before making more requests.");
-        }
+    @Value("${rate-limit.linkedin.period-ms:3600000}")
+    private long linkedinPeriodMs;
+
+    @Value("${rate-limit.linkedin.burst:1}")
+    private int linkedinBurst;
+
+    @Value("${rate-limit.linkedin.max-wait-ms:3600000}")
+    private long linkedinMaxWaitMs;
+
+    @Value("${rate-limit.tavily.permits:100}")
+    private int tavilyPermits;
+
+    @Value("${rate-limit.tavily.period-ms:60000}")
+    private long tavilyPeriodMs;
+
+    @Value("${rate-limit.tavily.burst:10}")
+    private int tavilyBurst;
+
+    @Value("${rate-limit.tavily.max-wait-ms:30000}")
+    private long tavilyMaxWaitMs;
+
+    // NewsAPI developer plan: 100 requests per day. This is a quota, not a pace:
+    // the whole allowance may be used back to back (e.g. by the daily sentiment
+    // run), after which one request frees up every period/permits
+    @Value("${rate-limit.newsapi.permits:100}")
+    private int newsapiPermits;
 
-        // Update tracking variables
-        lastRequestTime = currentTime;
-        requestCount++;
-        
-        logger.info("Rate limiting passed - Updated count: {}/{}", requestCount, MAX_REQUESTS_PER_HOUR);
+    @Value("${rate-limit.newsapi.period-ms:86400000}")
+    private long newsapiPeriodMs;
+
+    @Value("${rate-limit.newsapi.max-wait-ms:0}")
+    private long newsapiMaxWaitMs;
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        registerBucket(LINKEDIN, linkedinPermits, linkedinPeriodMs, linkedinBurst, linkedinMaxWaitMs);
+        registerBucket(TAVILY, tavilyPermits, tavilyPeriodMs, tavilyBurst, tavilyMaxWaitMs);
+        registerBucket(NEWSAPI, newsapiPermits, newsapiPeriodMs, newsapiPermits, newsapiMaxWaitMs);
     }
 
     /**
-     * Checks if a request would be allowed without actually enforcing the rate limit.
-     * Useful for pre-checking before expensive operations.
-     * 
-     * @return true if request would be allowed, false otherwise
+     * Registers (or replaces) the bucket for a resource.
+     *
+     * @param resource  Resource name
+     * @param permits   Requests allowed per period
+     * @param periodMs  Period length in milliseconds
+     * @param burst     Requests that may run back to back when the bucket is full
+     * @param maxWaitMs Longest wait a reservation may be given before it is
+     *                  rejected
      */
-    public synchronized boolean isRequestAllowed() {
-        long currentTime = System.currentTimeMillis();
+    public void registerBucket(String resource, int permits, long periodMs, int burst, long maxWaitMs) {
+        long intervalMs = Math.max(1, periodMs / Math.max(1, permits));
+        buckets.put(resource, new Bucket(resource, intervalMs, Math.max(1, burst), Math.max(0, maxWaitMs)));
+        logger.info("Rate limit for {}: {} per {} ms (one every {} ms, burst {})",
+                resource, permits, periodMs, intervalMs, burst);
+    }
 
-        // Check if we're within the hourly limit (accounting for potential reset)
-        if (currentTime - lastRequestTime > HOURLY_RESET_INTERVAL) {
-            return true; // Counter would be reset
+    /**
+     * Reserves the next slot for a resource without waiting for it. The slot is
+     * only taken when it starts within the bucket's maximum wait.
+     *
+     * @param resource Resource name
+     * @return Reservation with the slot's start time, or a rejected reservation
+     */
+    public Reservation reserve(String resource) {
+        Bucket bucket = bucketFor(resource);
+        return reserve(resource, bucket != null ? bucket.maxWaitMs : 0);
+    }
+
+    /**
+     * Takes a slot only if it is available right now.
+     *
+     * @param resource Resource name
+     * @return true if the caller may proceed immediately
+     */
+    public boolean tryAcquire(String resource) {
+        return reserve(resource, 0).isGranted();
+    }
+
+    /**
+     * Runs a task once its slot starts, without blocking the calling thread.
+     *
+     * @param resource Resource name
+     * @param task     Work to run
+     * @param executor Executor the task runs on
+     * @return Future completed with the task result, or failed with
+     *         {@link RateLimitExceededException} if no slot is available within
+     *         the bucket's maximum wait
+     */
+    public <T> CompletableFuture<T> schedule(String resource, Supplier<T> task, Executor executor) {
+        Reservation reservation = reserve(resource);
+        if (!reservation.isGranted()) {
+            return CompletableFuture.failedFuture(new RateLimitExceededException(reservation));
+        }
+        if (reservation.getDelayMs() == 0) {
+            return CompletableFuture.supplyAsync(task, executor);
         }
+        logger.info("Scheduled {} request to start in {} ms", resource, reservation.getDelayMs());
+        return CompletableFuture.supplyAsync(task,
+                CompletableFuture.delayedExecutor(reservation.getDelayMs(), TimeUnit.MILLISECONDS, executor));
+    }
+
+    /**
+     * Reactive variant: completes when the reserved slot starts. The slot is
+     * reserved on subscription.
+     *
+     * @param resource Resource name
+     * @return Mono that completes at the slot start, or errors with
+     *         {@link RateLimitExceededException}
+     */
+    public Mono<Void> acquireReactive(String resource) {
+        return Mono.defer(() -> {
+            Reservation reservation = reserve(resource);
+            if (!reservation.isGranted()) {
+                return Mono.error(new RateLimitExceededException(reservation));
+            }
+            return reservation.getDelayMs() == 0
+                    ? Mono.empty()
+                    : Mono.delay(Duration.ofMillis(reservation.getDelayMs())).then();
+        });
+    }
 
-        // Check if we're under the hourly limit
-        if (requestCount >= MAX_REQUESTS_PER_HOUR) {
-            return false;
+    /**
+     * Enforces the LinkedIn rate limit before a browser session. Never sleeps:
+     * when no slot is free right now it fails immediately so the caller can fall
+     * back.
+     *
+     * @throws RateLimitExceededException if no LinkedIn slot is free now
+     */
+    public void enforceRateLimit() {
+        Reservation reservation = reserve(LINKEDIN, 0);
+        if (!reservation.isGranted()) {
+            logger.warn("LinkedIn rate limit reached, next slot in {} ms", reservation.getDelayMs());
+            throw new RateLimitExceededException(reservation);
         }
+        logger.info("Rate limiting passed for LinkedIn");
+    }
 
-        // Check if enough time has passed since last request
-        return currentTime - lastRequestTime >= MIN_REQUEST_INTERVAL;
+    /**
+     * Checks if a LinkedIn request would be allowed now without taking a slot.
+     *
+     * @return true if request would be allowed, false otherwise
+     */
+    public boolean isRequestAllowed() {
+        return getTimeUntilNextRequest(LINKEDIN) == 0;
     }
 
     /**
-     * Gets the time until the next request would be allowed.
-     * 
+     * Gets the time until the next LinkedIn request would be allowed.
+     *
      * @return milliseconds until next request is allowed, 0 if allowed now
      */
-    public synchronized long getTimeUntilNextRequest() {
-        long currentTime = System.currentTimeMillis();
-
-        // If hourly limit is exceeded and not enough time for reset
-        if (requestCount >= MAX_REQUESTS_PER_HOUR && 
-            currentTime - lastRequestTime < HOURLY_RESET_INTERVAL) {
-            return HOURLY_RESET_INTERVAL - (currentTime - lastRequestTime);
-        }
+    public long getTimeUntilNextRequest() {
+        return getTimeUntilNextRequest(LINKEDIN);
+    }
 
-        // Check minimum interval
-        if (currentTime - lastRequestTime < MIN_REQUEST_INTERVAL) {
-            return MIN_REQUEST_INTERVAL - (currentTime - lastRequestTime);
-        }
+    /**
+     * Gets the time until the next request for a resource would be allowed.
+     *
+     * @param resource Resource name
+     * @return milliseconds until next request is allowed, 0 if allowed now
+     */
+    public long getTimeUntilNextRequest(String resource) {
+        Bucket bucket = bucketFor(resource);
+        return bucket == null ? 0 : bucket.timeUntilNext(System.currentTimeMillis());
+    }
 
-        return 0; // Request allowed now
+    /**
+     * Gets current LinkedIn rate limiting status information.
+     *
+     * @return RateLimitStatus containing current state
+     */
+    public RateLimitStatus getStatus() {
+        return getStatus(LINKEDIN);
     }
 
     /**
-     * Gets current rate limiting status information.
-     * 
+     * Gets current rate limiting status information for a resource.
+     *
+     * @param resource Resource name
      * @return RateLimitStatus containing current state
      */
-    public synchronized RateLimitStatus getStatus() {
-        long currentTime = System.currentTimeMillis();
-        long timeSinceLastRequest = currentTime - lastRequestTime;
-        boolean wouldReset = timeSinceLastRequest > HOURLY_RESET_INTERVAL;
-        
-        return new RateLimitStatus(
-                wouldReset ? 0 : requestCount,
-                MAX_REQUESTS_PER_HOUR,
-                timeSinceLastRequest,
-                MIN_REQUEST_INTERVAL,
-                getTimeUntilNextRequest(),
-                isRequestAllowed()
-        );
+    public RateLimitStatus getStatus(String resource) {
+        Bucket bucket = bucketFor(resource);
+        if (bucket == null) {
+            return new RateLimitStatus(resource, 0, 0, 0, 0, true);
+        }
+        long now = System.currentTimeMillis();
+        long wait = bucket.timeUntilNext(now);
+        return new RateLimitStatus(resource, bucket.availableTokens(now), bucket.burst, bucket.intervalMs, wait,
+                wait == 0);
+    }
+
+    /**
+     * Resets a bucket to full. Should be used carefully and only in special
+     * circumstances.
+     *
+     * @param resource Resource name
+     * @param reason   Reason for reset (for logging purposes)
+     */
+    public void resetCounters(String resource, String reason) {
+        Bucket bucket = bucketFor(resource);
+        if (bucket != null) {
+            logger.warn("Manually resetting {} rate limit. Reason: {}", resource, reason);
+            bucket.theoreticalArrival.set(0);
+        }
     }
 
     /**
-     * Resets the rate limiting counters. Should be used carefully and only in special circumstances.
-     * 
+     * Resets the LinkedIn bucket to full.
+     *
      * @param reason Reason for reset (for logging purposes)
      */
-    public synchronized void resetCounters(String reason) {
-        logger.warn("Manually resetting rate limiting counters. Reason: {}", reason);
-        logger.info("Previous state - Requests: {}/{}, Last request: {} ms ago", 
-                requestCount, MAX_REQUESTS_PER_HOUR, System.currentTimeMillis() - lastRequestTime);
-        
-        requestCount = 0;
-        lastRequestTime = 0;
-        
-        logger.info("Rate limiting counters reset successfully");
+    public void resetCounters(String reason) {
+        resetCounters(LINKEDIN, reason);
     }
 
     /**
-     * Gets the configured minimum interval between requests.
-     * 
+     * Gets the configured minimum interval between LinkedIn requests.
+     *
      * @return minimum interval in milliseconds
      */
     public long getMinRequestInterval() {
-        return MIN_REQUEST_INTERVAL;
+        Bucket bucket = bucketFor(LINKEDIN);
+        return bucket == null ? 0 : bucket.intervalMs;
+    }
+
+    private Reservation reserve(String resource, long maxWaitMs) {
+        Bucket bucket = bucketFor(resource);
+        long now = System.currentTimeMillis();
+        if (bucket == null) {
+            // No bucket configured for this resource, so it is not limited
+            return new Reservation(resource, true, now, 0);
+        }
+        return bucket.reserve(now, maxWaitMs);
+    }
+
+    private Bucket bucketFor(String resource) {
+        return resource == null ? null : buckets.get(resource);
     }
 
     /**
-     * Gets the configured maximum requests per hour.
-     * 
-     * @return maximum requests per hour
+     * Generic cell rate algorithm: the bucket stores the theoretical arrival
+     * time of the next request; each granted request pushes it one interval
+     * further. Up to {@code burst} requests may start before it.
      */
-    public int getMaxRequestsPerHour() {
-        return MAX_REQUESTS_PER_HOUR;
+    private static class Bucket {
+        final String resource;
+        final long intervalMs;
+        final int burst;
+        final long maxWaitMs;
+        final AtomicLong theoreticalArrival = new AtomicLong(0);
+
+        Bucket(String resource, long intervalMs, int burst, long maxWaitMs) {
+            this.resource = resource;
+            this.intervalMs = intervalMs;
+            this.burst = burst;
+            this.maxWaitMs = maxWaitMs;
+        }
+
+        Reservation reserve(long now, long maxWaitMs) {
+            while (true) {
+                long tat = theoreticalArrival.get();
+                long base = Math.max(tat, now);
+                long startAt = Math.max(now, base - (burst - 1) * intervalMs);
+                long delay = startAt - now;
+                if (delay > maxWaitMs) {
+                    return new Reservation(resource, false, startAt, delay);
+                }
+                if (theoreticalArrival.compareAndSet(tat, base + intervalMs)) {
+                    return new Reservation(resource, true, startAt, delay);
+                }
+            }
+        }
+
+        long timeUntilNext(long now) {
+            long base = Math.max(theoreticalArrival.get(), now);
+            return Math.max(0, base - (burst - 1) * intervalMs - now);
+        }
+
+        int availableTokens(long now) {
+            long tat = Math.max(theoreticalArrival.get(), now);
+            long used = (tat - now + intervalMs - 1) / intervalMs;
+            return (int) Math.max(0, burst - used);
+        }
+    }
+
+    /**
+     * A slot for one request. When granted, the caller should start at
+     * {@link #getStartAtMillis()}; when rejected, that is the earliest time a
+     * slot would be free.
+     */
+    public static class Reservation {
+        private final String resource;
+        private final boolean granted;
+        private final long startAtMillis;
+        private final long delayMs;
+
+        public Reservation(String resource, boolean granted, long startAtMillis, long delayMs) {
+            this.resource = resource;
+            this.granted = granted;
+            this.startAtMillis = startAtMillis;
+            this.delayMs = delayMs;
+        }
+
+        public String getResource() { return resource; }
+        public boolean isGranted() { return granted; }
+        public long getStartAtMillis() { return startAtMillis; }
+        public long getDelayMs() { return delayMs; }
+
+        @Override
+        public String toString() {
+            return String.format("Reservation{resource=%s, granted=%s, delay=%dms}", resource, granted, delayMs);
+        }
+    }
+
+    /**
+     * Thrown when no slot is free within the allowed wait.
+     */
+    public static class RateLimitExceededException extends RuntimeException {
+        private final Reservation reservation;
+
+        public RateLimitExceededException(Reservation reservation) {
+            super("Rate limit exceeded for " + reservation.getResource() + ", next slot in "
+                    + reservation.getDelayMs() + " ms");
+            this.reservation = reservation;
+        }
+
+        public Reservation getReservation() {
+            return reservation;
+        }
     }
 
     /**
      * Data class containing rate limiting status information.
      */
     public static class RateLimitStatus {
-        private final int currentRequests;
+        private final String resource;
+        private final int availableRequests;
         private final int maxRequests;
-        private final long timeSinceLastRequest;
         private final long minInterval;
         private final long timeUntilNextRequest;
         private final boolean requestAllowed;
 
-        public RateLimitStatus(int currentRequests, int maxRequests, long timeSinceLastRequest, 
-                             long minInterval, long timeUntilNextRequest, boolean requestAllowed) {
-            this.currentRequests = currentRequests;
+        public RateLimitStatus(String resource, int availableRequests, int maxRequests,
+                long minInterval, long timeUntilNextRequest, boolean requestAllowed) {
+            this.resource = resource;
+            this.availableRequests = availableRequests;
             this.maxRequests = maxRequests;
-            this.timeSinceLastRequest = timeSinceLastRequest;
             this.minInterval = minInterval;
             this.timeUntilNextRequest = timeUntilNextRequest;
             this.requestAllowed = requestAllowed;
         }
 
-        public int getCurrentRequests() { return currentRequests; }
+        public String getResource() { return resource; }
+        public int getAvailableRequests() { return availableRequests; }
         public int getMaxRequests() { return maxRequests; }
-        public long getTimeSinceLastRequest() { return timeSinceLastRequest; }
         public long getMinInterval() { return minInterval; }
         public long getTimeUntilNextRequest() { return timeUntilNextRequest; }
         public boolean isRequestAllowed() { return requestAllowed; }
@@ -199,9 +404,9 @@ public class RateLimitingUtil {
         @Override
         public String toString() {
             return String.format(
-                "RateLimitStatus{requests=%d/%d, lastRequest=%dms ago, nextAllowed=%dms, allowed=%s}",
-                currentRequests, maxRequests, timeSinceLastRequest, timeUntilNextRequest, requestAllowed
+                "RateLimitStatus{resource=%s, available=%d/%d, interval=%dms, nextAllowed=%dms, allowed=%s}",
+                resource, availableRequests, maxRequests, minInterval, timeUntilNextRequest, requestAllowed
             );
         }
     }
-}
\ No newline at end of file
+}
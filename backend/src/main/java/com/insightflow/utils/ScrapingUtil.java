@@ -1,24 +1,95 @@
 package com.insightflow.utils;
 
 import org.apache.tika.Tika;
+import org.apache.tika.exception.WriteLimitReachedException;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.sax.BodyContentHandler;
 import org.jsoup.Connection;
 import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+import org.jsoup.parser.StreamParser;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedInputStream;
+import java.io.IOException;
 import java.io.InputStream;
-import java.net.URL;
-import java.net.URLConnection;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Component
 public class ScrapingUtil {
 
+    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:118.0) Gecko/20100101 Firefox/118.0";
+
+    // Number of leading bytes inspected to confirm or override the declared type
+    private static final int SNIFF_BYTES = 8;
+
+    // Upper bound on the downloaded body; PDFs and Office files can be large
+    private static final int MAX_BODY_BYTES = 20 * 1024 * 1024;
+
+    // Character budget of useful text per URL; parsing stops once it is reached
+    private static final int MAX_TEXT_CHARS = 5000;
+
+    private static final int MIN_TEXT_CHARS = 100;
+
+    // Bytes scanned for a <meta charset> declaration when the header has none
+    private static final int CHARSET_SNIFF_BYTES = 2048;
+
+    private static final Pattern META_CHARSET = Pattern.compile(
+            "<meta[^>]+charset\\s*=\\s*[\"']?([A-Za-z0-9_\\-:.]+)", Pattern.CASE_INSENSITIVE);
+
+    // Elements dropped together with everything inside them
+    private static final String SKIP_SELECTOR = "script, style, noscript, template, svg, nav, footer, aside, "
+            + ".advertisement, .ads, .cookie-banner";
+
+    // Block-level elements whose text is emitted as soon as they are fully parsed
+    private static final Set<String> TEXT_BLOCK_TAGS = Set.of(
+            "title", "p", "h1", "h2", "h3", "h4", "h5", "h6", "li", "dt", "dd", "td", "th", "caption",
+            "blockquote", "pre", "figcaption", "div", "section", "article", "main", "header", "body");
+
     private final Tika tika = new Tika();
 
+    // Jsoup session shared by all extractions: requests created from it reuse
+    // one underlying HTTP client, so keep-alive connections survive between pages
+    private final Connection session = Jsoup.newSession()
+            .userAgent(USER_AGENT)
+            .header("Accept",
+                    "text/html,application/xhtml+xml,application/xml;q=0.9,application/pdf;q=0.8,*/*;q=0.7")
+            .header("Accept-Language", "en-US,en;q=0.5")
+            .header("Accept-Encoding", "gzip, deflate")
+            .timeout(15000)
+            .maxBodySize(MAX_BODY_BYTES)
+            .followRedirects(true)
+            .ignoreHttpErrors(true)
+            .ignoreContentType(true);
+
+    @Autowired
+    private HttpPageCache httpPageCache;
+
+    /**
+     * Kind of content found at a URL, decided from the response headers and the
+     * first bytes of the body.
+     */
+    enum ContentKind {
+        HTML, DOCUMENT, UNSUPPORTED
+    }
+
     /**
      * Extracts text from URL using intelligent content type detection and
-     * appropriate parsers
-     * 
+     * appropriate parsers. The resource is fetched with a single streaming GET
+     * through the shared {@link HttpPageCache}: the content type is sniffed from
+     * the headers and leading bytes, and the same stream is then handed to Jsoup
+     * or Tika. Unchanged pages are served from the cache without re-parsing.
+     *
      * @param url The URL to extract from.
      * @return Extracted text or null if extraction fails.
      */
@@ -29,51 +100,14 @@ public class ScrapingUtil {
                 return null;
             }
 
-            // Detect content type first using URLConnection
-            URLConnection connection = new URL(url).openConnection();
-            connection.setConnectTimeout(10000); // 10 second connection timeout
-            connection.setReadTimeout(10000); // 10 second read timeout
-            connection.setRequestProperty("User-Agent",
-                    "Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:118.0) Gecko/20100101 Firefox/118.0");
+            Connection connection = session.newRequest(url);
 
-            System.out.println("Step 2: Getting content type...");
             long startTime = System.currentTimeMillis();
-            String contentType = connection.getContentType();
-            long endTime = System.currentTimeMillis();
-
-            System.out.println("Content type received in " + (endTime - startTime) + "ms: " + contentType);
-            System.out.println("Processing URL: " + url + " with content type: " + contentType);
-
-            // Handle different content types appropriately
-            if (contentType != null) {
-                String lowerContentType = contentType.toLowerCase();
-
-                if (lowerContentType.contains("application/pdf")) {
-                    System.out.println("Detected PDF, using Tika extraction for: " + url);
-                    return extractWithTika(url);
-                } else if (lowerContentType.contains("application/vnd.openxmlformats") ||
-                        lowerContentType.contains("application/msword") ||
-                        lowerContentType.contains("application/vnd.ms-")) {
-                    System.out.println("Detected Office document, using Tika extraction for: " + url);
-                    return extractWithTika(url);
-                } else if (isHtmlContent(contentType)) {
-                    System.out.println("Detected HTML content, using Jsoup extraction for: " + url);
-                    return extractWithJsoup(url);
-                } else {
-                    System.out.println("Unsupported content type: " + contentType + " for URL: " + url);
-                    return null;
-                }
-            } else {
-                // If content type is unknown, try to determine from URL
-                if (isPdfFromUrl(url)) {
-                    System.out.println("PDF detected from URL pattern, using Tika extraction for: " + url);
-                    return extractWithTika(url);
-                } else {
-                    // Default to HTML extraction for unknown types
-                    System.out.println("Unknown content type, attempting HTML extraction for: " + url);
-                    return extractWithJsoup(url);
-                }
-            }
+            String text = httpPageCache.fetch(url, "text", connection,
+                    (body, contentType, charset) -> extractFromBody(body, contentType, charset, url));
+            System.out.println("Extraction finished in " + (System.currentTimeMillis() - startTime) + "ms for "
+                    + url);
+            return text;
 
         } catch (Exception e) {
             System.err.println("Failed to extract from URL: " + url + " - " + e.getMessage());
@@ -82,73 +116,102 @@ public class ScrapingUtil {
     }
 
     /**
-     * Extracts text using Apache Tika (handles PDF, DOCX, PPTX, etc.)
+     * Routes a response body to the matching extractor.
      */
-    private String extractWithTika(String url) {
-        try (InputStream inputStream = new URL(url).openStream()) {
-            String text = tika.parseToString(inputStream);
+    private String extractFromBody(BufferedInputStream body, String contentType, String charset, String url)
+            throws IOException {
+        byte[] head = peek(body, SNIFF_BYTES);
+        ContentKind kind = detectContentKind(contentType, head, url);
 
-            if (text != null && text.trim().length() > 100) {
-                // Limit text length to prevent context overflow
-                return text.length() > 5000 ? text.substring(0, 5000) : text;
-            }
-            System.out.println("Tika extraction returned insufficient content for: " + url);
-            return null;
+        switch (kind) {
+            case DOCUMENT:
+                System.out.println("Detected document content, using Tika extraction for: " + url);
+                return extractWithTika(body, url);
+            case HTML:
+                System.out.println("Detected HTML content, using Jsoup extraction for: " + url);
+                return extractWithJsoup(body, charset, url);
+            default:
+                System.out.println("Unsupported content type: " + contentType + " for URL: " + url);
+                return null;
+        }
+    }
 
+    /**
+     * Extracts text using Apache Tika (handles PDF, DOCX, PPTX, etc.)
+     */
+    private String extractWithTika(InputStream inputStream, String url) {
+        // The handler throws once MAX_TEXT_CHARS have been written, which aborts
+        // the parse instead of extracting the whole document
+        BodyContentHandler handler = new BodyContentHandler(MAX_TEXT_CHARS);
+        try {
+            tika.getParser().parse(inputStream, handler, new Metadata(), new ParseContext());
         } catch (Exception e) {
-            System.err.println("Tika extraction failed for URL: " + url + " - " + e.getMessage());
-            return null;
+            if (!WriteLimitReachedException.isWriteLimitReached(e)) {
+                System.err.println("Tika extraction failed for URL: " + url + " - " + e.getMessage());
+                return null;
+            }
+            System.out.println("Tika write limit reached, stopped parsing early for: " + url);
+        }
+
+        String text = handler.toString();
+        if (text != null && text.trim().length() > MIN_TEXT_CHARS) {
+            return text.length() > MAX_TEXT_CHARS ? text.substring(0, MAX_TEXT_CHARS) : text;
         }
+        System.out.println("Tika extraction returned insufficient content for: " + url);
+        return null;
     }
 
     /**
-     * Extracts text using Jsoup (handles HTML/XML content)
+     * Extracts text using Jsoup's streaming parser (handles HTML/XML content).
+     * Block elements are emitted and detached from the tree as soon as they are
+     * complete, so memory stays flat, and parsing stops once the character
+     * budget of useful text has been collected.
      */
-    private String extractWithJsoup(String url) {
-        try {
-            System.out.println("=== JSOUP EXTRACTION START ===");
-            System.out.println("URL: " + url);
-            System.out.println("Step 1: Creating Jsoup connection...");
-
-            Connection connection = Jsoup.connect(url)
-                    .userAgent(
-                            "Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:118.0) Gecko/20100101 Firefox/118.0")
-                    .header("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,image/webp,*/*;q=0.8")
-                    .header("Accept-Language", "en-US,en;q=0.5")
-                    .header("Accept-Encoding", "gzip, deflate")
-                    .header("Cache-Control", "no-cache")
-                    .timeout(15000) // Increased timeout to 15 seconds
-                    .followRedirects(true)
-                    .ignoreHttpErrors(true);
-
-            System.out.println("Step 2: Executing GET request...");
-            System.out.println("Waiting for response from: " + url);
+    private String extractWithJsoup(BufferedInputStream inputStream, String charset, String url) {
+        try (Reader reader = new InputStreamReader(inputStream, resolveCharset(inputStream, charset));
+                StreamParser parser = new StreamParser(Parser.htmlParser()).parse(reader, url)) {
 
-            long startTime = System.currentTimeMillis();
-            Document doc = connection.get();
-            long endTime = System.currentTimeMillis();
+            StringBuilder text = new StringBuilder();
+            boolean budgetReached = false;
+            Iterator<Element> elements = parser.iterator();
+
+            while (elements.hasNext()) {
+                Element element = elements.next();
+
+                // Drop navigation, scripts, ads etc. together with anything nested inside
+                if (element.closest(SKIP_SELECTOR) != null) {
+                    element.remove();
+                    continue;
+                }
+                if (!TEXT_BLOCK_TAGS.contains(element.normalName())) {
+                    continue;
+                }
 
-            System.out.println("Step 3: Response received in " + (endTime - startTime) + "ms");
-            System.out.println("Document title: " + (doc.title() != null ? doc.title() : "No title"));
+                String blockText = element.text().trim();
+                element.remove();
+                if (!blockText.isEmpty()) {
+                    if (text.length() > 0) {
+                        text.append(' ');
+                    }
+                    text.append(blockText);
+                }
 
-            System.out.println("Step 4: Cleaning document...");
-            // Remove scripts/styles and unwanted elements
-            doc.select("script, style, nav, footer, aside, .advertisement, .ads, .cookie-banner").remove();
+                if (text.length() >= MAX_TEXT_CHARS) {
+                    budgetReached = true;
+                    parser.stop();
+                    break;
+                }
+            }
 
-            System.out.println("Step 5: Extracting text...");
-            String text = doc.text().trim();
-            System.out.println("Text extracted - length: " + text.length());
-            System.out.println(text.substring(0, Math.min(100, text.length())) + "...(from jsoup)");
-            System.out.println(text.length());
+            System.out.println("Text extracted - length: " + text.length()
+                    + (budgetReached ? " (stopped early at budget)" : ""));
 
-            if (text.length() < 100) {
+            if (text.length() < MIN_TEXT_CHARS) {
                 System.out.println("Jsoup extraction returned insufficient content for: " + url);
                 return null;
             }
 
-            System.out.println("After checking...");
-
-            return text.length() > 5000 ? text.substring(0, 5000) : text;
+            return text.length() > MAX_TEXT_CHARS ? text.substring(0, MAX_TEXT_CHARS) : text.toString();
 
         } catch (Exception e) {
             System.err.println("Jsoup extraction failed for URL: " + url + " - " + e.getMessage());
@@ -156,6 +219,99 @@ public class ScrapingUtil {
         }
     }
 
+    /**
+     * Picks the charset for HTML decoding: the Content-Type header first, then a
+     * meta declaration near the top of the document, then UTF-8.
+     */
+    private Charset resolveCharset(BufferedInputStream stream, String declared) throws IOException {
+        String candidate = declared;
+        if (candidate == null) {
+            byte[] head = peek(stream, CHARSET_SNIFF_BYTES);
+            Matcher matcher = META_CHARSET.matcher(new String(head, StandardCharsets.ISO_8859_1));
+            if (matcher.find()) {
+                candidate = matcher.group(1);
+            }
+        }
+
+        try {
+            if (candidate != null && Charset.isSupported(candidate)) {
+                return Charset.forName(candidate);
+            }
+        } catch (Exception e) {
+            // Malformed charset name, fall through to the default
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    /**
+     * Reads up to {@code count} bytes from the start of the stream without
+     * consuming them.
+     */
+    private byte[] peek(BufferedInputStream stream, int count) throws IOException {
+        stream.mark(count);
+        byte[] buffer = new byte[count];
+        int read = 0;
+        while (read < count) {
+            int n = stream.read(buffer, read, count - read);
+            if (n < 0) {
+                break;
+            }
+            read += n;
+        }
+        stream.reset();
+
+        if (read == count) {
+            return buffer;
+        }
+        byte[] head = new byte[read];
+        System.arraycopy(buffer, 0, head, 0, read);
+        return head;
+    }
+
+    /**
+     * Decides how to extract a response. Magic bytes win over the declared
+     * content type so mislabelled PDFs and Office files still go to Tika; the
+     * header and URL pattern are used when the bytes are inconclusive.
+     */
+    ContentKind detectContentKind(String contentType, byte[] head, String url) {
+        if (isDocumentMagic(head)) {
+            return ContentKind.DOCUMENT;
+        }
+
+        if (contentType != null) {
+            String lowerContentType = contentType.toLowerCase();
+
+            if (lowerContentType.contains("application/pdf") ||
+                    lowerContentType.contains("application/vnd.openxmlformats") ||
+                    lowerContentType.contains("application/msword") ||
+                    lowerContentType.contains("application/vnd.ms-")) {
+                return ContentKind.DOCUMENT;
+            } else if (isHtmlContent(contentType)) {
+                return ContentKind.HTML;
+            } else if (!lowerContentType.contains("octet-stream")) {
+                return ContentKind.UNSUPPORTED;
+            }
+        }
+
+        // Unknown or generic binary type: fall back to the URL pattern, then HTML
+        return isPdfFromUrl(url) ? ContentKind.DOCUMENT : ContentKind.HTML;
+    }
+
+    /**
+     * Checks for PDF, ZIP-based Office (DOCX/PPTX/XLSX) and legacy OLE2 Office
+     * signatures.
+     */
+    private boolean isDocumentMagic(byte[] head) {
+        if (head == null || head.length < 4) {
+            return false;
+        }
+        boolean pdf = head[0] == '%' && head[1] == 'P' && head[2] == 'D' && head[3] == 'F';
+        boolean zip = head[0] == 'P' && head[1] == 'K' && head[2] == 3 && head[3] == 4;
+        boolean ole2 = (head[0] & 0xFF) == 0xD0 && (head[1] & 0xFF) == 0xCF
+                && (head[2] & 0xFF) == 0x11 && (head[3] & 0xFF) == 0xE0;
+        return pdf || zip || ole2;
+    }
+
     /**
      * Checks if URL appears to be a PDF from URL pattern
      */
@@ -186,4 +342,4 @@ public class ScrapingUtil {
                 lowerContentType.matches(".*\\*/xml.*") ||
                 lowerContentType.matches(".*\\*\\*\\+xml.*");
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,203 @@
+package com.insightflow.utils;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.util.Locale;
+
+/**
+ * {@link DiagramCanvas} that records drawing operations as SVG elements. No
+ * raster is allocated; text is measured with the same font metrics as the
+ * raster canvas so layouts match, and the output scales without blurring.
+ */
+public class SvgDiagramCanvas implements DiagramCanvas {
+
+    private final int width;
+    private final int height;
+    private final StringBuilder body = new StringBuilder();
+
+    private Color color = Color.BLACK;
+    private Font font = new Font(Font.DIALOG, Font.PLAIN, 12);
+    private BasicStroke stroke = new BasicStroke(1);
+    private final AffineTransform transform = new AffineTransform();
+
+    public SvgDiagramCanvas(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    @Override
+    public void setRenderingHint(RenderingHints.Key key, Object value) {
+        // SVG viewers antialias on their own
+    }
+
+    @Override
+    public void setColor(Color color) {
+        this.color = color;
+    }
+
+    @Override
+    public void setFont(Font font) {
+        this.font = font;
+    }
+
+    @Override
+    public void setStroke(BasicStroke stroke) {
+        this.stroke = stroke;
+    }
+
+    @Override
+    public Font getFont() {
+        return font;
+    }
+
+    @Override
+    public FontMetrics getFontMetrics() {
+        return TextLayoutEngine.forFont(font).getMetrics();
+    }
+
+    @Override
+    public void fillRect(int x, int y, int width, int height) {
+        element("rect", "x=\"" + x + "\" y=\"" + y + "\" width=\"" + width + "\" height=\"" + height + "\"" + fill());
+    }
+
+    @Override
+    public void drawRect(int x, int y, int width, int height) {
+        element("rect", "x=\"" + x + "\" y=\"" + y + "\" width=\"" + width + "\" height=\"" + height + "\""
+                + outline());
+    }
+
+    @Override
+    public void drawLine(int x1, int y1, int x2, int y2) {
+        element("line", "x1=\"" + x1 + "\" y1=\"" + y1 + "\" x2=\"" + x2 + "\" y2=\"" + y2 + "\"" + outline());
+    }
+
+    @Override
+    public void fillOval(int x, int y, int width, int height) {
+        element("ellipse", ellipse(x, y, width, height) + fill());
+    }
+
+    @Override
+    public void drawOval(int x, int y, int width, int height) {
+        element("ellipse", ellipse(x, y, width, height) + outline());
+    }
+
+    @Override
+    public void drawString(String text, int x, int y) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        StringBuilder attributes = new StringBuilder()
+                .append("x=\"").append(x).append("\" y=\"").append(y).append("\"")
+                .append(" font-family=\"").append(escape(font.getName())).append(", sans-serif\"")
+                .append(" font-size=\"").append(font.getSize()).append("\"");
+        if (font.isBold()) {
+            attributes.append(" font-weight=\"bold\"");
+        }
+        if (font.isItalic()) {
+            attributes.append(" font-style=\"italic\"");
+        }
+        attributes.append(fill()).append(" xml:space=\"preserve\"");
+        body.append("<text ").append(attributes).append(transformAttribute()).append('>')
+                .append(escape(text)).append("</text>\n");
+    }
+
+    @Override
+    public void rotate(double theta, double x, double y) {
+        transform.rotate(theta, x, y);
+    }
+
+    /**
+     * @return The complete SVG document
+     */
+    public String toSvg() {
+        return "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"" + width + "\" height=\"" + height
+                + "\" viewBox=\"0 0 " + width + " " + height + "\">\n" + body + "</svg>\n";
+    }
+
+    private void element(String name, String attributes) {
+        body.append('<').append(name).append(' ').append(attributes).append(transformAttribute()).append("/>\n");
+    }
+
+    private String ellipse(int x, int y, int width, int height) {
+        return "cx=\"" + number(x + width / 2.0) + "\" cy=\"" + number(y + height / 2.0) + "\" rx=\""
+                + number(width / 2.0) + "\" ry=\"" + number(height / 2.0) + "\"";
+    }
+
+    private String fill() {
+        return " fill=\"" + hex(color) + "\"" + opacity("fill-opacity");
+    }
+
+    private String outline() {
+        StringBuilder attributes = new StringBuilder(" fill=\"none\" stroke=\"").append(hex(color)).append('"')
+                .append(opacity("stroke-opacity"))
+                .append(" stroke-width=\"").append(number(stroke.getLineWidth())).append('"');
+        if (stroke.getEndCap() == BasicStroke.CAP_ROUND) {
+            attributes.append(" stroke-linecap=\"round\"");
+        } else if (stroke.getEndCap() == BasicStroke.CAP_SQUARE) {
+            attributes.append(" stroke-linecap=\"square\"");
+        }
+        if (stroke.getLineJoin() == BasicStroke.JOIN_ROUND) {
+            attributes.append(" stroke-linejoin=\"round\"");
+        } else if (stroke.getLineJoin() == BasicStroke.JOIN_BEVEL) {
+            attributes.append(" stroke-linejoin=\"bevel\"");
+        }
+        return attributes.toString();
+    }
+
+    private String opacity(String attribute) {
+        if (color.getAlpha() == 255) {
+            return "";
+        }
+        return " " + attribute + "=\"" + number(color.getAlpha() / 255.0) + "\"";
+    }
+
+    private String transformAttribute() {
+        if (transform.isIdentity() || "1 0 0 1 0 0".equals(matrix())) {
+            return "";
+        }
+        return " transform=\"matrix(" + matrix() + ")\"";
+    }
+
+    private String matrix() {
+        return number(transform.getScaleX()) + " " + number(transform.getShearY()) + " "
+                + number(transform.getShearX()) + " " + number(transform.getScaleY()) + " "
+                + number(transform.getTranslateX()) + " " + number(transform.getTranslateY());
+    }
+
+    private static String hex(Color color) {
+        return String.format("#%02x%02x%02x", color.getRed(), color.getGreen(), color.getBlue());
+    }
+
+    private static String number(double value) {
+        // Rounding also absorbs floating point noise left by rotating back and forth
+        double rounded = Math.round(value * 1000) / 1000.0;
+        if (rounded == Math.rint(rounded)) {
+            return Long.toString((long) rounded);
+        }
+        return String.format(Locale.ROOT, "%.3f", rounded).replaceAll("0+$", "");
+    }
+
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> escaped.append("&amp;");
+                case '<' -> escaped.append("&lt;");
+                case '>' -> escaped.append("&gt;");
+                case '"' -> escaped.append("&quot;");
+                default -> {
+                    // Control characters are not allowed in XML 1.0
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        escaped.append(c);
+                    }
+                }
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -1,19 +1,28 @@
 package com.insightflow.utils;
 
+import com.insightflow.models.TavilySearchCache;
+import com.insightflow.repositories.TavilySearchCacheRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
-import java.io.IOException;
-import java.net.HttpURLConnection;
-import java.net.URI;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Component
 public class TavilyUtil {
@@ -23,7 +32,33 @@ public class TavilyUtil {
     @Value("${tavily.api.key}")
     private String tavilyApiKey;
 
-    private final WebClient webClient = WebClient.builder().baseUrl("https://api.tavily.com").build();
+    @Value("${tavily.cache.ttl-hours:24}")
+    private long cacheTtlHours;
+
+    @Value("${tavily.search.concurrency:4}")
+    private int searchConcurrency;
+
+    @Value("${tavily.raw-content.max-chars:5000}")
+    private int rawContentMaxChars;
+
+    @Autowired
+    private TavilySearchCacheRepository searchCacheRepository;
+
+    @Autowired
+    private RateLimitingUtil rateLimitingUtil;
+
+    private static final List<String> LINKEDIN_COMPANY_DOMAIN = List.of("linkedin.com/company");
+
+    // Variation queries in flight at once when searching for a LinkedIn page
+    private static final int VARIATION_CONCURRENCY = 2;
+
+    @Autowired
+    @Qualifier("tavilyWebClient")
+    private WebClient webClient;
+
+    @Autowired
+    @Qualifier("outboundWebClient")
+    private WebClient outboundWebClient;
 
     /**
      * Performs a Tavily search, mirroring TavilySearchResults.
@@ -33,38 +68,179 @@ public class TavilyUtil {
      * @return List of result maps (each with "url", "content").
      */
     public List<Map<String, Object>> search(String query, int maxResults, List<String> includeDomains) {
-        logger.debug("Executing Tavily search: '{}' (max results: {})", query, maxResults);
+        List<Map<String, Object>> results = searchAsync(query, maxResults, includeDomains).block();
+        return results != null ? results : new ArrayList<>();
+    }
+
+    /**
+     * Non-blocking variant of {@link #search}. Results are served from the
+     * persistent query cache when a fresh entry exists; otherwise the API is
+     * called and the response cached. Never errors: failures resolve to an empty
+     * list.
+     */
+    public Mono<List<Map<String, Object>>> searchAsync(String query, int maxResults, List<String> includeDomains) {
+        return searchAsync(query, maxResults, includeDomains, false);
+    }
+
+    /**
+     * Performs a Tavily search that also returns each page's extracted content
+     * under "raw_content" (truncated to tavily.raw-content.max-chars), so callers
+     * can skip fetching the pages themselves.
+     *
+     * @param query      The search query.
+     * @param maxResults Max results.
+     * @return List of result maps (each with "url", "content", "raw_content").
+     */
+    public List<Map<String, Object>> searchWithContent(String query, int maxResults, List<String> includeDomains) {
+        List<Map<String, Object>> results = searchAsync(query, maxResults, includeDomains, true).block();
+        return results != null ? results : new ArrayList<>();
+    }
+
+    private Mono<List<Map<String, Object>>> searchAsync(String query, int maxResults, List<String> includeDomains,
+            boolean includeRawContent) {
+        String cacheKey = cacheKey(includeRawContent ? "results+raw" : "results", query, maxResults,
+                includeDomains);
+
+        return lookupCache(cacheKey)
+                .map(cached -> {
+                    logger.debug("Tavily cache hit for '{}' ({} results)", query, cached.getResults().size());
+                    return cached.getResults();
+                })
+                .switchIfEmpty(Mono.defer(() -> {
+                    logger.debug("Executing Tavily search: '{}' (max results: {})", query, maxResults);
+                    Map<String, Object> requestBody = buildRequestBody(query, maxResults, includeDomains);
+                    requestBody.put("include_answer", false);
+                    requestBody.put("include_raw_content", includeRawContent);
+
+                    return postSearch(requestBody)
+                            .map(response -> {
+                                @SuppressWarnings("unchecked")
+                                List<Map<String, Object>> results = (List<Map<String, Object>>) response
+                                        .get("results");
+                                if (results == null) {
+                                    return new ArrayList<Map<String, Object>>();
+                                }
+                                if (includeRawContent) {
+                                    results.forEach(this::truncateRawContent);
+                                }
+                                return results;
+                            })
+                            .flatMap(results -> storeCache(cacheKey, query, results, null).thenReturn(results))
+                            .doOnNext(results -> logger.debug("Tavily search completed: {} results returned",
+                                    results.size()))
+                            .onErrorResume(e -> {
+                                logger.error("Tavily search failed for query '{}': {}", query, e.getMessage());
+                                return Mono.just(new ArrayList<>()); // Return empty list on error
+                            });
+                }));
+    }
+
+    /**
+     * Asks Tavily for its generated answer to a question (include_answer=basic),
+     * using the same persistent query cache as {@link #search}.
+     *
+     * @return The answer text, or null if unavailable.
+     */
+    public String searchAnswer(String query, int maxResults) {
+        if (tavilyApiKey == null || tavilyApiKey.trim().isEmpty()) {
+            logger.debug("Tavily API key not configured, skipping API call");
+            return null;
+        }
 
+        String cacheKey = cacheKey("answer", query, maxResults, null);
+        return lookupCache(cacheKey)
+                .map(TavilySearchCache::getAnswer)
+                .switchIfEmpty(Mono.defer(() -> {
+                    Map<String, Object> requestBody = buildRequestBody(query, maxResults, null);
+                    requestBody.put("include_answer", "basic");
+
+                    return postSearch(requestBody)
+                            .flatMap(response -> {
+                                Object answer = response.get("answer");
+                                if (answer == null) {
+                                    return Mono.<String>empty();
+                                }
+                                return storeCache(cacheKey, query, null, answer.toString())
+                                        .thenReturn(answer.toString());
+                            })
+                            .onErrorResume(e -> {
+                                logger.debug("Tavily answer search failed for query '{}': {}", query,
+                                        e.getMessage());
+                                return Mono.empty();
+                            });
+                }))
+                .block();
+    }
+
+    /**
+     * Caps raw page content so cached entries and LLM prompts stay bounded.
+     */
+    private void truncateRawContent(Map<String, Object> result) {
+        Object rawContent = result.get("raw_content");
+        if (rawContent instanceof String && ((String) rawContent).length() > rawContentMaxChars) {
+            result.put("raw_content", ((String) rawContent).substring(0, rawContentMaxChars));
+        }
+    }
+
+    private Map<String, Object> buildRequestBody(String query, int maxResults, List<String> includeDomains) {
         Map<String, Object> requestBody = new HashMap<>();
         requestBody.put("api_key", tavilyApiKey);
         requestBody.put("query", query);
         requestBody.put("search_depth", "basic");
-        requestBody.put("include_answer", false);
         requestBody.put("include_images", false);
         requestBody.put("max_results", maxResults);
 
         if (includeDomains != null && !includeDomains.isEmpty()) {
             requestBody.put("include_domains", includeDomains);
         }
+        return requestBody;
+    }
 
-        try {
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> results = webClient.post()
-                    .uri("/search")
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .map(response -> (List<Map<String, Object>>) response.get("results"))
-                    .block(); // Synchronous for simplicity; use async in production
-
-            logger.debug("Tavily search completed: {} results returned", results != null ? results.size() : 0);
-            return results != null ? results : new ArrayList<>();
+    @SuppressWarnings("unchecked")
+    private Mono<Map<String, Object>> postSearch(Map<String, Object> requestBody) {
+        // Waits for a Tavily slot without holding a thread
+        return rateLimitingUtil.acquireReactive(RateLimitingUtil.TAVILY).then(webClient.post()
+                .uri("/search")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(requestBody)
+                .retrieve()
+                .bodyToMono(Map.class)
+                .map(response -> (Map<String, Object>) response));
+    }
 
-        } catch (Exception e) {
-            logger.error("Tavily search failed for query '{}': {}", query, e.getMessage());
-            return new ArrayList<>(); // Return empty list on error
-        }
+    /**
+     * Builds the cache key: whitespace- and case-normalized query plus every
+     * request option that changes the response.
+     */
+    private String cacheKey(String kind, String query, int maxResults, List<String> includeDomains) {
+        String normalizedQuery = query == null ? "" : query.trim().replaceAll("\\s+", " ").toLowerCase();
+        String domains = includeDomains == null ? ""
+                : includeDomains.stream().map(String::toLowerCase).sorted()
+                        .collect(java.util.stream.Collectors.joining(","));
+        return kind + "|" + normalizedQuery + "|" + maxResults + "|" + domains;
+    }
+
+    private Mono<TavilySearchCache> lookupCache(String cacheKey) {
+        return Mono.fromCallable(() -> {
+            try {
+                Optional<TavilySearchCache> cached = searchCacheRepository.findById(cacheKey);
+                return cached.filter(entry -> !entry.isExpired()).orElse(null);
+            } catch (Exception e) {
+                logger.debug("Tavily cache lookup failed: {}", e.getMessage());
+                return null;
+            }
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Mono<Void> storeCache(String cacheKey, String query, List<Map<String, Object>> results, String answer) {
+        return Mono.<Void>fromRunnable(() -> {
+            try {
+                Date expiresAt = new Date(System.currentTimeMillis() + Duration.ofHours(cacheTtlHours).toMillis());
+                searchCacheRepository.save(new TavilySearchCache(cacheKey, query, results, answer, expiresAt));
+            } catch (Exception e) {
+                logger.debug("Tavily cache store failed: {}", e.getMessage());
+            }
+        }).subscribeOn(Schedulers.boundedElastic());
     }
 
     /**
@@ -79,36 +255,43 @@ public class TavilyUtil {
         List<Map<String, Object>> allResults = new ArrayList<>();
 
         // Strategy 1: Force LinkedIn company domain search (most targeted)
-        String forcedLinkedInQuery = "site:linkedin.com/company " + companyName;
-        List<Map<String, Object>> forcedResults = search(companyName, 5, List.of("linkedin.com/company"));
+        List<Map<String, Object>> forcedResults = search(companyName, 5, LINKEDIN_COMPANY_DOMAIN);
         logger.info("Forced LinkedIn domain search returned {} results", forcedResults.size());
         allResults.addAll(forcedResults);
 
         // Strategy 2: Try with exact path structure
         if (allResults.size() < 2) {
             String exactPathQuery = "site:linkedin.com/company/ \"" + companyName + "\"";
-            List<Map<String, Object>> exactResults = search(exactPathQuery, 3, List.of("linkedin.com/company"));
+            List<Map<String, Object>> exactResults = search(exactPathQuery, 3, LINKEDIN_COMPANY_DOMAIN);
             logger.info("Exact LinkedIn path search returned {} results", exactResults.size());
             allResults.addAll(exactResults);
         }
 
-        // Strategy 3: Try common company variations with forced domain
+        // Strategy 3: Try common company variations with forced domain. The variation
+        // queries are independent, so they run concurrently, but at most two at a time:
+        // once enough results have arrived takeUntil cancels the pending ones, and the
+        // narrow window keeps the credits spent on queries that are already in flight low.
         if (allResults.size() < 2) {
             List<String> variations = generateLinkedInCompanyVariations(companyName);
-            for (String variation : variations) {
-                String variationQuery = "site:linkedin.com/company " + variation;
-                List<Map<String, Object>> variationResults = search(variationQuery, 2, List.of("linkedin.com/company"));
-                logger.info("LinkedIn variation '{}' search returned {} results", variation, variationResults.size());
-                allResults.addAll(variationResults);
-                if (allResults.size() >= 5)
-                    break; // Limit total results
+            AtomicInteger total = new AtomicInteger(allResults.size());
+            List<List<Map<String, Object>>> variationResults = Flux.fromIterable(variations)
+                    .flatMapSequential(variation -> searchAsync("site:linkedin.com/company " + variation, 2,
+                            LINKEDIN_COMPANY_DOMAIN)
+                            .doOnNext(results -> logger.info("LinkedIn variation '{}' search returned {} results",
+                                    variation, results.size())),
+                            Math.max(1, Math.min(searchConcurrency, VARIATION_CONCURRENCY)))
+                    .takeUntil(results -> total.addAndGet(results.size()) >= 5) // Limit total results
+                    .collectList()
+                    .block();
+            if (variationResults != null) {
+                variationResults.forEach(allResults::addAll);
             }
         }
 
         // Strategy 4: Broader LinkedIn search (only if still insufficient)
         if (allResults.size() < 3) {
             String broadQuery = "linkedin.com \"" + companyName + "\" company profile";
-            List<Map<String, Object>> broadResults = search(broadQuery, 3, List.of("linkedin.com/company"));
+            List<Map<String, Object>> broadResults = search(broadQuery, 3, LINKEDIN_COMPANY_DOMAIN);
             logger.info("Broad LinkedIn search returned {} results", broadResults.size());
             allResults.addAll(broadResults);
         }
@@ -199,17 +382,19 @@ public class TavilyUtil {
         if (includeVariations && allResults.size() < 2) {
             logger.info("Standard search insufficient, trying company name variations...");
 
-            // Generate company name variations
+            // Generate company name variations and search them concurrently, merging in order
             List<String> variations = generateCompanyNameVariations(companyName);
 
-            for (String variation : variations) {
-                if (!variation.equals(companyName)) {
-                    logger.debug("Searching for variation: {}", variation);
-                    String variationQuery = "site:linkedin.com/company " + variation;
-                    List<Map<String, Object>> variationResults = search(variationQuery, 2,
-                            List.of("linkedin.com/company"));
-                    allResults.addAll(variationResults);
-                }
+            List<List<Map<String, Object>>> variationResults = Flux.fromIterable(variations)
+                    .filter(variation -> !variation.equals(companyName))
+                    .flatMapSequential(variation -> {
+                        logger.debug("Searching for variation: {}", variation);
+                        return searchAsync("site:linkedin.com/company " + variation, 2, LINKEDIN_COMPANY_DOMAIN);
+                    }, searchConcurrency)
+                    .collectList()
+                    .block();
+            if (variationResults != null) {
+                variationResults.forEach(allResults::addAll);
             }
         }
 
@@ -282,22 +467,19 @@ public class TavilyUtil {
         logger.debug("Validating LinkedIn company URL: {}", url);
 
         try {
-            URI uri = URI.create(url);
-            HttpURLConnection connection = (HttpURLConnection) uri.toURL().openConnection();
-            connection.setRequestMethod("HEAD");
-            connection.setConnectTimeout(5000); // 5 second timeout
-            connection.setReadTimeout(5000);
-
-            // Set user agent to avoid blocking
-            connection.setRequestProperty("User-Agent",
-                    "Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:118.0) Gecko/20100101 Firefox/118.0");
-
-            int responseCode = connection.getResponseCode();
+            Integer responseCode = outboundWebClient.head()
+                    .uri(url)
+                    // Set user agent to avoid blocking
+                    .header(HttpHeaders.USER_AGENT,
+                            "Mozilla/5.0 (Windows NT 10.0; Win64; x64; rv:118.0) Gecko/20100101 Firefox/118.0")
+                    .exchangeToMono(response -> response.releaseBody()
+                            .thenReturn(response.statusCode().value()))
+                    .block(Duration.ofSeconds(5)); // 5 second timeout
             logger.debug("HEAD request to {} returned status code: {}", url, responseCode);
 
-            return responseCode == 200;
+            return responseCode != null && responseCode == 200;
 
-        } catch (IOException e) {
+        } catch (Exception e) {
             logger.debug("Failed to validate LinkedIn URL {}: {}", url, e.getMessage());
             return false;
         }
@@ -0,0 +1,170 @@
+package com.insightflow.utils;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Text measurement and wrapping for the diagram renderers, one shared instance
+ * per font. Font metrics and glyph advances are looked up once per font, line
+ * widths are accumulated word by word instead of re-measuring the growing
+ * line, and wrap results are memoized since the same strings are laid out for
+ * every re-render of an analysis.
+ */
+public class TextLayoutEngine {
+
+    private static final int WRAP_CACHE_ENTRIES = 512;
+    private static final String ELLIPSIS = "...";
+
+    private static final Map<Font, TextLayoutEngine> ENGINES = new ConcurrentHashMap<>();
+
+    // Same rendering hints as the diagrams, so measured widths match the drawn text
+    private static final Graphics2D METRICS_CONTEXT;
+
+    static {
+        METRICS_CONTEXT = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB).createGraphics();
+        METRICS_CONTEXT.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        METRICS_CONTEXT.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+                RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+    }
+
+    private final FontMetrics metrics;
+    // Advances of the first 256 characters; everything else is cached on demand
+    private final int[] latinAdvances;
+    private final Map<Character, Integer> otherAdvances = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> wrapCache = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<String>> eldest) {
+            return size() > WRAP_CACHE_ENTRIES;
+        }
+    };
+
+    private TextLayoutEngine(Font font) {
+        synchronized (METRICS_CONTEXT) {
+            this.metrics = METRICS_CONTEXT.getFontMetrics(font);
+        }
+        this.latinAdvances = metrics.getWidths();
+    }
+
+    public static TextLayoutEngine forFont(Font font) {
+        return ENGINES.computeIfAbsent(font, TextLayoutEngine::new);
+    }
+
+    public FontMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * @return Advance width of the text in pixels, as {@link FontMetrics#stringWidth}
+     */
+    public int width(String text) {
+        int width = 0;
+        for (int i = 0; i < text.length(); i++) {
+            int advance = advance(text.charAt(i));
+            if (advance < 0) {
+                return metrics.stringWidth(text);
+            }
+            width += advance;
+        }
+        return width;
+    }
+
+    /**
+     * Wraps text at spaces to fit within maxWidth; a single word that is too
+     * long on its own is truncated with an ellipsis
+     *
+     * @return Unmodifiable list of lines, empty for null or empty text
+     */
+    public List<String> wrap(String text, int maxWidth) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        String key = maxWidth + ":" + text;
+        synchronized (wrapCache) {
+            List<String> cached = wrapCache.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        List<String> lines = new ArrayList<>();
+        int spaceWidth = width(" ");
+        StringBuilder currentLine = new StringBuilder();
+        int lineWidth = 0;
+        for (String word : text.split(" ")) {
+            int wordWidth = width(word);
+            if (currentLine.length() == 0) {
+                currentLine.append(word);
+                lineWidth = wordWidth;
+            } else if (lineWidth + spaceWidth + wordWidth <= maxWidth) {
+                currentLine.append(' ').append(word);
+                lineWidth += spaceWidth + wordWidth;
+            } else {
+                lines.add(fit(currentLine.toString(), lineWidth, maxWidth));
+                currentLine.setLength(0);
+                currentLine.append(word);
+                lineWidth = wordWidth;
+            }
+        }
+        if (currentLine.length() > 0) {
+            lines.add(fit(currentLine.toString(), lineWidth, maxWidth));
+        }
+
+        List<String> result = List.copyOf(lines);
+        synchronized (wrapCache) {
+            wrapCache.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Shortens text with an ellipsis so it fits within maxWidth
+     */
+    public String truncate(String text, int maxWidth) {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+        return fit(text, width(text), maxWidth);
+    }
+
+    private String fit(String text, int textWidth, int maxWidth) {
+        if (textWidth <= maxWidth) {
+            return text;
+        }
+        int maxTextWidth = maxWidth - width(ELLIPSIS);
+        int prefixWidth = 0;
+        int length = 0;
+        while (length < text.length()) {
+            int advance = advance(text.charAt(length));
+            int next = advance < 0 ? metrics.stringWidth(text.substring(0, length + 1)) : prefixWidth + advance;
+            if (next > maxTextWidth) {
+                break;
+            }
+            prefixWidth = next;
+            length++;
+        }
+        return length == 0 ? ELLIPSIS : text.substring(0, length) + ELLIPSIS;
+    }
+
+    /**
+     * @return Advance of the character, or -1 if it belongs to a script that
+     *         needs shaping or bidi layout and must be measured in context
+     */
+    private int advance(char c) {
+        if (c < latinAdvances.length) {
+            return latinAdvances[c];
+        }
+        // General punctuation through dingbats (bullets, dashes, arrows) advance simply
+        if (c >= 0x0590 && (c < 0x2000 || c > 0x27BF)) {
+            return -1;
+        }
+        return otherAdvances.computeIfAbsent(c, metrics::charWidth);
+    }
+}
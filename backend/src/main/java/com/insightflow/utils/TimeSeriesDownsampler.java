@@ -0,0 +1,81 @@
+package com.insightflow.utils;
+
+/**
+ * Largest-Triangle-Three-Buckets downsampling (Steinarsson, 2013). Picks the
+ * points of a line chart that keep its visual shape: the first and last points
+ * are always kept, and every bucket in between contributes the point that
+ * forms the largest triangle with the previously picked point and the average
+ * of the next bucket, so peaks and dips survive where averaging would flatten
+ * them.
+ */
+public final class TimeSeriesDownsampler {
+
+    public static final int MIN_THRESHOLD = 3;
+
+    private TimeSeriesDownsampler() {
+    }
+
+    /**
+     * @param x         X values in ascending order
+     * @param y         Y values, same length as x
+     * @param threshold Number of points to keep, at least {@link #MIN_THRESHOLD}
+     * @return Ascending indices of the points to keep; all indices if there are
+     *         no more points than the threshold
+     */
+    public static int[] lttb(double[] x, double[] y, int threshold) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException("x and y must have the same length");
+        }
+        if (threshold < MIN_THRESHOLD) {
+            throw new IllegalArgumentException("threshold must be at least " + MIN_THRESHOLD);
+        }
+        int n = x.length;
+        if (n <= threshold) {
+            int[] all = new int[n];
+            for (int i = 0; i < n; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+
+        int[] sampled = new int[threshold];
+        // The first and last points are fixed, the rest are split into equal buckets
+        double bucketSize = (double) (n - 2) / (threshold - 2);
+        int selected = 0;
+        sampled[0] = 0;
+
+        for (int bucket = 0; bucket < threshold - 2; bucket++) {
+            // Average of the next bucket, the third corner of the triangles
+            int nextStart = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) Math.floor((bucket + 2) * bucketSize) + 1, n);
+            double avgX = 0;
+            double avgY = 0;
+            for (int i = nextStart; i < nextEnd; i++) {
+                avgX += x[i];
+                avgY += y[i];
+            }
+            avgX /= nextEnd - nextStart;
+            avgY /= nextEnd - nextStart;
+
+            int start = (int) Math.floor(bucket * bucketSize) + 1;
+            int end = (int) Math.floor((bucket + 1) * bucketSize) + 1;
+            double ax = x[selected];
+            double ay = y[selected];
+            double maxArea = -1;
+            int maxIndex = start;
+            for (int i = start; i < end; i++) {
+                // Twice the triangle area; only the comparison matters
+                double area = Math.abs((ax - avgX) * (y[i] - ay) - (ax - x[i]) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    maxIndex = i;
+                }
+            }
+            sampled[bucket + 1] = maxIndex;
+            selected = maxIndex;
+        }
+
+        sampled[threshold - 1] = n - 1;
+        return sampled;
+    }
+}
@@ -0,0 +1,407 @@
+package com.insightflow.utils;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Bounded pool of warm headless Chrome instances for LinkedIn work.
+ *
+ * Browsers are leased and returned instead of being launched and killed per
+ * request. At most {@code chrome.pool.max-size} browsers exist at once; further
+ * callers wait for a lease. Idle browsers are health-checked before reuse and
+ * recycled after a number of uses, after a crash, when idle for too long, or
+ * when their process tree grows past the memory cap.
+ */
+@Component
+public class WebDriverPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebDriverPool.class);
+
+    @Value("${chrome.pool.max-size:2}")
+    private int maxSize;
+
+    @Value("${chrome.pool.warm-size:1}")
+    private int warmSize;
+
+    @Value("${chrome.pool.max-uses:20}")
+    private int maxUses;
+
+    @Value("${chrome.pool.max-idle-minutes:15}")
+    private long maxIdleMinutes;
+
+    @Value("${chrome.pool.max-memory-mb:1024}")
+    private long maxMemoryMb;
+
+    @Value("${chrome.pool.lease-timeout-seconds:120}")
+    private long leaseTimeoutSeconds;
+
+    @Value("${chrome.pool.prewarm.enabled:true}")
+    private boolean prewarmEnabled;
+
+    @Autowired
+    private ChromeDriverUtil chromeDriverUtil;
+
+    private final LinkedBlockingDeque<PooledDriver> idle = new LinkedBlockingDeque<>();
+    private final AtomicInteger liveCount = new AtomicInteger();
+    private Semaphore permits;
+    private volatile boolean shutdown = false;
+
+    /**
+     * A browser owned by the pool together with its bookkeeping.
+     */
+    private static class PooledDriver {
+        final WebDriver driver;
+        final String userDataDir;
+        int uses = 0;
+        long lastReturnedAt = System.currentTimeMillis();
+
+        PooledDriver(WebDriver driver, String userDataDir) {
+            this.driver = driver;
+            this.userDataDir = userDataDir;
+        }
+    }
+
+    /**
+     * Exclusive use of one pooled browser. Closing the lease returns the
+     * browser to the pool, or destroys it if it was invalidated.
+     */
+    public class Lease implements AutoCloseable {
+        private final PooledDriver pooled;
+        private boolean invalid = false;
+        private boolean closed = false;
+
+        private Lease(PooledDriver pooled) {
+            this.pooled = pooled;
+        }
+
+        public WebDriver getDriver() {
+            return pooled.driver;
+        }
+
+        /**
+         * Marks the browser as unusable so it is quit instead of reused.
+         */
+        public void invalidate() {
+            invalid = true;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            release(pooled, invalid);
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        permits = new Semaphore(Math.max(1, maxSize), true);
+    }
+
+    /**
+     * Kills browsers left behind by a previous run, then starts the warm
+     * browsers in the background so the first LinkedIn stage does not pay the
+     * startup cost.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prewarm() {
+        chromeDriverUtil.cleanupChromeProcesses();
+        if (!prewarmEnabled) {
+            return;
+        }
+        Thread warmer = new Thread(this::topUpWarmDrivers, "InsightFlow-ChromePrewarm");
+        warmer.setDaemon(true);
+        warmer.start();
+    }
+
+    /**
+     * Leases a browser, waiting up to the configured lease timeout when all
+     * browsers are in use.
+     *
+     * @return Lease on a healthy browser
+     */
+    public Lease acquire() {
+        try {
+            if (!permits.tryAcquire(leaseTimeoutSeconds, TimeUnit.SECONDS)) {
+                throw new IllegalStateException(
+                        "No Chrome browser available within " + leaseTimeoutSeconds + "s (pool size " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a Chrome browser", e);
+        }
+        return leaseAfterPermit();
+    }
+
+    /**
+     * Leases a browser only if one can be had without waiting, for optional
+     * extra work that should not hold up callers that need a browser.
+     *
+     * @return Lease on a healthy browser, or null when the pool is exhausted
+     */
+    public Lease tryAcquire() {
+        if (shutdown || !permits.tryAcquire()) {
+            return null;
+        }
+        return leaseAfterPermit();
+    }
+
+    private Lease leaseAfterPermit() {
+        try {
+            PooledDriver pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                if (isHealthy(pooled)) {
+                    logger.info("Leasing warm Chrome browser (uses: {}, idle pool: {})", pooled.uses, idle.size());
+                    return lease(pooled);
+                }
+                logger.warn("Discarding unhealthy pooled Chrome browser");
+                destroy(pooled);
+            }
+            logger.info("No warm Chrome browser available, starting a new one");
+            return lease(create());
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private Lease lease(PooledDriver pooled) {
+        pooled.uses++;
+        return new Lease(pooled);
+    }
+
+    private void release(PooledDriver pooled, boolean invalid) {
+        try {
+            String reason = null;
+            if (shutdown) {
+                reason = "pool shut down";
+            } else if (invalid) {
+                reason = "invalidated by caller";
+            } else if (pooled.uses >= maxUses) {
+                reason = "reached " + maxUses + " uses";
+            } else if (!resetForReuse(pooled)) {
+                reason = "reset failed";
+            } else {
+                long memoryMb = processTreeMemoryMb(pooled);
+                if (memoryMb > maxMemoryMb) {
+                    reason = "using " + memoryMb + "MB (cap " + maxMemoryMb + "MB)";
+                }
+            }
+
+            if (reason != null) {
+                logger.info("Recycling Chrome browser: {}", reason);
+                destroy(pooled);
+            } else {
+                pooled.lastReturnedAt = System.currentTimeMillis();
+                idle.offerFirst(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Clears per-lease state so the next caller starts from a blank browser.
+     */
+    private boolean resetForReuse(PooledDriver pooled) {
+        try {
+            WebDriver driver = pooled.driver;
+            chromeDriverUtil.applyDefaultTimeouts(driver);
+            driver.get("about:blank");
+            if (driver instanceof HasCdp) {
+                // deleteAllCookies() only covers the current origin
+                ((HasCdp) driver).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            } else {
+                driver.manage().deleteAllCookies();
+            }
+            return true;
+        } catch (Exception e) {
+            logger.warn("Could not reset pooled Chrome browser: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean isHealthy(PooledDriver pooled) {
+        try {
+            Object result = ((JavascriptExecutor) pooled.driver).executeScript("return 1;");
+            return result != null;
+        } catch (Exception e) {
+            logger.debug("Chrome health check failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private PooledDriver create() {
+        String userDataDir = chromeDriverUtil.newUserDataDir();
+        WebDriver driver = chromeDriverUtil.createWebDriver(userDataDir);
+        liveCount.incrementAndGet();
+        return new PooledDriver(driver, userDataDir);
+    }
+
+    private void destroy(PooledDriver pooled) {
+        chromeDriverUtil.closeWebDriver(pooled.driver);
+        liveCount.decrementAndGet();
+        deleteDirectory(pooled.userDataDir);
+    }
+
+    /**
+     * Periodically drops idle browsers that crashed or sat unused for too long,
+     * then restores the warm minimum.
+     */
+    @Scheduled(fixedDelayString = "${chrome.pool.maintenance-interval-ms:60000}",
+            initialDelayString = "${chrome.pool.maintenance-interval-ms:60000}")
+    public void maintain() {
+        if (shutdown) {
+            return;
+        }
+        long idleCutoff = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(maxIdleMinutes);
+        List<PooledDriver> snapshot = new ArrayList<>(idle);
+        for (PooledDriver pooled : snapshot) {
+            // The check holds a permit like a lease does, so an acquire() that finds the
+            // idle pool empty meanwhile cannot start a browser beyond the pool size
+            if (!permits.tryAcquire()) {
+                break;
+            }
+            try {
+                // Take the browser out first so it cannot be leased while being checked
+                if (!idle.remove(pooled)) {
+                    continue;
+                }
+                boolean expired = pooled.lastReturnedAt < idleCutoff && idle.size() >= warmSize;
+                if (expired || !isHealthy(pooled)) {
+                    logger.info("Evicting idle Chrome browser ({})", expired ? "idle too long" : "unhealthy");
+                    destroy(pooled);
+                } else {
+                    idle.offerLast(pooled);
+                }
+            } finally {
+                permits.release();
+            }
+        }
+        if (prewarmEnabled) {
+            topUpWarmDrivers();
+        }
+    }
+
+    private void topUpWarmDrivers() {
+        while (!shutdown && idle.size() < warmSize && liveCount.get() < maxSize && permits.tryAcquire()) {
+            try {
+                long start = System.currentTimeMillis();
+                idle.offerLast(create());
+                logger.info("Pre-warmed Chrome browser in {} ms (idle pool: {})",
+                        System.currentTimeMillis() - start, idle.size());
+            } catch (Exception e) {
+                logger.warn("Could not pre-warm Chrome browser: {}", e.getMessage());
+                permits.release();
+                return;
+            }
+            permits.release();
+        }
+    }
+
+    /**
+     * Resident memory of the browser's process tree in MB, or -1 when it cannot
+     * be measured on this platform. The browser process is found by its unique
+     * --user-data-dir argument and its renderers are its descendants.
+     */
+    private long processTreeMemoryMb(PooledDriver pooled) {
+        if (!Files.isDirectory(Paths.get("/proc"))) {
+            return -1;
+        }
+        String marker = "--user-data-dir=" + pooled.userDataDir;
+        Optional<ProcessHandle> browser = ProcessHandle.current().descendants()
+                .filter(p -> p.info().commandLine().map(cmd -> cmd.contains(marker)).orElse(false))
+                .filter(p -> p.parent().map(parent -> !parent.info().commandLine()
+                        .map(cmd -> cmd.contains(marker)).orElse(false)).orElse(true))
+                .findFirst();
+        if (browser.isEmpty()) {
+            return -1;
+        }
+
+        long totalKb = residentKb(browser.get().pid());
+        for (ProcessHandle child : (Iterable<ProcessHandle>) browser.get().descendants()::iterator) {
+            totalKb += residentKb(child.pid());
+        }
+        return totalKb / 1024;
+    }
+
+    private long residentKb(long pid) {
+        try (Stream<String> lines = Files.lines(Paths.get("/proc", String.valueOf(pid), "status"))) {
+            return lines.filter(line -> line.startsWith("VmRSS:"))
+                    .map(line -> line.replaceAll("[^0-9]", ""))
+                    .filter(value -> !value.isEmpty())
+                    .mapToLong(Long::parseLong)
+                    .findFirst()
+                    .orElse(0L);
+        } catch (IOException | RuntimeException e) {
+            return 0L;
+        }
+    }
+
+    private void deleteDirectory(String dir) {
+        if (dir == null) {
+            return;
+        }
+        Path path = Paths.get(dir);
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> walk = Files.walk(path)) {
+            walk.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(java.io.File::delete);
+        } catch (Exception e) {
+            logger.warn("Failed to clean up Chrome user data directory {}: {}", dir, e.getMessage());
+        }
+    }
+
+    /**
+     * @return Number of browsers currently alive, leased or idle
+     */
+    public int getLiveCount() {
+        return liveCount.get();
+    }
+
+    /**
+     * @return Number of warm browsers waiting for a lease
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        shutdown = true;
+        PooledDriver pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            destroy(pooled);
+        }
+        logger.info("Chrome browser pool shut down");
+    }
+}
@@ -0,0 +1,80 @@
+package com.insightflow;
+
+import com.insightflow.utils.ChromeDriverUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ChromeDriverUtilTest {
+
+    private ChromeDriverUtil chromeDriverUtil;
+
+    @BeforeEach
+    void setUp() {
+        chromeDriverUtil = new ChromeDriverUtil();
+    }
+
+    @Test
+    void testBlockedPatternsCoverTypesAndHosts() {
+        ReflectionTestUtils.setField(chromeDriverUtil, "blockedResourceTypes", List.of("image", "font"));
+        ReflectionTestUtils.setField(chromeDriverUtil, "blockedHosts", List.of("doubleclick.net", "snap.licdn.com"));
+        ReflectionTestUtils.setField(chromeDriverUtil, "allowedPatterns", List.of("snap.licdn.com"));
+
+        List<String> patterns = chromeDriverUtil.buildBlockedUrlPatterns();
+
+        assertTrue(patterns.contains("*.png*"));
+        assertTrue(patterns.contains("*media.licdn.com/dms/image/*"));
+        assertTrue(patterns.contains("*.woff*"));
+        // Favicons are blocked, ".icons"/".iconfont" assets are not
+        assertTrue(patterns.contains("*.ico"));
+        assertTrue(patterns.contains("*.ico?*"));
+        assertFalse(patterns.contains("*.ico*"));
+        assertTrue(patterns.contains("*doubleclick.net/*"));
+        // Media was not configured, and the allow list wins over the host deny list
+        assertFalse(patterns.contains("*.mp4*"));
+        assertFalse(patterns.contains("*snap.licdn.com/*"));
+    }
+
+    @Test
+    void testResourceBlockingIsAppliedThroughDevTools() {
+        ChromeDriver driver = Mockito.mock(ChromeDriver.class);
+
+        assertTrue(chromeDriverUtil.applyResourceBlocking(driver));
+
+        verify(driver).executeCdpCommand(eq("Network.enable"), anyMap());
+        verify(driver).executeCdpCommand("Network.setBlockedURLs",
+                Map.of("urls", chromeDriverUtil.buildBlockedUrlPatterns()));
+        assertTrue(chromeDriverUtil.isResourceBlockingApplied(driver));
+    }
+
+    @Test
+    void testFailedDevToolsCallIsNotReportedAsBlocking() {
+        ChromeDriver driver = Mockito.mock(ChromeDriver.class);
+        when(driver.executeCdpCommand(eq("Network.setBlockedURLs"), anyMap()))
+                .thenThrow(new RuntimeException("CDP not available"));
+
+        assertFalse(chromeDriverUtil.applyResourceBlocking(driver));
+
+        assertFalse(chromeDriverUtil.isResourceBlockingApplied(driver));
+    }
+
+    @Test
+    void testDisabledBlockingLeavesDriverUntouched() {
+        ReflectionTestUtils.setField(chromeDriverUtil, "resourceBlockingEnabled", false);
+        ChromeDriver driver = Mockito.mock(ChromeDriver.class);
+
+        assertFalse(chromeDriverUtil.applyResourceBlocking(driver));
+
+        verifyNoInteractions(driver);
+        assertFalse(chromeDriverUtil.isResourceBlockingApplied(driver));
+    }
+}
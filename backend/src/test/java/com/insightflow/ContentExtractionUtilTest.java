@@ -0,0 +1,182 @@
+package com.insightflow;
+
+import com.insightflow.utils.ContentExtractionUtil;
+import com.insightflow.utils.HttpPageCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ContentExtractionUtilTest {
+
+    private static final String PUBLIC_PAGE = "<html><head><title>Acme Robotics | LinkedIn</title>"
+            + "<meta property=\"og:title\" content=\"Acme Robotics | LinkedIn\"></head><body>"
+            + "<h1 class=\"top-card-layout__title\">Acme Robotics</h1>"
+            + "<p data-test-id=\"about-us__description\">Acme Robotics builds autonomous warehouse robots "
+            + "for logistics companies across Europe and North America.</p>"
+            + "<div data-test-id=\"about-us__industry\"><dt>Industry</dt><dd>Automation Machinery</dd></div>"
+            + "<div data-test-id=\"about-us__size\"><dt>Company size</dt><dd>201-500 employees</dd></div>"
+            + "<p data-test-id=\"main-feed-activity-card__commentary\">We shipped our new picking arm to three "
+            + "large grocery distribution centers this quarter.</p>"
+            + "<p data-test-id=\"main-feed-activity-card__commentary\">We shipped our new picking arm to three "
+            + "large grocery distribution centers this quarter.</p>"
+            + "<p data-test-id=\"main-feed-activity-card__commentary\">Register now</p>"
+            + "</body></html>";
+
+    private static final String LOGIN_WALL = "<html><head><title>Sign Up | LinkedIn</title></head>"
+            + "<body><form class=\"login__form\"></form></body></html>";
+
+    private HttpPageCache httpPageCache;
+    private ContentExtractionUtil contentExtractionUtil;
+    // What the extractor handed to the page cache for storing
+    private final List<String> extracted = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        httpPageCache = Mockito.mock(HttpPageCache.class);
+        contentExtractionUtil = new ContentExtractionUtil();
+        ReflectionTestUtils.setField(contentExtractionUtil, "httpPageCache", httpPageCache);
+    }
+
+    private void serve(String html) throws Exception {
+        when(httpPageCache.fetch(anyString(), anyString(), any(), any())).thenAnswer(invocation -> {
+            HttpPageCache.BodyExtractor extractor = invocation.getArgument(3);
+            String value = extractor.extract(new BufferedInputStream(
+                    new ByteArrayInputStream(html.getBytes(StandardCharsets.UTF_8))), "text/html", "UTF-8");
+            extracted.add(value);
+            return value;
+        });
+    }
+
+    @Test
+    void testExtractsPublicCompanyPage() throws Exception {
+        serve(PUBLIC_PAGE);
+
+        ContentExtractionUtil.LinkedInContent content = contentExtractionUtil
+                .extractPublicLinkedInContent("Acme Robotics", "acme-robotics");
+
+        assertNotNull(content);
+        assertEquals("Acme Robotics", content.companyTitle);
+        assertTrue(content.description.startsWith("Acme Robotics builds autonomous warehouse robots"));
+        assertTrue(content.description.contains("Industry: Automation Machinery"));
+        assertTrue(content.description.contains("Company size: 201-500 employees"));
+        // Duplicates and promotional one-liners are filtered like browser-extracted posts
+        assertEquals(1, content.posts.size());
+        assertTrue(content.fullText.contains("Post: We shipped our new picking arm"));
+    }
+
+    @Test
+    void testLoginWallYieldsNoContent() throws Exception {
+        serve(LOGIN_WALL);
+
+        assertNull(contentExtractionUtil.extractPublicLinkedInContent("Acme Robotics", "acme-robotics"));
+        // Null is never stored, so the next fetch tries the real page again
+        assertEquals(1, extracted.size());
+        assertNull(extracted.get(0));
+    }
+
+    @Test
+    void testPageSnapshotIsReadInOneScriptCall() {
+        WebDriver driver = Mockito.mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        when(((JavascriptExecutor) driver).executeScript(anyString(), any(), any(), any())).thenReturn(
+                "{\"title\":\"Acme Robotics\",\"description\":\"We build robots.\","
+                        + "\"postGroups\":[[\"First post\"],[]],\"mainText\":\"Main\"}");
+
+        Object snapshot = ReflectionTestUtils.invokeMethod(contentExtractionUtil, "snapshotPage", driver);
+
+        assertEquals("Acme Robotics", ReflectionTestUtils.getField(snapshot, "title"));
+        assertEquals("We build robots.", ReflectionTestUtils.getField(snapshot, "description"));
+        assertEquals(List.of(List.of("First post"), List.of()), ReflectionTestUtils.getField(snapshot, "postGroups"));
+        verify((JavascriptExecutor) driver, times(1)).executeScript(anyString(), any(), any(), any());
+        verify(driver, never()).findElements(any());
+    }
+
+    @Test
+    void testPageSnapshotFallsBackToPageSource() {
+        WebDriver driver = Mockito.mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        when(((JavascriptExecutor) driver).executeScript(anyString(), any(), any(), any()))
+                .thenThrow(new WebDriverException("javascript error"));
+        when(driver.getPageSource()).thenReturn("<html><body><main><h1 class=\"org-top-card-summary__title\">"
+                + "Acme Robotics</h1><div class=\"feed-shared-update-v2\"><span dir=\"ltr\">First post</span>"
+                + "</div></main></body></html>");
+
+        Object snapshot = ReflectionTestUtils.invokeMethod(contentExtractionUtil, "snapshotPage", driver);
+
+        assertEquals("Acme Robotics", ReflectionTestUtils.getField(snapshot, "title"));
+        assertEquals(List.of(List.of("First post"), List.of()), ReflectionTestUtils.getField(snapshot, "postGroups"));
+    }
+
+    @Test
+    void testExpandedPostsAreReadAfterThePageSettles() {
+        WebDriver driver = Mockito.mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        when(js.executeScript(contains("see more"))).thenReturn(2L);
+        when(js.executeAsyncScript(anyString(), any(), any(), any(), any(), any()))
+                .thenReturn("{\"posts\":3,\"height\":4000,\"grew\":true,\"elapsed\":700}");
+        when(js.executeScript(anyString(), any(), any(), any())).thenReturn(
+                "{\"title\":\"Acme Robotics\",\"description\":\"\",\"postGroups\":[[\"Full post\"]],"
+                        + "\"mainText\":\"\"}");
+
+        ReflectionTestUtils.invokeMethod(contentExtractionUtil, "snapshotPage", driver);
+
+        // Clicking and reading in the same script would capture the truncated text
+        InOrder order = inOrder(js);
+        order.verify(js).executeScript(contains("see more"));
+        order.verify(js).executeAsyncScript(anyString(), any(), any(), any(), any(), any());
+        order.verify(js).executeScript(anyString(), any(), any(), any());
+    }
+
+    @Test
+    void testScrollingStopsWhenPostTargetIsReached() {
+        WebDriver driver = Mockito.mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        ReflectionTestUtils.setField(contentExtractionUtil, "scrollTargetPosts", 20);
+        when(((JavascriptExecutor) driver).executeAsyncScript(anyString(), any(), any(), any(), any(), any()))
+                .thenReturn("{\"posts\":12,\"height\":4000,\"grew\":true,\"elapsed\":900}",
+                        "{\"posts\":24,\"height\":8000,\"grew\":true,\"elapsed\":900}");
+
+        ReflectionTestUtils.invokeMethod(contentExtractionUtil, "performInfiniteScrolling", driver);
+
+        verify((JavascriptExecutor) driver, times(2)).executeAsyncScript(anyString(), any(), any(), any(), any(),
+                any());
+    }
+
+    @Test
+    void testScrollingStopsWhenNoNewContentLoads() {
+        WebDriver driver = Mockito.mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        when(((JavascriptExecutor) driver).executeAsyncScript(anyString(), any(), any(), any(), any(), any()))
+                .thenReturn("{\"posts\":5,\"height\":4000,\"grew\":false,\"elapsed\":1200}");
+
+        ReflectionTestUtils.invokeMethod(contentExtractionUtil, "performInfiniteScrolling", driver);
+
+        verify((JavascriptExecutor) driver, times(1)).executeAsyncScript(anyString(), any(), any(), any(), any(),
+                any());
+    }
+
+    @Test
+    void testFailedSettleScriptWaitsForDocumentReady() {
+        WebDriver driver = Mockito.mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        ReflectionTestUtils.setField(contentExtractionUtil, "waitMinMs", 0L);
+        when(((JavascriptExecutor) driver).executeAsyncScript(anyString(), any(), any(), any(), any(), any()))
+                .thenThrow(new WebDriverException("script timeout"));
+        when(((JavascriptExecutor) driver).executeScript("return document.readyState"))
+                .thenReturn("loading", "interactive", "complete");
+
+        contentExtractionUtil.waitForPageContent(driver);
+
+        verify((JavascriptExecutor) driver, times(3)).executeScript("return document.readyState");
+    }
+}
@@ -0,0 +1,134 @@
+package com.insightflow;
+
+import com.insightflow.utils.HttpPageCache;
+import org.jsoup.Connection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class HttpPageCacheTest {
+
+    private static final String URL = "https://example.com/about";
+
+    @TempDir
+    Path cacheDir;
+
+    private HttpPageCache cache;
+    private final AtomicInteger extractions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cache = new HttpPageCache();
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "cacheDirPath", cacheDir.toString());
+        ReflectionTestUtils.setField(cache, "maxAgeMinutes", 60L);
+        ReflectionTestUtils.setField(cache, "maxSizeMb", 1L);
+        cache.init();
+    }
+
+    private Connection respond(int status, String body, String etag) throws Exception {
+        Connection connection = Mockito.mock(Connection.class);
+        Connection.Response response = Mockito.mock(Connection.Response.class);
+        when(connection.execute()).thenReturn(response);
+        when(response.statusCode()).thenReturn(status);
+        when(response.contentType()).thenReturn("text/html");
+        when(response.charset()).thenReturn("UTF-8");
+        when(response.header("ETag")).thenReturn(etag);
+        when(response.bodyStream()).thenReturn(new BufferedInputStream(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))));
+        return connection;
+    }
+
+    private String fetch(Connection connection) throws Exception {
+        return cache.fetch(URL, "text", connection, (body, contentType, charset) -> {
+            extractions.incrementAndGet();
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8).toUpperCase();
+        });
+    }
+
+    private long directorySize() throws Exception {
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            return files.mapToLong(file -> file.toFile().length()).sum();
+        }
+    }
+
+    private long trackedSize() {
+        return ((AtomicLong) ReflectionTestUtils.getField(cache, "approximateSizeBytes")).get();
+    }
+
+    @Test
+    void testFreshEntryIsServedWithoutRequest() throws Exception {
+        assertEquals("HELLO", fetch(respond(200, "hello", "\"v1\"")));
+
+        Connection second = respond(200, "changed", "\"v2\"");
+        assertEquals("HELLO", fetch(second));
+
+        verify(second, never()).execute();
+        assertEquals(1, extractions.get());
+    }
+
+    @Test
+    void testStaleEntryIsRevalidated() throws Exception {
+        fetch(respond(200, "hello", "\"v1\""));
+        ReflectionTestUtils.setField(cache, "maxAgeMinutes", 0L);
+
+        Connection revalidation = respond(304, "", null);
+        for (int i = 0; i < 5; i++) {
+            assertEquals("HELLO", fetch(revalidation));
+        }
+
+        verify(revalidation, atLeastOnce()).header("If-None-Match", "\"v1\"");
+        assertEquals(1, extractions.get());
+        // Rewriting the metadata on each revalidation must not inflate the tracked size
+        assertEquals(directorySize(), trackedSize());
+    }
+
+    @Test
+    void testExpiredEntryIsReplacedByNewBody() throws Exception {
+        fetch(respond(200, "hello", "\"v1\""));
+        ReflectionTestUtils.setField(cache, "maxAgeMinutes", 0L);
+
+        assertEquals("WORLD", fetch(respond(200, "world", "\"v2\"")));
+
+        assertEquals(2, extractions.get());
+        assertEquals(directorySize(), trackedSize());
+    }
+
+    @Test
+    void testLeastRecentlyFetchedEntriesAreEvicted() throws Exception {
+        String value = "x".repeat(400 * 1024);
+        cache.store("first", "text", value);
+        cache.store("second", "text", value);
+        // Make the fetch order unambiguous for the eviction sort
+        long now = System.currentTimeMillis();
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            for (Path file : files.toList()) {
+                Files.setLastModifiedTime(file, FileTime.fromMillis(now - 60_000));
+            }
+        }
+        ReflectionTestUtils.setField(cache, "maxAgeMinutes", 600L);
+        cache.store("first", "text", value);
+        cache.store("third", "text", value);
+
+        assertNotNull(cache.lookupFresh("first", "text"));
+        assertNull(cache.lookupFresh("second", "text"));
+        assertNotNull(cache.lookupFresh("third", "text"));
+        assertTrue(directorySize() <= 1024 * 1024);
+        assertEquals(directorySize(), trackedSize());
+    }
+}
@@ -0,0 +1,161 @@
+package com.insightflow;
+
+import com.insightflow.models.RenderedImageCache;
+import com.insightflow.repositories.RenderedImageCacheRepository;
+import com.insightflow.services.SupabaseStorageService;
+import com.insightflow.utils.ImageRenderCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ImageRenderCacheTest {
+
+    private RenderedImageCacheRepository repository;
+    private SupabaseStorageService supabaseStorageService;
+    private ImageRenderCache imageRenderCache;
+
+    @BeforeEach
+    void setUp() {
+        repository = Mockito.mock(RenderedImageCacheRepository.class);
+        when(repository.findById(anyString())).thenReturn(Optional.empty());
+        supabaseStorageService = Mockito.mock(SupabaseStorageService.class);
+        imageRenderCache = new ImageRenderCache();
+        ReflectionTestUtils.setField(imageRenderCache, "renderedImageCacheRepository", repository);
+        ReflectionTestUtils.setField(imageRenderCache, "supabaseStorageService", supabaseStorageService);
+    }
+
+    private Map<String, List<String>> swot(boolean reversed) {
+        Map<String, List<String>> swot = new LinkedHashMap<>();
+        if (reversed) {
+            swot.put("weaknesses", List.of("High costs"));
+            swot.put("strengths", List.of("Brand"));
+        } else {
+            swot.put("strengths", List.of("Brand"));
+            swot.put("weaknesses", List.of("High costs"));
+        }
+        return swot;
+    }
+
+    @Test
+    void testIdenticalInputIsRenderedOnce() {
+        AtomicInteger renders = new AtomicInteger();
+
+        String first = imageRenderCache.getOrRender("swot", "1", swot(false),
+                () -> "https://storage.example/swot_" + renders.incrementAndGet() + ".png");
+        // Same data in a different map order hits the cache
+        String second = imageRenderCache.getOrRender("swot", "1", swot(true),
+                () -> "https://storage.example/swot_" + renders.incrementAndGet() + ".png");
+
+        assertEquals(1, renders.get());
+        assertEquals(first, second);
+        verify(repository, times(1)).save(any(RenderedImageCache.class));
+    }
+
+    @Test
+    void testFrameworkAndRendererVersionArePartOfTheKey() {
+        String key = imageRenderCache.renderKey("swot", "1", swot(false));
+
+        assertEquals(key, imageRenderCache.renderKey("swot", "1", swot(true)));
+        assertNotEquals(key, imageRenderCache.renderKey("swot", "2", swot(false)));
+        assertNotEquals(key, imageRenderCache.renderKey("pestel", "1", swot(false)));
+    }
+
+    @Test
+    void testStoredUrlIsServedWithoutRendering() {
+        String key = imageRenderCache.renderKey("swot", "1", swot(false));
+        when(repository.findById(key)).thenReturn(Optional.of(new RenderedImageCache(key, "swot",
+                "https://storage.example/stored.png", Date.from(Instant.now().plusSeconds(3600)))));
+
+        String url = imageRenderCache.getOrRender("swot", "1", swot(false), () -> {
+            throw new AssertionError("should not render");
+        });
+
+        assertEquals("https://storage.example/stored.png", url);
+    }
+
+    @Test
+    void testInlineImagesAreNotCached() {
+        AtomicInteger renders = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            imageRenderCache.getOrRender("swot", "1", swot(false), () -> {
+                renders.incrementAndGet();
+                return "data:image/png;base64,AAAA";
+            });
+        }
+
+        assertEquals(2, renders.get());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void testLocalStandInForFailedUploadIsNotCached() {
+        String local = "https://api.example/api/images/" + "a".repeat(64) + ".png?sig=x";
+        String uploaded = "https://storage.example/swot.png";
+        when(supabaseStorageService.isProvisionalUrl(local)).thenReturn(true);
+        AtomicInteger renders = new AtomicInteger();
+
+        String first = imageRenderCache.getOrRender("swot", "1", swot(false),
+                () -> renders.incrementAndGet() == 1 ? local : uploaded);
+        String second = imageRenderCache.getOrRender("swot", "1", swot(false),
+                () -> renders.incrementAndGet() == 1 ? local : uploaded);
+        String third = imageRenderCache.getOrRender("swot", "1", swot(false), () -> {
+            throw new AssertionError("should not render");
+        });
+
+        assertEquals(local, first);
+        assertEquals(uploaded, second);
+        assertEquals(uploaded, third);
+        verify(repository, times(1)).save(argThat(entry -> uploaded.equals(entry.getUrl())));
+    }
+
+    @Test
+    void testConcurrentRequestsShareOneAsyncRender() {
+        AtomicInteger renders = new AtomicInteger();
+        CompletableFuture<String> upload = new CompletableFuture<>();
+
+        CompletableFuture<String> first = imageRenderCache.getOrRenderAsync("swot", "1", swot(false), () -> {
+            renders.incrementAndGet();
+            return upload;
+        });
+        CompletableFuture<String> second = imageRenderCache.getOrRenderAsync("swot", "1", swot(false), () -> {
+            renders.incrementAndGet();
+            return upload;
+        });
+        upload.complete("https://storage.example/swot.png");
+
+        assertEquals(1, renders.get());
+        assertEquals("https://storage.example/swot.png", first.join());
+        assertEquals("https://storage.example/swot.png", second.join());
+    }
+
+    @Test
+    void testCallerGivingUpDoesNotCancelSharedRender() {
+        CompletableFuture<String> upload = new CompletableFuture<>();
+
+        CompletableFuture<String> first = imageRenderCache.getOrRenderAsync("swot", "1", swot(false), () -> upload);
+        CompletableFuture<String> second = imageRenderCache.getOrRenderAsync("swot", "1", swot(false), () -> upload);
+        // e.g. the first request timed out
+        first.cancel(true);
+        CompletableFuture<String> third = imageRenderCache.getOrRenderAsync("swot", "1", swot(false), () -> upload);
+        upload.complete("https://storage.example/swot.png");
+
+        assertTrue(first.isCancelled());
+        assertEquals("https://storage.example/swot.png", second.join());
+        assertEquals("https://storage.example/swot.png", third.join());
+    }
+}
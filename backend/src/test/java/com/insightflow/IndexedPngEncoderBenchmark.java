@@ -0,0 +1,113 @@
+package com.insightflow;
+
+import com.insightflow.services.VisualizationService;
+import com.insightflow.utils.IndexedPngEncoder;
+import com.insightflow.utils.RasterDiagramCanvas;
+import org.jfree.chart.ChartFactory;
+import org.jfree.chart.ChartUtils;
+import org.jfree.chart.JFreeChart;
+import org.jfree.data.category.DefaultCategoryDataset;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encode time and size of the indexed encoder against the ImageIO / JFreeChart
+ * truecolour path, on the real diagrams. Run with
+ * {@code mvn test -Dtest=IndexedPngEncoderBenchmark -Dbenchmark=true}
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class IndexedPngEncoderBenchmark {
+
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 50;
+
+    private interface Encoder {
+        byte[] encode(BufferedImage image) throws Exception;
+    }
+
+    private static BufferedImage diagram(VisualizationService service, String method, int width, int height,
+            Object data) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        ReflectionTestUtils.invokeMethod(service, method, new RasterDiagramCanvas(g2d), data);
+        g2d.dispose();
+        return image;
+    }
+
+    private static BufferedImage barChart() {
+        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+        String[] metrics = { "Market Share", "Growth Rate", "Sentiment", "Risk" };
+        for (String company : List.of("Acme", "Globex", "Initech")) {
+            for (int i = 0; i < metrics.length; i++) {
+                dataset.addValue(company.length() * (i + 1.5), company, metrics[i]);
+            }
+        }
+        JFreeChart chart = ChartFactory.createBarChart("Comparative Metrics", "Metric", "Value", dataset);
+        return chart.createBufferedImage(800, 600);
+    }
+
+    private static long[] measure(Encoder encoder, BufferedImage image) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            encoder.encode(image);
+        }
+        long size = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            size = encoder.encode(image).length;
+        }
+        return new long[] { (System.nanoTime() - start) / ITERATIONS / 1000, size };
+    }
+
+    @Test
+    void compareEncoders() throws Exception {
+        VisualizationService service = new VisualizationService();
+        Map<String, BufferedImage> images = new LinkedHashMap<>();
+        images.put("swot", diagram(service, "drawSwot", 1000, 600, Map.of(
+                "strengths", List.of("Strong brand recognition", "Large R&D budget"),
+                "weaknesses", List.of("High operating costs"),
+                "opportunities", List.of("Expansion into Asia", "Enterprise AI demand"),
+                "threats", List.of("Regulation", "Open-source competitors"))));
+        images.put("pestel", diagram(service, "drawPestel", 1200, 800, Map.of(
+                "political", List.of("AI regulation in the EU"), "economic", List.of("Cloud spending growth"),
+                "social", List.of("Trust in AI"), "technological", List.of("GPU supply"),
+                "environmental", List.of("Data centre energy use"), "legal", List.of("Copyright lawsuits"))));
+        images.put("porter", diagram(service, "drawPorter", 1000, 1000, Map.of(
+                "rivalry", List.of("Price wars"), "new_entrants", List.of("Well funded startups"),
+                "substitutes", List.of("Open models"), "buyer_power", List.of("Enterprise contracts"),
+                "supplier_power", List.of("GPU vendors"))));
+        images.put("bcg", diagram(service, "drawBcg", 1000, 800, Map.of(
+                "Cloud", Map.of("market_share", 0.6, "growth_rate", 12.0),
+                "Devices", Map.of("market_share", 0.2, "growth_rate", 3.0))));
+        images.put("mckinsey_7s", diagram(service, "drawMckinsey", 1000, 1000, Map.of(
+                "strategy", "Focus on AI", "structure", "Flat", "systems", "Agile", "shared_values", "Safety",
+                "style", "Research led", "staff", "Engineers", "skills", "Machine learning")));
+        images.put("bar_chart", barChart());
+
+        Encoder imageIo = image -> {
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            ImageIO.write(image, "PNG", baos);
+            return baos.toByteArray();
+        };
+        Encoder chartUtils = image -> ChartUtils.encodeAsPNG(image);
+
+        System.out.printf("%-12s %14s %12s %14s %12s %14s %12s%n", "image", "imageio_us", "imageio_b",
+                "chartutils_us", "chartutils_b", "indexed_us", "indexed_b");
+        for (Map.Entry<String, BufferedImage> entry : images.entrySet()) {
+            BufferedImage image = entry.getValue();
+            long[] baseline = measure(imageIo, image);
+            long[] chart = measure(chartUtils, image);
+            long[] indexed = measure(IndexedPngEncoder::encode, image);
+            System.out.printf("%-12s %14d %12d %14d %12d %14d %12d%n", entry.getKey(), baseline[0], baseline[1],
+                    chart[0], chart[1], indexed[0], indexed[1]);
+        }
+    }
+}
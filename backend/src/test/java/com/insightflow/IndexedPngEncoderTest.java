@@ -0,0 +1,121 @@
+package com.insightflow;
+
+import com.insightflow.utils.IndexedPngEncoder;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndexedPngEncoderTest {
+
+    private static BufferedImage decode(byte[] png) throws Exception {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        assertNotNull(image, "encoder output must be a readable PNG");
+        return image;
+    }
+
+    private static void assertSamePixels(BufferedImage expected, BufferedImage actual) {
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                int expectedArgb = expected.getRGB(x, y);
+                int actualArgb = actual.getRGB(x, y);
+                // Fully transparent pixels may come back with any colour
+                if ((expectedArgb >>> 24) != 0 || (actualArgb >>> 24) != 0) {
+                    assertEquals(expectedArgb, actualArgb, "pixel " + x + "," + y);
+                }
+            }
+        }
+    }
+
+    private static BufferedImage flatImage(int colors, int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        int band = Math.max(1, width / colors);
+        for (int i = 0; i < colors; i++) {
+            g2d.setColor(new Color(i * 37 % 256, i * 91 % 256, i * 53 % 256));
+            g2d.fillRect(i * band, 0, band, height);
+        }
+        g2d.dispose();
+        return image;
+    }
+
+    @Test
+    void testFlatImagesRoundTripLosslessly() throws Exception {
+        // 1, 2, 4 and 8 bit palettes, with widths that do not fill the last byte
+        for (int colors : new int[] { 2, 3, 11, 200 }) {
+            BufferedImage image = flatImage(colors, 403, 17);
+            byte[] png = IndexedPngEncoder.encode(image);
+            assertSamePixels(image, decode(png));
+        }
+    }
+
+    @Test
+    void testTransparencyIsKept() throws Exception {
+        BufferedImage image = new BufferedImage(64, 32, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setColor(new Color(51, 102, 153, 180));
+        g2d.fillRect(0, 0, 32, 32);
+        g2d.setColor(Color.RED);
+        g2d.fillRect(32, 0, 32, 16);
+        g2d.dispose();
+
+        assertSamePixels(image, decode(IndexedPngEncoder.encode(image)));
+    }
+
+    @Test
+    void testImagesWithManyColorsAreQuantized() throws Exception {
+        BufferedImage image = new BufferedImage(600, 300, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = image.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g2d.setColor(new Color(192, 223, 229));
+        g2d.fillRect(0, 0, 600, 300);
+        g2d.setColor(Color.BLACK);
+        g2d.setStroke(new BasicStroke(3));
+        for (int i = 0; i < 40; i++) {
+            g2d.setColor(new Color(i * 6, 255 - i * 6, 128));
+            g2d.drawOval(10 + i * 13, 20 + i * 3, 60, 45);
+        }
+        g2d.setFont(new Font("Arial", Font.PLAIN, 16));
+        g2d.drawString("Strengths • Weaknesses • Opportunities • Threats", 20, 280);
+        g2d.dispose();
+
+        BufferedImage decoded = decode(IndexedPngEncoder.encode(image));
+
+        // The dominant background colour is always in the palette
+        assertEquals(image.getRGB(0, 0), decoded.getRGB(0, 0));
+        long totalError = 0;
+        for (int y = 0; y < 300; y++) {
+            for (int x = 0; x < 600; x++) {
+                int a = image.getRGB(x, y);
+                int b = decoded.getRGB(x, y);
+                totalError += Math.abs(((a >> 16) & 0xFF) - ((b >> 16) & 0xFF))
+                        + Math.abs(((a >> 8) & 0xFF) - ((b >> 8) & 0xFF)) + Math.abs((a & 0xFF) - (b & 0xFF));
+            }
+        }
+        assertTrue(totalError / (600.0 * 300) < 2.0, "mean error per pixel: " + totalError / (600.0 * 300));
+    }
+
+    @Test
+    void testSmallerThanTruecolorOutput() throws Exception {
+        BufferedImage image = flatImage(6, 1000, 600);
+        ByteArrayOutputStream truecolor = new ByteArrayOutputStream();
+        ImageIO.write(image, "PNG", truecolor);
+
+        byte[] indexed = IndexedPngEncoder.encode(image);
+
+        assertTrue(indexed.length < truecolor.size(),
+                "indexed " + indexed.length + " bytes vs truecolour " + truecolor.size());
+    }
+}
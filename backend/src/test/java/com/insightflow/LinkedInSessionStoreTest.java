@@ -0,0 +1,121 @@
+package com.insightflow;
+
+import com.insightflow.utils.LinkedInSessionStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class LinkedInSessionStoreTest {
+
+    private static final String AUTH_VALUE = "AQEDAR-secret-auth-token";
+
+    @TempDir
+    Path sessionDir;
+
+    private Path sessionFile;
+    private LinkedInSessionStore store;
+
+    @BeforeEach
+    void setUp() {
+        sessionFile = sessionDir.resolve("linkedin-session.enc");
+        store = newStore("someone@example.com");
+    }
+
+    private LinkedInSessionStore newStore(String email) {
+        LinkedInSessionStore sessionStore = new LinkedInSessionStore();
+        ReflectionTestUtils.setField(sessionStore, "enabled", true);
+        ReflectionTestUtils.setField(sessionStore, "sessionFile", sessionFile.toString());
+        ReflectionTestUtils.setField(sessionStore, "secret", "test-session-secret");
+        ReflectionTestUtils.setField(sessionStore, "maxAgeHours", 168L);
+        ReflectionTestUtils.setField(sessionStore, "linkedinEmail", email);
+        return sessionStore;
+    }
+
+    private WebDriver loggedInDriver() {
+        WebDriver driver = Mockito.mock(WebDriver.class,
+                withSettings().extraInterfaces(HasCdp.class, JavascriptExecutor.class));
+        Map<String, Object> authCookie = new HashMap<>();
+        authCookie.put("name", "li_at");
+        authCookie.put("value", AUTH_VALUE);
+        authCookie.put("domain", ".www.linkedin.com");
+        authCookie.put("path", "/");
+        authCookie.put("expires", System.currentTimeMillis() / 1000.0 + 86400);
+        Map<String, Object> otherSite = new HashMap<>();
+        otherSite.put("name", "sid");
+        otherSite.put("value", "unrelated");
+        otherSite.put("domain", ".example.com");
+        when(((HasCdp) driver).executeCdpCommand(eq("Network.getAllCookies"), anyMap()))
+                .thenReturn(Map.of("cookies", List.of(authCookie, otherSite)));
+        when(driver.getCurrentUrl()).thenReturn("https://www.linkedin.com/feed/");
+        when(((JavascriptExecutor) driver).executeScript(anyString())).thenReturn(Map.of("voyager-theme", "light"));
+        return driver;
+    }
+
+    private WebDriver freshDriver(String landingUrl) {
+        WebDriver driver = Mockito.mock(WebDriver.class,
+                withSettings().extraInterfaces(HasCdp.class, JavascriptExecutor.class));
+        when(((HasCdp) driver).executeCdpCommand(eq("Network.getAllCookies"), anyMap()))
+                .thenReturn(Map.of("cookies", List.of()));
+        when(driver.getCurrentUrl()).thenReturn(landingUrl);
+        return driver;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSavedSessionIsRestoredIntoNewDriver() throws Exception {
+        store.save(loggedInDriver());
+
+        assertTrue(Files.exists(sessionFile));
+        String onDisk = new String(Files.readAllBytes(sessionFile), StandardCharsets.ISO_8859_1);
+        assertFalse(onDisk.contains(AUTH_VALUE));
+
+        WebDriver driver = freshDriver("https://www.linkedin.com/feed/");
+        assertTrue(store.restore(driver));
+
+        ArgumentCaptor<Map<String, Object>> params = ArgumentCaptor.forClass(Map.class);
+        verify((HasCdp) driver).executeCdpCommand(eq("Network.setCookies"), params.capture());
+        List<Map<String, Object>> cookies = (List<Map<String, Object>>) params.getValue().get("cookies");
+        assertEquals(1, cookies.size());
+        assertEquals("li_at", cookies.get(0).get("name"));
+        assertEquals(AUTH_VALUE, cookies.get(0).get("value"));
+        verify((JavascriptExecutor) driver).executeScript(contains("localStorage.setItem"),
+                eq(Map.of("voyager-theme", "light")));
+        verify(driver).get("https://www.linkedin.com/feed/");
+    }
+
+    @Test
+    void testRejectedSessionIsDropped() {
+        store.save(loggedInDriver());
+
+        assertFalse(store.restore(freshDriver("https://www.linkedin.com/authwall?trk=feed")));
+
+        assertFalse(Files.exists(sessionFile));
+    }
+
+    @Test
+    void testOtherAccountDoesNotReuseSession() {
+        store.save(loggedInDriver());
+
+        WebDriver driver = freshDriver("https://www.linkedin.com/feed/");
+        assertFalse(newStore("someone-else@example.com").restore(driver));
+
+        verify((HasCdp) driver, never()).executeCdpCommand(eq("Network.setCookies"), anyMap());
+    }
+}
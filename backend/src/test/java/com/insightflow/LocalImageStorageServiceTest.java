@@ -0,0 +1,93 @@
+package com.insightflow;
+
+import com.insightflow.controllers.ImageController;
+import com.insightflow.services.LocalImageStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class LocalImageStorageServiceTest {
+
+    private static final byte[] IMAGE = "not really a png, but bytes all the same".getBytes();
+
+    @TempDir
+    Path directory;
+
+    private LocalImageStorageService storageService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        storageService = new LocalImageStorageService();
+        ReflectionTestUtils.setField(storageService, "enabled", true);
+        ReflectionTestUtils.setField(storageService, "directory", directory.toString());
+        ReflectionTestUtils.setField(storageService, "publicBaseUrl", "http://localhost:8000/");
+        ReflectionTestUtils.setField(storageService, "signingKey", "test-signing-key");
+
+        ImageController controller = new ImageController();
+        ReflectionTestUtils.setField(controller, "localImageStorageService", storageService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    private static String path(String url) {
+        return url.substring("http://localhost:8000".length());
+    }
+
+    @Test
+    void testStoresByContentHash() throws Exception {
+        String url = storageService.store(IMAGE, "image/png");
+        String again = storageService.store(IMAGE, "image/png");
+
+        assertEquals(url, again);
+        assertTrue(storageService.isLocalUrl(url));
+        assertFalse(storageService.isLocalUrl("https://project.supabase.co/storage/v1/object/public/x.png"));
+        assertTrue(url.matches("http://localhost:8000/api/images/[0-9a-f]{64}\\.png\\?sig=[A-Za-z0-9_-]+"), url);
+        String name = url.substring(url.lastIndexOf('/') + 1, url.indexOf('?'));
+        try (var files = Files.walk(directory)) {
+            assertEquals(1, files.filter(Files::isRegularFile).count());
+        }
+        assertArrayEquals(IMAGE, Files.readAllBytes(storageService.resolve(name)));
+        assertTrue(storageService.store(IMAGE, "image/svg+xml").contains(".svg?sig="));
+    }
+
+    @Test
+    void testRejectsUnsignedAndInvalidNames() throws Exception {
+        String url = storageService.store(IMAGE, "image/png");
+        String unsigned = path(url).substring(0, path(url).indexOf('?'));
+
+        mockMvc.perform(get(unsigned)).andExpect(status().isUnauthorized());
+        mockMvc.perform(get(unsigned).param("sig", "forged")).andExpect(status().isUnauthorized());
+        assertNull(storageService.resolve("../../etc/passwd"));
+        assertNull(storageService.resolve("0".repeat(64) + ".png"));
+    }
+
+    @Test
+    void testServesWithEtagAndRanges() throws Exception {
+        String url = storageService.store(IMAGE, "image/png");
+        String hash = LocalImageStorageService.hashOf(url.substring(url.lastIndexOf('/') + 1, url.indexOf('?')));
+
+        mockMvc.perform(get(path(url)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + hash + "\""))
+                .andExpect(header().string("Content-Type", "image/png"))
+                .andExpect(content().bytes(IMAGE));
+
+        mockMvc.perform(get(path(url)).header("If-None-Match", "\"" + hash + "\""))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get(path(url)).header("Range", "bytes=0-6"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 0-6/" + IMAGE.length))
+                .andExpect(content().string("not rea"));
+    }
+}
@@ -0,0 +1,157 @@
+package com.insightflow;
+
+import com.insightflow.models.LinkedInAnalysisCache;
+import com.insightflow.repositories.LinkedInAnalysisCacheRepository;
+import com.insightflow.services.ModularScrapingService;
+import com.insightflow.utils.AnalysisOrchestrationUtil;
+import com.insightflow.utils.ContentExtractionUtil;
+import com.insightflow.utils.LinkedInExtractionMetrics;
+import com.insightflow.utils.LinkedInSlugUtil;
+import com.insightflow.utils.RateLimitingUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ModularScrapingServiceTest {
+
+    private ModularScrapingService scrapingService;
+    private LinkedInAnalysisCacheRepository analysisCacheRepository;
+    private ContentExtractionUtil contentExtractionUtil;
+    private AnalysisOrchestrationUtil analysisOrchestrationUtil;
+    private LinkedInExtractionMetrics extractionMetrics;
+    private ThreadPoolTaskExecutor taskExecutor;
+
+    @BeforeEach
+    void setUp() {
+        scrapingService = new ModularScrapingService();
+        analysisCacheRepository = Mockito.mock(LinkedInAnalysisCacheRepository.class);
+        contentExtractionUtil = Mockito.mock(ContentExtractionUtil.class);
+        analysisOrchestrationUtil = Mockito.mock(AnalysisOrchestrationUtil.class);
+        extractionMetrics = new LinkedInExtractionMetrics();
+        taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.initialize();
+
+        ReflectionTestUtils.setField(scrapingService, "analysisCacheRepository", analysisCacheRepository);
+        ReflectionTestUtils.setField(scrapingService, "contentExtractionUtil", contentExtractionUtil);
+        ReflectionTestUtils.setField(scrapingService, "analysisOrchestrationUtil", analysisOrchestrationUtil);
+        ReflectionTestUtils.setField(scrapingService, "extractionMetrics", extractionMetrics);
+        ReflectionTestUtils.setField(scrapingService, "linkedInSlugUtil", Mockito.mock(LinkedInSlugUtil.class));
+        ReflectionTestUtils.setField(scrapingService, "taskExecutor", taskExecutor);
+        ReflectionTestUtils.setField(scrapingService, "analysisCacheEnabled", true);
+        ReflectionTestUtils.setField(scrapingService, "analysisCacheFreshHours", 24L);
+        ReflectionTestUtils.setField(scrapingService, "analysisCacheMaxStaleHours", 168L);
+        ReflectionTestUtils.setField(scrapingService, "publicPageTierEnabled", true);
+        ReflectionTestUtils.setField(scrapingService, "publicPageMinDescriptionChars", 10);
+        ReflectionTestUtils.setField(scrapingService, "publicPageMinPosts", 1);
+        ReflectionTestUtils.setField(scrapingService, "tavilyTierEnabled", false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskExecutor.shutdown();
+    }
+
+    private LinkedInAnalysisCache cachedEntry(long ageHours) {
+        return cachedEntry(ageHours, "BROWSER");
+    }
+
+    private LinkedInAnalysisCache cachedEntry(long ageHours, String source) {
+        LinkedInAnalysisCache entry = new LinkedInAnalysisCache("acme-robotics", "acme-robotics", "Acme Robotics",
+                "Acme Robotics", "We build robots.", List.of("First post"), "<p>cached</p>", source,
+                Date.from(Instant.now().plus(7, ChronoUnit.DAYS)));
+        entry.setRefreshedAt(Date.from(Instant.now().minus(ageHours, ChronoUnit.HOURS)));
+        return entry;
+    }
+
+    private void servePublicPage() {
+        when(contentExtractionUtil.extractPublicLinkedInContent(anyString(), anyString()))
+                .thenReturn(new ContentExtractionUtil.LinkedInContent("Acme Robotics",
+                        "Acme Robotics builds warehouse robots.", List.of("We shipped a new arm."), ""));
+        when(analysisOrchestrationUtil.orchestrateLinkedInAnalysis(anyString(), anyString(), anyString(), anyList()))
+                .thenReturn("<p>fresh</p>");
+    }
+
+    @Test
+    void testFreshCacheEntryIsServedWithoutExtraction() {
+        when(analysisCacheRepository.findById("acme-robotics")).thenReturn(Optional.of(cachedEntry(1)));
+
+        String analysis = scrapingService.getLinkedInAnalysis("Acme Robotics", "acme-robotics");
+
+        assertEquals("<p>cached</p>", analysis);
+        verifyNoInteractions(contentExtractionUtil);
+        verify(analysisCacheRepository, never()).save(any());
+    }
+
+    @Test
+    void testStaleCacheEntryIsServedAndRefreshedInBackground() {
+        when(analysisCacheRepository.findById("acme-robotics"))
+                .thenReturn(Optional.of(cachedEntry(48, "PUBLIC_PAGE")));
+        servePublicPage();
+
+        String analysis = scrapingService.getLinkedInAnalysis("Acme Robotics", "Acme-Robotics");
+
+        assertEquals("<p>cached</p>", analysis);
+        ArgumentCaptor<LinkedInAnalysisCache> saved = ArgumentCaptor.forClass(LinkedInAnalysisCache.class);
+        verify(analysisCacheRepository, timeout(5000)).save(saved.capture());
+        assertEquals("<p>fresh</p>", saved.getValue().getAnalysis());
+        assertEquals("PUBLIC_PAGE", saved.getValue().getSource());
+        assertEquals(1L, extractionMetrics.getSnapshot().get("background_refreshes"));
+    }
+
+    @Test
+    void testCacheMissStoresExtractedContent() {
+        when(analysisCacheRepository.findById(anyString())).thenReturn(Optional.empty());
+        servePublicPage();
+
+        String analysis = scrapingService.getLinkedInAnalysis("Acme Robotics", "acme-robotics");
+
+        assertEquals("<p>fresh</p>", analysis);
+        ArgumentCaptor<LinkedInAnalysisCache> saved = ArgumentCaptor.forClass(LinkedInAnalysisCache.class);
+        verify(analysisCacheRepository).save(saved.capture());
+        assertEquals("acme-robotics", saved.getValue().getId());
+        assertEquals(List.of("We shipped a new arm."), saved.getValue().getPosts());
+        assertTrue(saved.getValue().isFresh(Duration.ofHours(24)));
+    }
+
+    @Test
+    void testStaleBrowserEntryIsRefreshedByTheBrowser() {
+        RateLimitingUtil rateLimitingUtil = Mockito.mock(RateLimitingUtil.class);
+        when(rateLimitingUtil.schedule(anyString(), any(), any())).thenReturn(new CompletableFuture<>());
+        ReflectionTestUtils.setField(scrapingService, "rateLimitingUtil", rateLimitingUtil);
+        when(analysisCacheRepository.findById("acme-robotics")).thenReturn(Optional.of(cachedEntry(48)));
+        servePublicPage();
+
+        assertEquals("<p>cached</p>", scrapingService.getLinkedInAnalysis("Acme Robotics", "acme-robotics"));
+
+        verify(rateLimitingUtil, timeout(5000)).schedule(eq(RateLimitingUtil.LINKEDIN), any(), any());
+        verifyNoInteractions(contentExtractionUtil);
+    }
+
+    @Test
+    void testWeakerTierDoesNotReplaceCachedBrowserEntry() {
+        // A browser refresh finished while the public page was being analyzed
+        when(analysisCacheRepository.findById("acme-robotics"))
+                .thenReturn(Optional.empty(), Optional.of(cachedEntry(1)));
+        servePublicPage();
+
+        assertEquals("<p>fresh</p>", scrapingService.getLinkedInAnalysis("Acme Robotics", "acme-robotics"));
+
+        verify(analysisCacheRepository, never()).save(any());
+    }
+}
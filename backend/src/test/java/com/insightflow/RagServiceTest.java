@@ -85,6 +85,7 @@ public class RagServiceTest {
         Map<String, Object> searchResult = new HashMap<>();
         searchResult.put("url", "https://openai.com");
         Mockito.when(tavilyUtil.search(anyString(), anyInt(), any())).thenReturn(Arrays.asList(searchResult));
+        Mockito.when(tavilyUtil.searchWithContent(anyString(), anyInt(), any())).thenReturn(Arrays.asList(searchResult));
 
         // Mock ScrapingUtil
         Mockito.when(scrapingUtil.extractTextFromUrl(anyString()))
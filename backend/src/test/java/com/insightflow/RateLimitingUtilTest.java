@@ -0,0 +1,98 @@
+package com.insightflow;
+
+import com.insightflow.utils.RateLimitingUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimitingUtilTest {
+
+    private RateLimitingUtil rateLimitingUtil;
+
+    @BeforeEach
+    void setUp() {
+        rateLimitingUtil = new RateLimitingUtil();
+    }
+
+    @Test
+    void testBurstThenSpacedReservations() {
+        // 10 per second = one every 100 ms, 2 back to back
+        rateLimitingUtil.registerBucket("api", 10, 1000, 2, 1000);
+
+        assertEquals(0, rateLimitingUtil.reserve("api").getDelayMs());
+        assertEquals(0, rateLimitingUtil.reserve("api").getDelayMs());
+
+        RateLimitingUtil.Reservation third = rateLimitingUtil.reserve("api");
+        assertTrue(third.isGranted());
+        assertTrue(third.getDelayMs() > 0 && third.getDelayMs() <= 100, "delay was " + third.getDelayMs());
+
+        RateLimitingUtil.Reservation fourth = rateLimitingUtil.reserve("api");
+        assertTrue(fourth.getStartAtMillis() - third.getStartAtMillis() >= 100);
+    }
+
+    @Test
+    void testReservationBeyondMaxWaitIsRejectedWithoutTakingSlot() {
+        rateLimitingUtil.registerBucket("linkedin", 1, 60000, 1, 0);
+
+        assertTrue(rateLimitingUtil.tryAcquire("linkedin"));
+        assertFalse(rateLimitingUtil.tryAcquire("linkedin"));
+
+        RateLimitingUtil.Reservation rejected = rateLimitingUtil.reserve("linkedin");
+        assertFalse(rejected.isGranted());
+        assertTrue(rejected.getDelayMs() > 59000);
+        // Rejections do not push the next slot further out
+        assertTrue(rateLimitingUtil.getTimeUntilNextRequest("linkedin") <= 60000);
+    }
+
+    @Test
+    void testScheduleDoesNotBlockCaller() throws Exception {
+        rateLimitingUtil.registerBucket("api", 5, 1000, 1, 5000);
+        assertTrue(rateLimitingUtil.tryAcquire("api"));
+
+        long start = System.currentTimeMillis();
+        CompletableFuture<Long> future = rateLimitingUtil.schedule("api", System::currentTimeMillis,
+                Executors.newSingleThreadExecutor());
+        assertTrue(System.currentTimeMillis() - start < 100, "schedule() must return immediately");
+
+        long ranAt = future.get(2, TimeUnit.SECONDS);
+        assertTrue(ranAt - start >= 150, "task ran after " + (ranAt - start) + " ms");
+    }
+
+    @Test
+    void testScheduleFailsFastWhenNoSlotWithinMaxWait() {
+        rateLimitingUtil.registerBucket("newsapi", 1, 86400000, 1, 0);
+        assertTrue(rateLimitingUtil.tryAcquire("newsapi"));
+
+        CompletableFuture<String> future = rateLimitingUtil.schedule("newsapi", () -> "ran",
+                Runnable::run);
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(RateLimitingUtil.RateLimitExceededException.class, e.getCause());
+    }
+
+    @Test
+    void testNewsApiAllowsTheWholeDailyQuotaBackToBack() {
+        ReflectionTestUtils.setField(rateLimitingUtil, "newsapiPermits", 100);
+        ReflectionTestUtils.setField(rateLimitingUtil, "newsapiPeriodMs", 86400000L);
+        ReflectionTestUtils.setField(rateLimitingUtil, "newsapiMaxWaitMs", 0L);
+        rateLimitingUtil.init();
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(rateLimitingUtil.tryAcquire(RateLimitingUtil.NEWSAPI), "call " + (i + 1));
+        }
+        assertFalse(rateLimitingUtil.tryAcquire(RateLimitingUtil.NEWSAPI));
+    }
+
+    @Test
+    void testUnknownResourceIsNotLimited() {
+        for (int i = 0; i < 100; i++) {
+            assertTrue(rateLimitingUtil.tryAcquire("unconfigured"));
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.insightflow;
+
+import com.insightflow.config.SupabaseConfig;
+import com.insightflow.services.LocalImageStorageService;
+import com.insightflow.services.SupabaseStorageService;
+import com.insightflow.services.SupabaseUploadService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SupabaseUploadServiceTest {
+
+    private static final String HASH_OF_ABC = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
+    private final List<ClientRequest> requests = new CopyOnWriteArrayList<>();
+    private SupabaseUploadService uploadService;
+
+    @BeforeEach
+    void setUp() {
+        uploadService = new SupabaseUploadService();
+        SupabaseConfig supabaseConfig = Mockito.mock(SupabaseConfig.class);
+        when(supabaseConfig.getSupabaseUrl()).thenReturn("https://project.supabase.co");
+        when(supabaseConfig.getStorageBucket()).thenReturn("images");
+        ReflectionTestUtils.setField(uploadService, "supabaseConfig", supabaseConfig);
+        ReflectionTestUtils.setField(uploadService, "maxInFlight", 2);
+        ReflectionTestUtils.setField(uploadService, "retries", 3);
+        ReflectionTestUtils.setField(uploadService, "backoffMs", 1L);
+        ReflectionTestUtils.setField(uploadService, "timeoutMs", 5000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.invokeMethod(uploadService, "stop");
+    }
+
+    private void respond(Function<ClientRequest, Mono<ClientResponse>> exchange) {
+        WebClient webClient = WebClient.builder()
+                .baseUrl("https://project.supabase.co/storage/v1")
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return exchange.apply(request);
+                })
+                .build();
+        ReflectionTestUtils.setField(uploadService, "storageWebClient", webClient);
+        ReflectionTestUtils.invokeMethod(uploadService, "start");
+    }
+
+    private static Mono<ClientResponse> status(HttpStatus status, String body) {
+        return Mono.just(ClientResponse.create(status).header("Content-Type", "application/json").body(body).build());
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testIdenticalImagesAreUploadedOnceUnderTheirHash() {
+        respond(request -> status(HttpStatus.OK, "{}").delayElement(Duration.ofMillis(50)));
+
+        CompletableFuture<String> first = uploadService.upload(bytes("abc"), "swot.png", "image/png");
+        CompletableFuture<String> second = uploadService.upload(bytes("abc"), "other.png", "image/png");
+        String expected = "https://project.supabase.co/storage/v1/object/public/images/visualizations/"
+                + HASH_OF_ABC + ".png";
+        assertEquals(expected, first.join());
+        assertEquals(expected, second.join());
+        // Already stored, answered without a request
+        assertEquals(expected, uploadService.upload(bytes("abc"), "swot.png", "image/png").join());
+
+        assertEquals(1, requests.size());
+        assertTrue(requests.get(0).url().getPath().endsWith("/object/images/visualizations/" + HASH_OF_ABC + ".png"));
+        assertEquals(0, uploadService.getPendingUploads());
+    }
+
+    @Test
+    void testTransientFailuresAreRetried() {
+        AtomicInteger calls = new AtomicInteger();
+        respond(request -> calls.incrementAndGet() < 3 ? status(HttpStatus.SERVICE_UNAVAILABLE, "{}")
+                : status(HttpStatus.OK, "{}"));
+
+        assertNotNull(uploadService.upload(bytes("abc"), "swot.png", "image/png").join());
+        assertEquals(3, requests.size());
+    }
+
+    @Test
+    void testClientErrorsFailWithoutRetry() {
+        respond(request -> status(HttpStatus.FORBIDDEN, "{\"error\":\"Unauthorized\"}"));
+
+        assertNull(uploadService.upload(bytes("abc"), "swot.png", "image/png").join());
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void testBrokenRequestFailsOnlyItsOwnUpload() {
+        respond(request -> status(HttpStatus.OK, "{}"));
+
+        assertNull(uploadService.upload(bytes("abc"), "swot.png", "not a media type")
+                .orTimeout(5, TimeUnit.SECONDS).join());
+        // The worker is still running
+        assertNotNull(uploadService.upload(bytes("def"), "swot.png", "image/png")
+                .orTimeout(5, TimeUnit.SECONDS).join());
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    void testStoredImageWaitsForTheSupabaseUrl() {
+        SupabaseStorageService storageService = new SupabaseStorageService();
+        SupabaseConfig supabaseConfig = Mockito.mock(SupabaseConfig.class);
+        when(supabaseConfig.getSupabaseUrl()).thenReturn("https://project.supabase.co");
+        when(supabaseConfig.getSupabaseServiceRoleKey()).thenReturn("service-role-key");
+        SupabaseUploadService slowUpload = Mockito.mock(SupabaseUploadService.class);
+        CompletableFuture<String> upload = new CompletableFuture<>();
+        when(slowUpload.upload(any(), anyString(), anyString())).thenReturn(upload);
+        LocalImageStorageService localStore = Mockito.mock(LocalImageStorageService.class);
+        when(localStore.isEnabled()).thenReturn(true);
+        ReflectionTestUtils.setField(storageService, "supabaseConfig", supabaseConfig);
+        ReflectionTestUtils.setField(storageService, "supabaseUploadService", slowUpload);
+        ReflectionTestUtils.setField(storageService, "localImageStorageService", localStore);
+
+        CompletableFuture<String> stored = storageService.storeImageAsync(bytes("abc"), "swot.png", "SWOT");
+
+        // A slow upload is waited for, never replaced by a local URL that callers would persist
+        assertThrows(TimeoutException.class, () -> stored.get(2, TimeUnit.SECONDS));
+        upload.complete("https://project.supabase.co/storage/v1/object/public/images/swot.png");
+        assertEquals("https://project.supabase.co/storage/v1/object/public/images/swot.png", stored.join());
+        verify(localStore, never()).store(any(), anyString());
+    }
+
+    @Test
+    void testExistingObjectCountsAsUploaded() {
+        respond(request -> status(HttpStatus.BAD_REQUEST,
+                "{\"statusCode\":\"409\",\"error\":\"Duplicate\",\"message\":\"The resource already exists\"}"));
+
+        assertTrue(uploadService.upload(bytes("abc"), "swot.png", "image/png").join().endsWith(HASH_OF_ABC + ".png"));
+    }
+
+    @Test
+    void testInFlightUploadsAreBounded() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        respond(request -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            return status(HttpStatus.OK, "{}").delayElement(Duration.ofMillis(30));
+        });
+
+        List<CompletableFuture<String>> uploads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            uploads.add(uploadService.upload(bytes("image " + i), "chart.png", "image/png")
+                    .whenComplete((url, e) -> running.decrementAndGet()));
+        }
+        uploads.forEach(upload -> assertNotNull(upload.join()));
+
+        assertEquals(8, requests.size());
+        assertEquals(2, maxRunning.get());
+    }
+}
@@ -0,0 +1,65 @@
+package com.insightflow;
+
+import com.insightflow.utils.TextLayoutEngine;
+import com.insightflow.utils.TextUtils;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Font;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TextLayoutEngineTest {
+
+    private static final Font ITEM_FONT = new Font("Arial", Font.PLAIN, 16);
+
+    @Test
+    void testWidthMatchesFontMetrics() {
+        TextLayoutEngine layout = TextLayoutEngine.forFont(ITEM_FONT);
+        for (String text : List.of("", "Strengths", "• Strong brand recognition in North America",
+                "Café — naïve “quotes” → arrows", "WWW iii 0123456789 %&@")) {
+            assertEquals(layout.getMetrics().stringWidth(text), layout.width(text), text);
+        }
+    }
+
+    @Test
+    void testWrapFitsWidthAndKeepsWords() {
+        TextLayoutEngine layout = TextLayoutEngine.forFont(ITEM_FONT);
+        String text = "Expanding enterprise demand for generative AI assistants across regulated industries";
+
+        List<String> lines = layout.wrap(text, 200);
+
+        assertTrue(lines.size() > 1);
+        lines.forEach(line -> assertTrue(layout.width(line) <= 200, line));
+        assertEquals(text, String.join(" ", lines));
+        // Greedy: the next word would not have fitted on the previous line
+        for (int i = 1; i < lines.size(); i++) {
+            String firstWord = lines.get(i).split(" ")[0];
+            assertTrue(layout.width(lines.get(i - 1) + " " + firstWord) > 200);
+        }
+    }
+
+    @Test
+    void testWrapIsMemoized() {
+        TextLayoutEngine layout = TextLayoutEngine.forFont(ITEM_FONT);
+        String text = "Open-source competitors with permissive licences";
+
+        assertSame(layout.wrap(text, 150), layout.wrap(text, 150));
+        assertSame(layout, TextLayoutEngine.forFont(new Font("Arial", Font.PLAIN, 16)));
+    }
+
+    @Test
+    void testLongWordsAndTruncation() {
+        TextLayoutEngine layout = TextLayoutEngine.forFont(ITEM_FONT);
+
+        List<String> lines = layout.wrap("Supercalifragilisticexpialidocious growth", 100);
+        assertTrue(lines.get(0).endsWith("..."));
+        assertTrue(layout.width(lines.get(0)) <= 100);
+
+        String truncated = TextUtils.truncateText("Relative Market Share", ITEM_FONT, 90);
+        assertTrue(truncated.endsWith("..."));
+        assertTrue(layout.width(truncated) <= 90);
+        assertEquals("Short", TextUtils.truncateText("Short", ITEM_FONT, 90));
+        assertTrue(TextUtils.wrapText(null, ITEM_FONT, 90).isEmpty());
+    }
+}
@@ -0,0 +1,126 @@
+package com.insightflow;
+
+import com.insightflow.services.LocalImageStorageService;
+import com.insightflow.services.SentimentTrendVisualizationService;
+import com.insightflow.services.SupabaseStorageService;
+import com.insightflow.utils.TimeSeriesDownsampler;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TimeSeriesDownsamplerTest {
+
+    private static double[] range(int n) {
+        double[] x = new double[n];
+        for (int i = 0; i < n; i++) {
+            x[i] = i;
+        }
+        return x;
+    }
+
+    @Test
+    void testKeepsEndpointsAndThresholdCount() {
+        double[] x = range(1000);
+        double[] y = new double[1000];
+        for (int i = 0; i < y.length; i++) {
+            y[i] = 50 + 20 * Math.sin(i / 40.0);
+        }
+
+        int[] keep = TimeSeriesDownsampler.lttb(x, y, 100);
+
+        assertEquals(100, keep.length);
+        assertEquals(0, keep[0]);
+        assertEquals(999, keep[99]);
+        for (int i = 1; i < keep.length; i++) {
+            assertTrue(keep[i] > keep[i - 1]);
+        }
+    }
+
+    @Test
+    void testKeepsIsolatedSpikes() {
+        double[] x = range(500);
+        double[] y = new double[500];
+        Arrays.fill(y, 50);
+        y[137] = 95;
+        y[380] = 5;
+
+        int[] keep = TimeSeriesDownsampler.lttb(x, y, 20);
+
+        List<Integer> kept = new ArrayList<>();
+        for (int index : keep) {
+            kept.add(index);
+        }
+        assertTrue(kept.contains(137));
+        assertTrue(kept.contains(380));
+    }
+
+    @Test
+    void testShortSeriesIsReturnedWhole() {
+        assertArrayEquals(new int[] { 0, 1, 2, 3 }, TimeSeriesDownsampler.lttb(range(4), range(4), 10));
+        assertThrows(IllegalArgumentException.class, () -> TimeSeriesDownsampler.lttb(range(4), range(4), 2));
+    }
+
+    @Test
+    void testTrendPointsAreSortedAndDownsampled() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<Map<String, Object>> timeSeries = new ArrayList<>();
+        // Newest first, as stored; one entry without a usable date
+        for (int i = 299; i >= 0; i--) {
+            Map<String, Object> point = new HashMap<>();
+            point.put("date", start.plusHours(i).toString());
+            point.put("sentiment_score", i == 150 ? 99.0 : 50.0);
+            timeSeries.add(point);
+        }
+        Map<String, Object> broken = new HashMap<>();
+        broken.put("date", "yesterday");
+        broken.put("sentiment_score", 10.0);
+        timeSeries.add(broken);
+
+        List<Map<String, Object>> sampled = new SentimentTrendVisualizationService().downsample(timeSeries, 30);
+
+        assertEquals(30, sampled.size());
+        assertEquals(start.toString(), sampled.get(0).get("date"));
+        assertEquals(start.plusHours(299).toString(), sampled.get(29).get("date"));
+        assertTrue(sampled.stream().anyMatch(point -> point.get("sentiment_score").equals(99.0)));
+    }
+
+    @Test
+    void testLongTrendRendersAsChart() throws Exception {
+        SentimentTrendVisualizationService service = new SentimentTrendVisualizationService();
+        SupabaseStorageService supabaseStorageService = Mockito.mock(SupabaseStorageService.class);
+        when(supabaseStorageService.isAvailable()).thenReturn(false);
+        ReflectionTestUtils.setField(service, "supabaseStorageService", supabaseStorageService);
+        ReflectionTestUtils.setField(service, "localImageStorageService", new LocalImageStorageService());
+
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<Map<String, Object>> timeSeries = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            Map<String, Object> point = new HashMap<>();
+            point.put("date", start.plusMinutes(90L * i).toString());
+            point.put("sentiment_score", 50 + 30 * Math.sin(i / 100.0));
+            timeSeries.add(point);
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("company_name", "Acme");
+        response.put("time_series", timeSeries);
+
+        String chart = service.generateTrendGraph(response, 200);
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(Base64.getDecoder().decode(chart)));
+        assertEquals(1000, image.getWidth());
+    }
+}
@@ -0,0 +1,124 @@
+package com.insightflow;
+
+import com.insightflow.repositories.RenderedImageCacheRepository;
+import com.insightflow.services.ComparisonVisualizationService;
+import com.insightflow.services.LocalImageStorageService;
+import com.insightflow.services.SupabaseStorageService;
+import com.insightflow.services.VisualizationRenderingService;
+import com.insightflow.services.VisualizationService;
+import com.insightflow.services.VisualizationService.ImageFormat;
+import com.insightflow.utils.ImageRenderCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class VisualizationRenderingServiceTest {
+
+    private ThreadPoolTaskExecutor renderExecutor;
+    private VisualizationRenderingService renderingService;
+
+    @BeforeEach
+    void setUp() {
+        renderExecutor = new ThreadPoolTaskExecutor();
+        renderExecutor.setCorePoolSize(4);
+        renderExecutor.initialize();
+
+        // Storage is not configured, so images come back inline
+        SupabaseStorageService storageService = Mockito.mock(SupabaseStorageService.class);
+        when(storageService.storeImageAsync(any(), anyString(), anyString())).thenCallRealMethod();
+        when(storageService.storeImageAsync(any(), anyString(), anyString(), anyString())).thenCallRealMethod();
+        when(storageService.isAvailable()).thenReturn(false);
+        // Local image store left disabled, so images come back as data URIs
+        ReflectionTestUtils.setField(storageService, "localImageStorageService", new LocalImageStorageService());
+
+        RenderedImageCacheRepository repository = Mockito.mock(RenderedImageCacheRepository.class);
+        when(repository.findById(anyString())).thenReturn(Optional.empty());
+        ImageRenderCache imageRenderCache = new ImageRenderCache();
+        ReflectionTestUtils.setField(imageRenderCache, "renderedImageCacheRepository", repository);
+        ReflectionTestUtils.setField(imageRenderCache, "supabaseStorageService", storageService);
+
+        VisualizationService visualizationService = new VisualizationService();
+        ReflectionTestUtils.setField(visualizationService, "supabaseStorageService", storageService);
+        ReflectionTestUtils.setField(visualizationService, "imageRenderCache", imageRenderCache);
+        ReflectionTestUtils.setField(visualizationService, "renderExecutor", renderExecutor);
+
+        ComparisonVisualizationService comparisonVisualizationService = new ComparisonVisualizationService();
+        ReflectionTestUtils.setField(comparisonVisualizationService, "supabaseStorageService", storageService);
+        ReflectionTestUtils.setField(comparisonVisualizationService, "renderExecutor", renderExecutor);
+
+        renderingService = new VisualizationRenderingService();
+        ReflectionTestUtils.setField(renderingService, "visualizationService", visualizationService);
+        ReflectionTestUtils.setField(renderingService, "comparisonVisualizationService",
+                comparisonVisualizationService);
+        ReflectionTestUtils.setField(renderingService, "timeoutSeconds", 60L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        renderExecutor.shutdown();
+    }
+
+    @Test
+    void testRendersAllFrameworkImages() {
+        Map<String, String> images = renderingService.renderFrameworkImages(
+                Map.of("strengths", List.of("Brand"), "weaknesses", List.of("Costs")),
+                Map.of("political", List.of("Regulation")),
+                Map.of("rivalry", List.of("Price wars")),
+                Map.of("Cloud", Map.of("market_share", 0.6, "growth_rate", 12.0)),
+                Map.of("strategy", "Focus on AI"));
+
+        assertEquals(List.of("swot_image", "pestel_image", "porter_image", "bcg_image", "mckinsey_image"),
+                List.copyOf(images.keySet()));
+        images.values().forEach(image -> assertTrue(image.startsWith("data:image/png;base64,")));
+    }
+
+    @Test
+    void testRendersFrameworkImagesAsSvg() {
+        Map<String, String> images = renderingService.renderFrameworkImages(
+                Map.of("strengths", List.of("R&D <fast>")),
+                Map.of("political", List.of("Regulation")),
+                Map.of("rivalry", List.of("Price wars")),
+                Map.of("Cloud", Map.of("market_share", 0.6, "growth_rate", 12.0)),
+                Map.of("strategy", "Focus on AI"),
+                ImageFormat.SVG);
+
+        assertEquals(5, images.size());
+        for (String image : images.values()) {
+            assertTrue(image.startsWith("data:image/svg+xml;base64,"));
+            String svg = new String(Base64.getDecoder().decode(image.substring(image.indexOf(',') + 1)),
+                    StandardCharsets.UTF_8);
+            assertTrue(svg.startsWith("<svg xmlns=\"http://www.w3.org/2000/svg\""));
+            assertTrue(svg.contains("<text "));
+        }
+        String swot = new String(Base64.getDecoder().decode(images.get("swot_image").split(",", 2)[1]),
+                StandardCharsets.UTF_8);
+        assertTrue(swot.contains("R&amp;D &lt;fast&gt;"));
+    }
+
+    @Test
+    void testRendersAllComparisonCharts() {
+        Map<String, Object> comparisonData = Map.of(
+                "company_names", List.of("Acme", "Globex"),
+                "metrics", List.of(
+                        Map.of("market_share", 0.3, "growth_rate", 8.0, "sentiment_score", 60.0, "risk_rating", 0.4),
+                        Map.of("market_share", 0.2, "growth_rate", 12.0, "sentiment_score", 70.0, "risk_rating", 0.5)));
+
+        Map<String, String> charts = renderingService.renderComparisonCharts(comparisonData);
+
+        assertEquals(List.of("radar_chart", "bar_graph", "scatter_plot"), List.copyOf(charts.keySet()));
+        charts.values().forEach(chart -> assertTrue(chart.startsWith("data:image/png;base64,")));
+    }
+}
@@ -0,0 +1,163 @@
+package com.insightflow;
+
+import com.insightflow.utils.ChromeDriverUtil;
+import com.insightflow.utils.WebDriverPool;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class WebDriverPoolTest {
+
+    private ChromeDriverUtil chromeDriverUtil;
+    private WebDriverPool pool;
+
+    @BeforeEach
+    void setUp() {
+        chromeDriverUtil = Mockito.mock(ChromeDriverUtil.class);
+        when(chromeDriverUtil.newUserDataDir()).thenReturn("/nonexistent/chrome_user_data_test");
+        when(chromeDriverUtil.createWebDriver(anyString())).thenAnswer(invocation -> healthyDriver());
+
+        pool = new WebDriverPool();
+        ReflectionTestUtils.setField(pool, "chromeDriverUtil", chromeDriverUtil);
+        ReflectionTestUtils.setField(pool, "maxSize", 1);
+        ReflectionTestUtils.setField(pool, "warmSize", 1);
+        ReflectionTestUtils.setField(pool, "maxUses", 2);
+        ReflectionTestUtils.setField(pool, "maxIdleMinutes", 15L);
+        ReflectionTestUtils.setField(pool, "maxMemoryMb", Long.MAX_VALUE);
+        ReflectionTestUtils.setField(pool, "leaseTimeoutSeconds", 1L);
+        ReflectionTestUtils.setField(pool, "prewarmEnabled", false);
+        pool.init();
+    }
+
+    private WebDriver healthyDriver() {
+        WebDriver driver = Mockito.mock(WebDriver.class, withSettings().extraInterfaces(JavascriptExecutor.class));
+        when(((JavascriptExecutor) driver).executeScript(anyString())).thenReturn(1L);
+        when(driver.manage()).thenReturn(Mockito.mock(WebDriver.Options.class, RETURNS_DEEP_STUBS));
+        return driver;
+    }
+
+    @Test
+    void testReturnedDriverIsReused() {
+        WebDriver first;
+        try (WebDriverPool.Lease lease = pool.acquire()) {
+            first = lease.getDriver();
+        }
+        try (WebDriverPool.Lease lease = pool.acquire()) {
+            assertSame(first, lease.getDriver());
+        }
+        verify(chromeDriverUtil, times(1)).createWebDriver(anyString());
+    }
+
+    @Test
+    void testDriverIsRecycledAfterMaxUses() {
+        WebDriver first;
+        try (WebDriverPool.Lease lease = pool.acquire()) {
+            first = lease.getDriver();
+        }
+        try (WebDriverPool.Lease lease = pool.acquire()) {
+            assertSame(first, lease.getDriver());
+        }
+        try (WebDriverPool.Lease lease = pool.acquire()) {
+            assertNotSame(first, lease.getDriver());
+        }
+        verify(chromeDriverUtil).closeWebDriver(first);
+    }
+
+    @Test
+    void testInvalidatedDriverIsNotReused() {
+        WebDriver first;
+        try (WebDriverPool.Lease lease = pool.acquire()) {
+            first = lease.getDriver();
+            lease.invalidate();
+        }
+        assertEquals(0, pool.getLiveCount());
+        try (WebDriverPool.Lease lease = pool.acquire()) {
+            assertNotSame(first, lease.getDriver());
+        }
+    }
+
+    @Test
+    void testCrashedIdleDriverIsReplaced() {
+        WebDriver first;
+        try (WebDriverPool.Lease lease = pool.acquire()) {
+            first = lease.getDriver();
+        }
+        when(((JavascriptExecutor) first).executeScript(anyString()))
+                .thenThrow(new WebDriverException("session deleted"));
+
+        try (WebDriverPool.Lease lease = pool.acquire()) {
+            assertNotSame(first, lease.getDriver());
+        }
+        assertEquals(1, pool.getLiveCount());
+    }
+
+    @Test
+    void testAcquireTimesOutWhenPoolIsExhausted() {
+        try (WebDriverPool.Lease lease = pool.acquire()) {
+            assertThrows(IllegalStateException.class, pool::acquire);
+        }
+        // The permit comes back once the lease is closed
+        try (WebDriverPool.Lease lease = pool.acquire()) {
+            assertNotNull(lease.getDriver());
+        }
+    }
+
+    @Test
+    void testTryAcquireDoesNotWaitWhenPoolIsExhausted() {
+        try (WebDriverPool.Lease lease = pool.acquire()) {
+            assertNull(pool.tryAcquire());
+        }
+        try (WebDriverPool.Lease lease = pool.tryAcquire()) {
+            assertNotNull(lease);
+        }
+    }
+
+    @Test
+    void testHealthCheckDoesNotLetPoolGrowPastMaxSize() throws Exception {
+        ReflectionTestUtils.setField(pool, "maxUses", 10);
+        WebDriver first;
+        try (WebDriverPool.Lease lease = pool.acquire()) {
+            first = lease.getDriver();
+        }
+        CountDownLatch checking = new CountDownLatch(1);
+        CountDownLatch finishCheck = new CountDownLatch(1);
+        when(((JavascriptExecutor) first).executeScript(anyString())).thenAnswer(invocation -> {
+            checking.countDown();
+            finishCheck.await(5, TimeUnit.SECONDS);
+            return 1L;
+        });
+
+        Thread maintenance = new Thread(pool::maintain);
+        maintenance.start();
+        assertTrue(checking.await(5, TimeUnit.SECONDS));
+
+        // Released while acquire() waits for the permit held by the health check
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            finishCheck.countDown();
+        });
+        releaser.start();
+        try (WebDriverPool.Lease lease = pool.acquire()) {
+            assertSame(first, lease.getDriver());
+        }
+        maintenance.join();
+
+        verify(chromeDriverUtil, times(1)).createWebDriver(anyString());
+        assertEquals(1, pool.getLiveCount());
+    }
+}